@@ -0,0 +1,58 @@
+package hello.itemservice;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * seed 프로파일 기동 시 픽스처 적재(파싱 + 대량 저장) 시간 측정
+ * ./gradlew jmh -Pjmh.includes=ItemFixtureLoaderBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+public class ItemFixtureLoaderBenchmark {
+
+    @Param({"100000", "1000000"})
+    int itemCount;
+
+    Path fixture;
+    ItemRepository itemRepository = new ItemRepository();
+
+    @Setup(Level.Trial)
+    public void writeFixture() throws IOException {
+        fixture = Files.createTempFile("items", ".csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(fixture, StandardCharsets.UTF_8)) {
+            writer.write("itemName,price,quantity\n");
+            for (int i = 0; i < itemCount; i++) {
+                String name = (i % 2 == 0 ? "item" : "상품") + i;
+                writer.write(name + "," + (1000 + i % 999000) + "," + (10 + i % 9000) + "\n");
+            }
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void clear() {
+        itemRepository.clearStore();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFixture() throws IOException {
+        Files.deleteIfExists(fixture);
+    }
+
+    @Benchmark
+    public List<Item> parseAndSave() throws IOException {
+        return itemRepository.saveAll(ItemFixtureLoader.parse(fixture));
+    }
+}
@@ -0,0 +1,64 @@
+package hello.itemservice.domain.item;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 구독자 수(0, 1, 100)에 따른 쓰기 경로(update) 비용
+ * 구독자는 SSE 와 같은 방식으로 100ms 마다 batch 로 읽어간다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ItemChangeFeedBenchmark {
+
+    @Param({"0", "1", "100"})
+    int subscribers;
+
+    ItemRepository itemRepository = new ItemRepository();
+    Item updateParam = new Item("itemB", 20000, 20);
+    Long itemId;
+    List<Thread> threads = new ArrayList<>();
+    volatile boolean running = true;
+
+    @Setup
+    public void setUp() {
+        itemId = itemRepository.save(new Item("itemA", 10000, 10)).getId();
+        ItemChangeFeed feed = itemRepository.changeFeed();
+        for (int i = 0; i < subscribers; i++) {
+            Thread thread = new Thread(() -> {
+                long cursor = feed.lastSequence();
+                while (running) {
+                    List<ItemChangeEvent> events = feed.readAfter(Math.max(cursor, feed.oldestSequence() - 1), 256);
+                    if (!events.isEmpty()) {
+                        cursor = events.get(events.size() - 1).getSequence();
+                    }
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(100));
+                }
+            });
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        running = false;
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        itemRepository.clearStore();
+    }
+
+    @Benchmark
+    public void update() {
+        itemRepository.update(itemId, updateParam);
+    }
+}
@@ -0,0 +1,41 @@
+package hello.itemservice.domain.item;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 100만 상품에서 상품명 검색 지연 (목표: 1ms 미만)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx8g")
+public class ItemNameIndexBenchmark {
+
+    private static final String[] WORDS = {"사과", "바나나", "포도", "우유", "커피", "apple", "banana", "coffee", "milk", "tea"};
+
+    @Param({"1000000"})
+    int itemCount;
+
+    @Param({"item123456", "사과", "커피 9", "banana77"})
+    String query;
+
+    ItemNameIndex index = new ItemNameIndex();
+
+    @Setup(Level.Trial)
+    public void fill() {
+        for (long id = 1; id <= itemCount; id++) {
+            String name = (id % 3 == 0 ? "item" + id : WORDS[(int) (id % WORDS.length)] + " " + (id % 10000));
+            index.add(id, name);
+        }
+    }
+
+    @Benchmark
+    public List<Long> search() {
+        return index.search(query, 20, TimeUnit.MILLISECONDS.toNanos(50));
+    }
+}
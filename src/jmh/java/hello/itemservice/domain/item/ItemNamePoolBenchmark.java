@@ -0,0 +1,66 @@
+package hello.itemservice.domain.item;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 쓰기 경로의 상품명 intern 비용
+ * <p>
+ * intern 은 풀에 있는 이름(hit)과 처음 보는 이름(miss)을 따로 재고,
+ * save 는 같은 카탈로그를 intern 을 켜고 끈 저장소에 저장해서 비교한다. (-prof gc 로 남는 할당도 같이 본다)
+ * 이름은 폼 바인딩처럼 매번 새 String 으로 만든다. intern=false 는 그 String 생성만의 비용이다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class ItemNamePoolBenchmark {
+
+    private static final int DISTINCT_NAMES = 10_000;
+    private static final int CLEAR_EVERY = 1_000_000;
+
+    @Param({"true", "false"})
+    boolean intern;
+
+    ItemNamePool pool;
+    ItemRepository itemRepository;
+    char[][] names;
+    String[] pooled; // 풀의 이름이 회수되지 않게 잡아둔다.
+    Random random = new Random(42);
+    long missSequence;
+    long saved;
+
+    @Setup
+    public void setUp() {
+        pool = intern ? new ItemNamePool() : ItemNamePool.disabled();
+        names = new char[DISTINCT_NAMES][];
+        pooled = new String[DISTINCT_NAMES];
+        for (int i = 0; i < DISTINCT_NAMES; i++) {
+            names[i] = ("상품-" + i).toCharArray();
+            pooled[i] = pool.intern(new String(names[i]));
+        }
+        itemRepository = new ItemRepository(1, ItemQuota.unlimited(), pool);
+    }
+
+    @Benchmark
+    public String internHit() {
+        return pool.intern(new String(names[random.nextInt(DISTINCT_NAMES)]));
+    }
+
+    @Benchmark
+    public String internMiss() {
+        return pool.intern("새상품-" + missSequence++);
+    }
+
+    @Benchmark
+    public Item save() {
+        if (++saved % CLEAR_EVERY == 0) {
+            itemRepository.clearStore();
+        }
+        return itemRepository.save(new Item(new String(names[random.nextInt(DISTINCT_NAMES)]), 10000, 10));
+    }
+}
@@ -0,0 +1,50 @@
+package hello.itemservice.domain.item;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 샤드 수별 쓰기 처리량 - 스레드 수를 바꿔가며 실행한다.
+ * <pre>
+ * ./gradlew jmhJar
+ * for t in 1 2 4 8 16 32 64; do
+ *   java -jar build/libs/validation-0.0.1-SNAPSHOT-jmh.jar ItemRepositoryScalingBenchmark -t $t
+ * done
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ItemRepositoryScalingBenchmark {
+
+    @Param({"1", "8", "64"})
+    int shards;
+
+    ItemRepository itemRepository;
+    Item updateParam = new Item("itemB", 20000, 20);
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        itemRepository = new ItemRepository(shards);
+        for (int i = 0; i < 10_000; i++) {
+            itemRepository.save(new Item("item" + i, 10000, 10));
+        }
+    }
+
+    @Benchmark
+    public Item save() {
+        return itemRepository.save(new Item("itemA", 10000, 10));
+    }
+
+    @Benchmark
+    public void update() {
+        long itemId = ThreadLocalRandom.current().nextLong(1, 10_000);
+        if (itemRepository.findById(itemId) != null) {
+            itemRepository.update(itemId, updateParam);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package hello.itemservice.domain.item;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 100만 건 필터 + 정렬 - ItemSorter(정수 키 계수/radix 정렬) vs findAll 결과를 Comparator 로 Collections.sort
+ * <p>
+ * 두 방식 모두 findAll 이 끝난 목록(id 순)에서 시작한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class ItemSorterBenchmark {
+
+    private static final int ITEMS = 1_000_000;
+
+    @Param({"price", "quantity", "itemName"})
+    String sort;
+
+    @Param({"none", "range"})
+    String filter;
+
+    List<Item> items;
+    ItemSortKey sortKey;
+    ItemFilter itemFilter;
+    Comparator<Item> comparator;
+
+    @Setup
+    public void setUp() {
+        ItemRepository itemRepository = new ItemRepository();
+        Random random = new Random(42);
+        List<Item> seed = new ArrayList<>(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            seed.add(new Item("상품" + random.nextInt(ITEMS), 1000 + random.nextInt(999_001), random.nextInt(10_000)));
+        }
+        itemRepository.saveAll(seed);
+        items = itemRepository.findAll();
+
+        switch (sort) {
+            case "price":
+                sortKey = ItemSortKey.PRICE;
+                comparator = Comparator.comparing(Item::getPrice);
+                break;
+            case "quantity":
+                sortKey = ItemSortKey.QUANTITY;
+                comparator = Comparator.comparing(Item::getQuantity);
+                break;
+            default:
+                sortKey = ItemSortKey.ITEM_NAME;
+                comparator = Comparator.comparing(Item::getItemName);
+        }
+        itemFilter = "range".equals(filter) ? new ItemFilter(10_000, 500_000, 5_000) : ItemFilter.NONE;
+    }
+
+    @Benchmark
+    public List<Item> itemSorter() {
+        return ItemSorter.select(items, itemFilter, sortKey, false, 0);
+    }
+
+    @Benchmark
+    public List<Item> collectionsSort() {
+        List<Item> result = new ArrayList<>();
+        for (Item item : items) {
+            if (itemFilter.matches(item)) {
+                result.add(item);
+            }
+        }
+        Collections.sort(result, comparator);
+        return result;
+    }
+}
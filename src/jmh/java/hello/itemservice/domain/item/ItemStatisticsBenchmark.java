@@ -0,0 +1,48 @@
+package hello.itemservice.domain.item;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 쓰기 경로에서 통계 반영 비용 - update 전체와 통계 반영만 따로 측정한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+public class ItemStatisticsBenchmark {
+
+    ItemRepository itemRepository = new ItemRepository();
+    ItemStatistics statistics = new ItemStatistics();
+    Item before = new Item("itemA", 10000, 10);
+    Item after = new Item("itemB", 20000, 20);
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < 10_000; i++) {
+            itemRepository.save(new Item("item" + i, 10000, 10));
+        }
+    }
+
+    @Benchmark
+    public void repositoryUpdate() {
+        long itemId = ThreadLocalRandom.current().nextLong(1, 10_000);
+        if (itemRepository.findById(itemId) != null) {
+            itemRepository.update(itemId, after);
+        }
+    }
+
+    @Benchmark
+    public void statisticsOnly() {
+        statistics.updated(before, after);
+    }
+
+    @Benchmark
+    public ItemStatistics.Snapshot snapshot() {
+        return itemRepository.statistics();
+    }
+}
@@ -0,0 +1,108 @@
+package hello.itemservice.domain.item;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Zipf 분포 findById - 메모리 계층 크기별 (hotPercent=100 은 계층 없이 전부 메모리)
+ * <p>
+ * 상품 100만 건, 인기 순위 k 의 조회 확률은 1/k^s 에 비례한다. 순위는 id 와 상관없이 섞는다.
+ * 반복이 끝날 때 적중률과 승격 횟수를 출력한다. (-prof gc 로 승격의 할당도 같이 본다)
+ * ./gradlew jmh -Pjmh.includes=ItemTierBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class ItemTierBenchmark {
+
+    private static final int ITEMS = 1_000_000;
+
+    @Param({"1", "5", "20", "100"})
+    int hotPercent;
+
+    @Param({"0.8", "1.1"})
+    double skew;
+
+    Path directory;
+    ItemRepository itemRepository;
+    long[] idsByRank;
+    double[] cumulative;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("item-tier-bench");
+        ItemTier tier = hotPercent >= 100 ? ItemTier.disabled() : new ItemTier(ITEMS / 100 * hotPercent, directory);
+        itemRepository = new ItemRepository(0, ItemQuota.unlimited(), new ItemNamePool(), tier);
+
+        List<Item> items = new ArrayList<>(1000);
+        idsByRank = new long[ITEMS];
+        for (int i = 0; i < ITEMS; i++) {
+            items.add(new Item("상품-" + i + "-" + Long.toHexString(i * 0x9E3779B97F4A7C15L), 1000 + i % 999_000, i % 10_000));
+            if (items.size() == 1000) {
+                saveAll(items, i - 999);
+                items = new ArrayList<>(1000);
+            }
+        }
+
+        // 순위 -> id 를 섞고, 누적 확률로 순위를 뽑는다.
+        for (int i = ITEMS - 1; i > 0; i--) {
+            int j = ThreadLocalRandom.current().nextInt(i + 1);
+            long swap = idsByRank[i];
+            idsByRank[i] = idsByRank[j];
+            idsByRank[j] = swap;
+        }
+        cumulative = new double[ITEMS];
+        double sum = 0;
+        for (int k = 0; k < ITEMS; k++) {
+            sum += 1.0 / Math.pow(k + 1, skew);
+            cumulative[k] = sum;
+        }
+        for (int k = 0; k < ITEMS; k++) {
+            cumulative[k] /= sum;
+        }
+        cumulative[ITEMS - 1] = 1.0;
+    }
+
+    private void saveAll(List<Item> items, int firstIndex) {
+        itemRepository.saveAll(items);
+        for (int i = 0; i < items.size(); i++) {
+            idsByRank[firstIndex + i] = items.get(i).getId();
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void report() {
+        ItemTier.Snapshot statistics = itemRepository.tierStatistics();
+        System.out.printf("%nhot=%d%% skew=%.1f hitRatio=%.4f promotions=%d coldWrites=%d coldFileBytes=%d%n",
+                hotPercent, skew, statistics.getHitRatio(), statistics.getPromotions(), statistics.getColdWrites(),
+                statistics.getColdFileBytes());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        itemRepository.clearStore();
+        itemRepository = null;
+        try (var files = Files.list(directory)) {
+            files.forEach(file -> file.toFile().delete());
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Item findById() {
+        int rank = Arrays.binarySearch(cumulative, ThreadLocalRandom.current().nextDouble());
+        return itemRepository.findById(idsByRank[rank < 0 ? -rank - 1 : rank]);
+    }
+}
@@ -0,0 +1,91 @@
+package hello.itemservice.tenant;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.scope.ScopedProxyUtils;
+import org.springframework.beans.factory.config.BeanDefinitionHolder;
+import org.springframework.beans.factory.support.BeanDefinitionReaderUtils;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 조회 경로의 테넌트 라우팅 비용
+ * <p>
+ * direct: 저장소 직접 호출, routed: 스코프 프록시 -> TenantScope -> 테넌트 저장소
+ * tenants 개수만큼의 테넌트에 요청이 고르게 섞여 들어온다. (매 호출마다 TenantContext 설정)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TenantRoutingBenchmark {
+
+    private static final int ITEMS = 1_000;
+
+    @Param({"1", "100"})
+    int tenants;
+
+    GenericApplicationContext context;
+    ItemRepository routed;
+    ItemRepository direct;
+    String[] tenantIds;
+    long[] itemIds; // 같은 스레드가 저장했으므로 테넌트마다 같은 id
+
+    @Setup
+    public void setUp() throws Exception {
+        TenantScope scope = new TenantScope(Files.createTempDirectory("tenants"), Duration.ofHours(1), System::nanoTime);
+        context = new GenericApplicationContext();
+        context.getBeanFactory().registerScope(TenantScope.NAME, scope);
+        RootBeanDefinition definition = new RootBeanDefinition(ItemRepository.class, ItemRepository::new);
+        definition.setScope(TenantScope.NAME);
+        BeanDefinitionHolder proxy = ScopedProxyUtils.createScopedProxy(
+                new BeanDefinitionHolder(definition, "itemRepository"), context, true);
+        BeanDefinitionReaderUtils.registerBeanDefinition(proxy, context);
+        context.refresh();
+        routed = context.getBean("itemRepository", ItemRepository.class);
+
+        tenantIds = new String[tenants];
+        for (int t = 0; t < tenants; t++) {
+            tenantIds[t] = "store" + t;
+            TenantContext.set(tenantIds[t]);
+            fill(routed);
+        }
+        TenantContext.clear();
+
+        direct = new ItemRepository();
+        itemIds = fill(direct);
+    }
+
+    @TearDown
+    public void tearDown() {
+        TenantContext.clear();
+        context.close();
+    }
+
+    @Benchmark
+    public Item direct() {
+        return direct.findById(itemIds[ThreadLocalRandom.current().nextInt(ITEMS)]);
+    }
+
+    @Benchmark
+    public Item routed() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        TenantContext.set(tenantIds[random.nextInt(tenants)]);
+        return routed.findById(itemIds[random.nextInt(ITEMS)]);
+    }
+
+    private static long[] fill(ItemRepository itemRepository) {
+        long[] ids = new long[ITEMS];
+        for (int i = 0; i < ITEMS; i++) {
+            ids[i] = itemRepository.save(new Item("item" + i, 10000, 10)).getId();
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,64 @@
+package hello.itemservice.web.idempotency;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 수백만 개의 키를 들고 있을 때 조회 지연과 키당 메모리
+ * 키당 메모리는 Setup 에서 채우기 전후의 힙 사용량 차이로 출력한다. (대략적인 값)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx8g")
+public class IdempotencyIndexBenchmark {
+
+    @Param({"1000000", "5000000"})
+    int keyCount;
+
+    IdempotencyIndex index;
+    String[] keys;
+    AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void fill() {
+        keys = new String[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            keys[i] = UUID.randomUUID().toString();
+        }
+
+        long before = usedHeap();
+        index = new IdempotencyIndex(keyCount, Duration.ofHours(1));
+        for (String key : keys) {
+            index.saveOnce(key, sequence::incrementAndGet);
+        }
+        long after = usedHeap();
+        System.out.printf("%nkeys=%d, bytes/key=%.1f (키 문자열은 보관하지 않는다)%n",
+                keyCount, (double) (after - before) / keyCount);
+    }
+
+    @Benchmark
+    public Long findHit() {
+        return index.find(keys[ThreadLocalRandom.current().nextInt(keyCount)]);
+    }
+
+    @Benchmark
+    public Long findMiss() {
+        return index.find("missing-" + ThreadLocalRandom.current().nextInt(keyCount));
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,110 @@
+package hello.itemservice.web.template;
+
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.context.support.StaticWebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.i18n.FixedLocaleResolver;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.thymeleaf.spring5.view.ThymeleafView;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 검증 오류가 있는 등록 폼 다시 그리기 - Thymeleaf(사전 계산 템플릿) vs 오류 폼 뼈대
+ * <p>
+ * 바인딩/검증은 두 방식이 같으므로 빼고, 오류가 담긴 BindingResult 에서 응답 본문까지만 잰다.
+ * 뼈대 쪽은 요청마다 하는 FormErrors 계산(메세지 조회)을 포함한다. 할당량은 -prof gc 로 본다.
+ * ./gradlew jmh -Pjmh.includes=ErrorFormRenderBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ErrorFormRenderBenchmark {
+
+    private static final String VIEW_NAME = "validation/v4/addForm";
+
+    @Param({"ko", "en"})
+    String language;
+
+    @Param({"thymeleaf", "skeleton"})
+    String mode;
+
+    ResourceBundleMessageSource messageSource;
+    MockServletContext servletContext;
+    StaticWebApplicationContext applicationContext;
+    ThymeleafView thymeleafView;
+    ErrorFormSkeleton skeleton;
+    Locale locale;
+    Map<String, Object> model;
+    BindingResult bindingResult;
+
+    @Setup
+    public void setUp() throws Exception {
+        locale = Locale.forLanguageTag(language);
+        messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasenames("messages", "errors");
+        messageSource.setDefaultEncoding(StandardCharsets.UTF_8.name());
+        messageSource.setFallbackToSystemLocale(false);
+
+        servletContext = new MockServletContext();
+        applicationContext = new StaticWebApplicationContext();
+        applicationContext.setServletContext(servletContext);
+        applicationContext.getBeanFactory().registerSingleton("messageSource", messageSource);
+        applicationContext.refresh();
+
+        PrecompiledTemplateResolver templateResolver = new PrecompiledTemplateResolver(new DefaultResourceLoader(),
+                "classpath:/templates/", ".html", StandardCharsets.UTF_8, new TemplatePrecompiler(messageSource, ""), true);
+        SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateEngineMessageSource(messageSource);
+        templateEngine.setTemplateResolver(templateResolver);
+
+        thymeleafView = new ThymeleafView(PrecompiledTemplateResolver.templateName(VIEW_NAME, locale));
+        thymeleafView.setTemplateEngine(templateEngine);
+        thymeleafView.setApplicationContext(applicationContext);
+        thymeleafView.setServletContext(servletContext);
+        thymeleafView.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        thymeleafView.setLocale(locale);
+
+        skeleton = ErrorFormSkeleton.compile(templateResolver.precompile(VIEW_NAME, locale), "");
+
+        // 상품명 누락, 가격 범위, 가격 * 수량 최소 금액
+        ItemSaveForm form = new ItemSaveForm();
+        form.setPrice(100);
+        form.setQuantity(1);
+        bindingResult = new BeanPropertyBindingResult(form, "item");
+        bindingResult.rejectValue("itemName", "NotBlank", null, "공백일 수 없습니다");
+        bindingResult.rejectValue("price", "Range", new Object[]{"price", 1000000, 1000}, "1000에서 1000000 사이여야 합니다");
+        bindingResult.reject("totalPriceMin", new Object[]{10000, 100}, "가격 * 수량의 합은 10000원 이상이어야 합니다.");
+
+        model = new HashMap<>(bindingResult.getModel());
+        model.put("idempotencyKey", "3f1c2a8e-0b7d-4f5e-9a61-2c4d8e7f9b10");
+    }
+
+    @Benchmark
+    public String render() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(servletContext, "POST", "/validation/v4/items/add");
+        request.setAttribute(DispatcherServlet.WEB_APPLICATION_CONTEXT_ATTRIBUTE, applicationContext);
+        request.setAttribute(DispatcherServlet.LOCALE_RESOLVER_ATTRIBUTE, new FixedLocaleResolver(locale));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        if (mode.equals("thymeleaf")) {
+            thymeleafView.render(model, request, response);
+        } else {
+            new ErrorFormView(skeleton, FormErrors.of(bindingResult, messageSource, locale)).render(model, request, response);
+        }
+        return response.getContentAsString();
+    }
+}
@@ -0,0 +1,94 @@
+package hello.itemservice.web.template;
+
+import hello.itemservice.domain.item.Item;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.context.IExpressionContext;
+import org.thymeleaf.linkbuilder.StandardLinkBuilder;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 1,000 건 상품 목록 렌더링 - 원본 템플릿 vs 언어별 사전 계산 템플릿
+ * ./gradlew jmh -Pjmh.includes=TemplateRenderBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TemplateRenderBenchmark {
+
+    private static final String VIEW_NAME = "validation/v4/items";
+
+    @Param({"ko", "en"})
+    String language;
+
+    @Param({"original", "precompiled"})
+    String mode;
+
+    SpringTemplateEngine templateEngine;
+    String templateName;
+    Context context;
+
+    @Setup
+    public void setUp() {
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasenames("messages", "errors");
+        messageSource.setDefaultEncoding(StandardCharsets.UTF_8.name());
+        messageSource.setFallbackToSystemLocale(false);
+
+        templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateEngineMessageSource(messageSource);
+        // 서블릿 요청 없이 @{/...} 를 처리하기 위해 contextPath 는 "" 로 고정
+        templateEngine.setLinkBuilder(new StandardLinkBuilder() {
+            @Override
+            protected String computeContextPath(IExpressionContext context, String base, Map<String, Object> parameters) {
+                return "";
+            }
+        });
+
+        Locale locale = Locale.forLanguageTag(language);
+        if (mode.equals("precompiled")) {
+            TemplatePrecompiler precompiler = new TemplatePrecompiler(messageSource, "");
+            templateEngine.setTemplateResolver(new PrecompiledTemplateResolver(new DefaultResourceLoader(),
+                    "classpath:/templates/", ".html", StandardCharsets.UTF_8, precompiler, true));
+            templateName = PrecompiledTemplateResolver.templateName(VIEW_NAME, locale);
+        } else {
+            ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+            templateResolver.setPrefix("templates/");
+            templateResolver.setSuffix(".html");
+            templateResolver.setTemplateMode(TemplateMode.HTML);
+            templateResolver.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            templateResolver.setCacheable(true);
+            templateEngine.setTemplateResolver(templateResolver);
+            templateName = VIEW_NAME;
+        }
+
+        List<Item> items = new ArrayList<>(1000);
+        for (int i = 1; i <= 1000; i++) {
+            Item item = new Item("item" + i, 1000 + i, i % 100);
+            item.setId((long) i);
+            items.add(item);
+        }
+        context = new Context(locale);
+        context.setVariable("items", items);
+        context.setVariable("param", Collections.emptyMap());
+    }
+
+    @Benchmark
+    public String renderItems() {
+        return templateEngine.process(templateName, context);
+    }
+}
@@ -0,0 +1,61 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.SaveCheck;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import javax.validation.Validation;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 모든 단계를 한번에 검증(flat) vs 단계 순서대로 검증하고 실패하면 멈춤(sequence)
+ * <p>
+ * valid: 모든 단계를 통과, blank: 필수값 단계에서 실패, bounds: 범위 단계에서 실패
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class GroupSequenceBenchmark {
+
+    private static final Object[] ALL_PHASES = {SaveCheck.Required.class, SaveCheck.Bounds.class, SaveCheck.CrossField.class};
+
+    SpringValidatorAdapter validator = new SpringValidatorAdapter(Validation.buildDefaultValidatorFactory().getValidator());
+
+    @Param({"valid", "blank", "bounds"})
+    String input;
+
+    Item item;
+
+    @Setup
+    public void setUp() {
+        switch (input) {
+            case "blank":
+                item = new Item(" ", 10, 10);
+                break;
+            case "bounds":
+                item = new Item("itemA", 10, 10000);
+                break;
+            default:
+                item = new Item("itemA", 10000, 10);
+        }
+    }
+
+    @Benchmark
+    public BindingResult flat() {
+        BindingResult bindingResult = new BeanPropertyBindingResult(item, "item");
+        validator.validate(item, bindingResult, ALL_PHASES);
+        return bindingResult;
+    }
+
+    @Benchmark
+    public BindingResult sequence() {
+        BindingResult bindingResult = new BeanPropertyBindingResult(item, "item");
+        validator.validate(item, bindingResult, SaveCheck.class);
+        return bindingResult;
+    }
+}
@@ -0,0 +1,43 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 정상 입력 경로는 할당이 없어야 한다. (gc.alloc.rate.norm = 0 B/op)
+ * ./gradlew jmh -Pjmh.includes=ItemValidatorBenchmark  (build.gradle 에서 gc 프로파일러 사용)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ItemValidatorBenchmark {
+
+    ItemValidator itemValidator = new ItemValidator();
+    Item validItem = new Item("itemA", 10000, 10);
+    Item invalidItem = new Item(" ", 10, 99999);
+    Errors validErrors = new BeanPropertyBindingResult(validItem, "item");
+
+    @Benchmark
+    public int checkValid() {
+        return itemValidator.check(validItem);
+    }
+
+    @Benchmark
+    public Errors validateValid() {
+        itemValidator.validate(validItem, validErrors);
+        return validErrors;
+    }
+
+    @Benchmark
+    public Errors validateInvalid() {
+        Errors errors = new BeanPropertyBindingResult(invalidItem, "item");
+        itemValidator.validate(invalidItem, errors);
+        return errors;
+    }
+}
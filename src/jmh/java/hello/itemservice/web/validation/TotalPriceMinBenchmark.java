@@ -0,0 +1,79 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import lombok.Data;
+import org.hibernate.validator.constraints.Range;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import javax.validation.Validation;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 필드 검증 + 컨트롤러의 복합 룰 검증(기존) vs 클래스 레벨 @TotalPriceMin 을 포함한 한번의 검증
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TotalPriceMinBenchmark {
+
+    SpringValidatorAdapter validator = new SpringValidatorAdapter(Validation.buildDefaultValidatorFactory().getValidator());
+
+    ItemSaveForm form = new ItemSaveForm();
+    LegacyForm legacyForm = new LegacyForm();
+
+    @Setup
+    public void setUp() {
+        form.setItemName("itemA");
+        form.setPrice(10000);
+        form.setQuantity(10);
+        legacyForm.setItemName("itemA");
+        legacyForm.setPrice(10000);
+        legacyForm.setQuantity(10);
+    }
+
+    @Benchmark
+    public BindingResult controllerCheck() {
+        BindingResult bindingResult = new BeanPropertyBindingResult(legacyForm, "item");
+        validator.validate(legacyForm, bindingResult);
+        if (legacyForm.getPrice() != null && legacyForm.getQuantity() != null) {
+            int resultPrice = legacyForm.getPrice() * legacyForm.getQuantity();
+            if (resultPrice < 10000) {
+                bindingResult.reject("totalPriceMin", new Object[]{10000, resultPrice}, null);
+            }
+        }
+        return bindingResult;
+    }
+
+    @Benchmark
+    public BindingResult singlePass() {
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+        validator.validate(form, bindingResult);
+        return bindingResult;
+    }
+
+    /**
+     * 변경 전의 ItemSaveForm (클래스 레벨 제약 없음)
+     */
+    @Data
+    public static class LegacyForm {
+
+        @NotBlank
+        private String itemName;
+
+        @NotNull
+        @Range(min = 1000, max = 1000000)
+        private Integer price;
+
+        @NotNull
+        @Max(value = 9999)
+        private Integer quantity;
+    }
+}
@@ -0,0 +1,75 @@
+package hello.itemservice.web.validation.cache;
+
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import org.springframework.web.bind.WebDataBinder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 재전송이 많은 상황 - 적은 수의 동일 payload 가 반복해서 들어온다.
+ * replayRatio 만큼은 반복 payload, 나머지는 매번 새로운 payload 이다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ValidationResultCacheBenchmark {
+
+    @Param({"0.9", "0.99"})
+    double replayRatio;
+
+    LocalValidatorFactoryBean validator;
+    ValidationResultCache cache;
+
+    @Setup
+    public void setUp() {
+        validator = new LocalValidatorFactoryBean();
+        validator.afterPropertiesSet();
+        cache = new ValidationResultCache(true, 10000, Duration.ofMinutes(1), "1", new SimpleMeterRegistry());
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.out.printf("%nhitRate=%.3f%n", cache.hitRate());
+        validator.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Payloads {
+        long counter;
+
+        ItemSaveForm next(double replayRatio) {
+            long n = counter++;
+            boolean replay = (n % 100) < replayRatio * 100;
+            int variant = replay ? (int) (n % 8) : (int) (n % 1_000_000) + 8;
+            ItemSaveForm form = new ItemSaveForm();
+            form.setItemName(variant % 2 == 0 ? "" : "item" + variant);
+            form.setPrice(variant % 3 == 0 ? 10 : 10000 + variant);
+            form.setQuantity(variant % 4 == 0 ? 99999 : 10);
+            return form;
+        }
+    }
+
+    @Benchmark
+    public BindingResult withoutCache(Payloads payloads) {
+        WebDataBinder binder = new WebDataBinder(payloads.next(replayRatio), "item");
+        binder.setValidator(validator);
+        binder.validate();
+        return binder.getBindingResult();
+    }
+
+    @Benchmark
+    public BindingResult withCache(Payloads payloads) {
+        WebDataBinder binder = new WebDataBinder(payloads.next(replayRatio), "item");
+        binder.setValidator(validator);
+        cache.apply(binder);
+        binder.validate();
+        return binder.getBindingResult();
+    }
+}
@@ -0,0 +1,197 @@
+package hello.itemservice;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StopWatch;
+import org.springframework.util.StringUtils;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * staging / 성능 환경용 대량 데이터 적재 (seed 프로파일)
+ * <p>
+ * 픽스처 파일은 한 줄에 하나씩 {@code itemName,price,quantity} 형식의 UTF-8 CSV 이다.
+ * 상품명에 쉼표는 허용하지 않으며, 헤더나 검증에 실패한 줄은 건너뛴다.
+ */
+@Slf4j
+@Lazy(false) // seed 프로파일은 lazy-initialization 을 켜기 때문에 명시적으로 즉시 생성
+@Profile("seed")
+@Component
+@RequiredArgsConstructor
+public class ItemFixtureLoader {
+
+    private static final int CHUNKS_PER_CORE = 4;
+
+    private final ItemRepository itemRepository;
+
+    @Value("${item.fixture.path:}")
+    private String fixturePath;
+
+    @PostConstruct
+    public void init() throws IOException {
+        if (!StringUtils.hasText(fixturePath)) {
+            log.warn("item.fixture.path 가 비어있어 픽스처 적재를 건너뜁니다.");
+            return;
+        }
+
+        StopWatch stopWatch = new StopWatch("item fixture");
+        stopWatch.start("parse");
+        List<Item> items = parse(Paths.get(fixturePath));
+        stopWatch.stop();
+
+        stopWatch.start("save");
+        itemRepository.saveAll(items);
+        stopWatch.stop();
+
+        log.info("픽스처 적재 완료 path={}, count={}, elapsed={}ms\n{}",
+                fixturePath, items.size(), stopWatch.getTotalTimeMillis(), stopWatch.prettyPrint());
+    }
+
+    /**
+     * 파일을 메모리 매핑한 뒤 줄 경계 기준으로 나눠서 병렬로 파싱/검증한다.
+     * 결과는 파일에 적힌 순서를 유지한다.
+     */
+    public static List<Item> parse(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("픽스처 파일이 너무 큽니다. path=" + path + ", size=" + size);
+            }
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int[] bounds = chunkBounds(buffer, Runtime.getRuntime().availableProcessors() * CHUNKS_PER_CORE);
+            AtomicInteger skipped = new AtomicInteger();
+
+            List<List<Item>> chunks = IntStream.range(0, bounds.length - 1)
+                    .parallel()
+                    .mapToObj(i -> parseChunk(buffer, bounds[i], bounds[i + 1], skipped))
+                    .collect(Collectors.toList());
+
+            List<Item> items = new ArrayList<>(chunks.stream().mapToInt(List::size).sum());
+            chunks.forEach(items::addAll);
+
+            if (skipped.get() > 0) {
+                log.info("픽스처에서 건너뛴 줄 수={}", skipped.get());
+            }
+            return items;
+        }
+    }
+
+    private static int[] chunkBounds(MappedByteBuffer buffer, int chunkCount) {
+        int size = buffer.limit();
+        int count = Math.max(1, Math.min(chunkCount, size / 4096 + 1));
+        int[] bounds = new int[count + 1];
+        for (int i = 1; i < count; i++) {
+            int pos = Math.max(bounds[i - 1], (int) ((long) size * i / count));
+            while (pos < size && buffer.get(pos) != '\n') {
+                pos++;
+            }
+            bounds[i] = Math.min(size, pos + 1);
+        }
+        bounds[count] = size;
+        return bounds;
+    }
+
+    private static List<Item> parseChunk(MappedByteBuffer buffer, int from, int to, AtomicInteger skipped) {
+        List<Item> items = new ArrayList<>((to - from) / 24 + 1);
+        int lineStart = from;
+        while (lineStart < to) {
+            int lineEnd = lineStart;
+            while (lineEnd < to && buffer.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+
+            int end = lineEnd;
+            if (end > lineStart && buffer.get(end - 1) == '\r') {
+                end--;
+            }
+            if (end > lineStart) {
+                Item item = parseLine(buffer, lineStart, end);
+                if (item != null) {
+                    items.add(item);
+                } else {
+                    skipped.incrementAndGet();
+                }
+            }
+            lineStart = lineEnd + 1;
+        }
+        return items;
+    }
+
+    private static Item parseLine(MappedByteBuffer buffer, int from, int to) {
+        int firstComma = indexOf(buffer, from, to);
+        int secondComma = firstComma < 0 ? -1 : indexOf(buffer, firstComma + 1, to);
+        if (secondComma < 0) {
+            return null;
+        }
+
+        byte[] nameBytes = new byte[firstComma - from];
+        for (int i = 0; i < nameBytes.length; i++) {
+            nameBytes[i] = buffer.get(from + i);
+        }
+        String itemName = new String(nameBytes, StandardCharsets.UTF_8).trim();
+        int price = parseInt(buffer, firstComma + 1, secondComma);
+        int quantity = parseInt(buffer, secondComma + 1, to);
+
+        if (!isValid(itemName, price, quantity)) {
+            return null;
+        }
+        return new Item(itemName, price, quantity);
+    }
+
+    /**
+     * ItemSaveForm 과 같은 규칙
+     */
+    private static boolean isValid(String itemName, int price, int quantity) {
+        return !itemName.isEmpty()
+                && price >= 1000 && price <= 1000000
+                && quantity >= 0 && quantity <= 9999
+                && (long) price * quantity >= 10000;
+    }
+
+    private static int indexOf(MappedByteBuffer buffer, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buffer.get(i) == ',') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 숫자가 아니면 -1 (검증에서 걸러진다)
+     */
+    private static int parseInt(MappedByteBuffer buffer, int from, int to) {
+        long value = 0;
+        int digits = 0;
+        for (int i = from; i < to; i++) {
+            byte b = buffer.get(i);
+            if (b == ' ') {
+                continue;
+            }
+            if (b < '0' || b > '9' || ++digits > 10) {
+                return -1;
+            }
+            value = value * 10 + (b - '0');
+        }
+        return digits == 0 || value > Integer.MAX_VALUE ? -1 : (int) value;
+    }
+}
@@ -3,11 +3,31 @@ package hello.itemservice;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
+import java.util.Arrays;
+
 @SpringBootApplication
 public class ItemServiceApplication {
 
 	public static void main(String[] args) {
+		if (isSeedProfile(args)) {
+			// devtools 재시작은 설정 파일을 읽기 전에 정해지므로 application-seed.properties 로는 끌 수 없다.
+			System.setProperty("spring.devtools.restart.enabled", "false");
+		}
 		SpringApplication.run(ItemServiceApplication.class, args);
 	}
 
+	/**
+	 * --spring.profiles.active, -Dspring.profiles.active, SPRING_PROFILES_ACTIVE 중 하나에 seed 가 있는지
+	 */
+	static boolean isSeedProfile(String[] args) {
+		String profiles = System.getProperty("spring.profiles.active", System.getenv().getOrDefault("SPRING_PROFILES_ACTIVE", ""));
+		String prefix = "--spring.profiles.active=";
+		for (String arg : args) {
+			if (arg.startsWith(prefix)) {
+				profiles = arg.substring(prefix.length());
+			}
+		}
+		return Arrays.asList(profiles.trim().split("\\s*,\\s*")).contains("seed");
+	}
+
 }
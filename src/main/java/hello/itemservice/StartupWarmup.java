@@ -0,0 +1,263 @@
+package hello.itemservice;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.SaveCheck;
+import hello.itemservice.domain.item.UpdateCheck;
+import hello.itemservice.tenant.TenantScope;
+import hello.itemservice.web.throttle.WriteThrottle;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.form.ItemUpdateForm;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.MessageSource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 기동 직후 첫 요청들의 지연을 없애기 위한 예열 - 준비 완료(readiness) 전에 실행한다.
+ * <p>
+ * 아래 작업을 병렬로 실행한다.
+ * - 메세지: 모든 basename, 언어의 번들을 읽고 모든 키를 한번씩 조회
+ * - 검증: Item / ItemSaveForm / ItemUpdateForm 의 메타데이터와 그룹 순서를 만든다. (정상 / 오류 입력 검증)
+ * - 요청: v1 ~ v4, api 의 목록/상세/등록/수정 화면과 등록/수정 POST 를 언어별로 보낸다. (템플릿 파싱, 캐시 포함)
+ * 요청은 임시 테넌트(warmup)로 보내고 끝나면 버리므로 실제 스토어에는 남지 않는다. 쓰기 제한(WriteThrottle)도 받지 않는다.
+ * ApplicationRunner 가 끝난 뒤에 ReadinessState.ACCEPTING_TRAFFIC 이 되므로 /actuator/health/readiness 로 확인한다.
+ * 예열이 실패해도 기동은 계속한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "warmup.enabled", havingValue = "true", matchIfMissing = true)
+public class StartupWarmup implements ApplicationRunner {
+
+    static final String TENANT = "warmup";
+    private static final List<String> VERSIONS = List.of("v1", "v2", "v3", "v4");
+    private static final Pattern ITEM_ID = Pattern.compile("/items/(\\d+)");
+
+    private final ApplicationContext applicationContext;
+    private final MessageSource messageSource;
+    private final Validator validator;
+    private final TenantScope tenantScope;
+    private final WriteThrottle writeThrottle;
+
+    @Value("${spring.messages.basename:messages}")
+    private String basenames;
+    @Value("${warmup.locales:ko,en}")
+    private String locales;
+    @Value("${warmup.timeout:60s}")
+    private Duration timeout;
+    @Value("${tenant.header:X-Tenant-Id}")
+    private String tenantHeader;
+    @Value("${server.servlet.context-path:}")
+    private String contextPath;
+
+    public StartupWarmup(ApplicationContext applicationContext, MessageSource messageSource, Validator validator,
+                         TenantScope tenantScope, WriteThrottle writeThrottle) {
+        this.applicationContext = applicationContext;
+        this.messageSource = messageSource;
+        this.validator = validator;
+        this.tenantScope = tenantScope;
+        this.writeThrottle = writeThrottle;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException {
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+            Thread thread = new Thread(runnable, "warmup");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        for (String language : StringUtils.commaDelimitedListToStringArray(locales)) {
+            Locale locale = Locale.forLanguageTag(language.trim());
+            tasks.add(task("messages " + locale, () -> loadMessages(locale), executor));
+        }
+        tasks.add(task("validator Item", () -> {
+            validator.validate(new Item(" ", 10, 99999), SaveCheck.class);
+            validator.validate(new Item("item", 10, 99999), UpdateCheck.class);
+            validator.validate(new Item("item", 10000, 10), SaveCheck.class);
+        }, executor));
+        tasks.add(task("validator ItemSaveForm", () -> {
+            validator.validate(new ItemSaveForm());
+            validator.validate(saveForm("item", 10, 99999));
+            validator.validate(saveForm("item", 10000, 10));
+        }, executor));
+        tasks.add(task("validator ItemUpdateForm", () -> {
+            validator.validate(new ItemUpdateForm());
+            validator.validate(updateForm(1L, "item", 10, 10));
+            validator.validate(updateForm(1L, "item", 10000, 10));
+        }, executor));
+
+        int port = port();
+        if (port > 0) {
+            HttpClient client = HttpClient.newBuilder()
+                    .followRedirects(HttpClient.Redirect.NEVER)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            String base = "http://localhost:" + port + contextPath;
+            for (String version : VERSIONS) {
+                tasks.add(task("requests " + version, () -> requests(client, base + "/validation/" + version + "/items"), executor));
+            }
+            tasks.add(task("requests api", () -> apiRequests(client, base + "/validation/api/items"), executor));
+        }
+
+        try {
+            CompletableFuture.allOf(tasks.toArray(new CompletableFuture[0])).get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("예열이 {} 안에 끝나지 않았습니다. 남은 작업은 취소합니다.", timeout);
+        } catch (Exception e) {
+            log.warn("예열 중 오류", e);
+        } finally {
+            executor.shutdownNow();
+            tenantScope.discard(TENANT);
+        }
+        log.info("예열 완료 tasks={}, elapsed={}ms", tasks.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private static CompletableFuture<Void> task(String name, Runnable runnable, ExecutorService executor) {
+        return CompletableFuture.runAsync(() -> {
+            long start = System.nanoTime();
+            try {
+                runnable.run();
+                log.debug("예열 {} {}ms", name, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            } catch (RuntimeException e) {
+                log.warn("예열 실패 {}", name, e);
+            }
+        }, executor);
+    }
+
+    /**
+     * 기본 번들의 키를 해당 언어로 모두 조회한다. (번들 로딩 + 메세지 캐시)
+     */
+    private void loadMessages(Locale locale) {
+        for (String basename : StringUtils.commaDelimitedListToStringArray(basenames)) {
+            String path = basename.trim().replace('.', '/') + ".properties";
+            Properties keys;
+            try {
+                keys = PropertiesLoaderUtils.loadAllProperties(path);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            for (String key : keys.stringPropertyNames()) {
+                messageSource.getMessage(key, null, key, locale);
+            }
+        }
+    }
+
+    private void requests(HttpClient client, String base) {
+        String form = "itemName=warmup&price=10000&quantity=10";
+        String invalidForm = "itemName=&price=10&quantity=99999";
+
+        Long itemId = null;
+        HttpResponse<Void> saved = send(client, post(base + "/add", "application/x-www-form-urlencoded", form));
+        Matcher location = ITEM_ID.matcher(saved.headers().firstValue("Location").orElse(""));
+        if (location.find()) {
+            itemId = Long.valueOf(location.group(1));
+        }
+        send(client, post(base + "/add", "application/x-www-form-urlencoded", invalidForm));
+
+        for (String language : StringUtils.commaDelimitedListToStringArray(locales)) {
+            send(client, get(base, language));
+            send(client, get(base + "/add", language));
+            if (itemId != null) {
+                send(client, get(base + "/" + itemId, language));
+                send(client, get(base + "/" + itemId + "/edit", language));
+            }
+        }
+        if (itemId != null) {
+            send(client, post(base + "/" + itemId + "/edit", "application/x-www-form-urlencoded",
+                    "id=" + itemId + "&" + invalidForm));
+        }
+    }
+
+    private void apiRequests(HttpClient client, String base) {
+        send(client, post(base + "/add", "application/json", "{\"itemName\":\"warmup\",\"price\":10000,\"quantity\":10}"));
+        send(client, post(base + "/add", "application/json", "{\"itemName\":\" \",\"price\":10,\"quantity\":99999}"));
+        send(client, get(base + "/stats", "ko"));
+    }
+
+    private HttpRequest get(String url, String language) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header(tenantHeader, TENANT)
+                .header(WriteThrottle.BYPASS_HEADER, writeThrottle.bypassToken())
+                .header("Accept-Language", language.trim())
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String url, String contentType, String body) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header(tenantHeader, TENANT)
+                .header(WriteThrottle.BYPASS_HEADER, writeThrottle.bypassToken())
+                .header("Content-Type", contentType)
+                .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
+                .build();
+    }
+
+    private static HttpResponse<Void> send(HttpClient client, HttpRequest request) {
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() >= 500 || response.statusCode() == 429) {
+                log.debug("예열 요청 {} {} -> {}", request.method(), request.uri(), response.statusCode());
+            }
+            return response;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private int port() {
+        if (applicationContext instanceof WebServerApplicationContext) {
+            return ((WebServerApplicationContext) applicationContext).getWebServer().getPort();
+        }
+        return -1; // 서버 없이 실행 (MockMvc 테스트 등)
+    }
+
+    private static ItemSaveForm saveForm(String itemName, Integer price, Integer quantity) {
+        ItemSaveForm form = new ItemSaveForm();
+        form.setItemName(itemName);
+        form.setPrice(price);
+        form.setQuantity(quantity);
+        return form;
+    }
+
+    private static ItemUpdateForm updateForm(Long id, String itemName, Integer price, Integer quantity) {
+        ItemUpdateForm form = new ItemUpdateForm();
+        form.setId(id);
+        form.setItemName(itemName);
+        form.setPrice(price);
+        form.setQuantity(quantity);
+        return form;
+    }
+}
@@ -0,0 +1,45 @@
+package hello.itemservice;
+
+import hello.itemservice.web.resource.ResourceHandlerCustomizer;
+import hello.itemservice.web.resource.VersionedCacheControlResolver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.ContentVersionStrategy;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+import java.time.Duration;
+
+/**
+ * 정적 리소스 - 빌드 때 만든 .gz/.br 을 Accept-Encoding 에 따라 고르고(spring.web.resources.chain.compressed),
+ * 파일이면 sendfile 로 보낸다.
+ * <p>
+ * 내용 해시가 붙은 경로(/css/bootstrap.min-{md5}.css)만 1년 캐시한다. 해시가 실제 내용과 맞는지는 {@link VersionedCacheControlResolver} 가 본다.
+ * 나머지(/css/bootstrap.min.css, /index.html 등)는 no-cache 로 매번 재검증
+ */
+@Configuration
+public class StaticResourceConfig implements WebMvcConfigurer {
+
+    static final Duration VERSIONED_MAX_AGE = Duration.ofDays(365);
+
+    @Bean
+    public static ResourceHandlerCustomizer resourceHandlerCustomizer() {
+        return new ResourceHandlerCustomizer();
+    }
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        ContentVersionStrategy versionStrategy = new ContentVersionStrategy();
+        registry.addResourceHandler("/css/**")
+                .addResourceLocations("classpath:/static/css/")
+                .setCacheControl(CacheControl.noCache())
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver())
+                .addResolver(new VersionedCacheControlResolver(versionStrategy,
+                        CacheControl.maxAge(VERSIONED_MAX_AGE).cachePublic().immutable()))
+                .addResolver(new VersionResourceResolver().addVersionStrategy(versionStrategy, "/**"));
+    }
+}
@@ -0,0 +1,66 @@
+package hello.itemservice;
+
+import hello.itemservice.tenant.TenantScope;
+import hello.itemservice.web.tenant.TenantFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.CustomScopeConfigurer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 멀티 테넌트 - 한 인스턴스에서 여러 스토어를 서로 격리해서 운영한다.
+ * <p>
+ * 테넌트는 X-Tenant-Id 헤더로 고르고, 테넌트마다 ItemRepository 가 따로 만들어진다. (TenantScope)
+ * 한도는 item.repository.quota.*, 유휴 테넌트는 tenant.idle-timeout 뒤에 tenant.snapshot-directory 로 내린다.
+ * 메모리에 올리는 테넌트 수는 tenant.max-tenants, 받을 테넌트를 정해두려면 tenant.allowed (쉼표 구분)
+ */
+@Configuration
+public class TenantConfig {
+
+    /**
+     * 스코프는 빈 정의를 처리하기 전에 등록해야 하므로 static 빈이고, 설정은 Environment 에서 직접 읽는다.
+     */
+    @Bean
+    public static TenantScope tenantScope(Environment environment) {
+        Path snapshotDirectory = Paths.get(environment.getProperty("tenant.snapshot-directory",
+                Paths.get(System.getProperty("java.io.tmpdir"), "itemservice-tenants").toString()));
+        Duration idleTimeout = environment.getProperty("tenant.idle-timeout", Duration.class, Duration.ofMinutes(30));
+        int maxTenants = environment.getProperty("tenant.max-tenants", Integer.class, TenantScope.DEFAULT_MAX_TENANTS);
+        Set<String> allowed = new HashSet<>();
+        for (String tenantId : environment.getProperty("tenant.allowed", String[].class, new String[0])) {
+            if (!tenantId.isBlank()) {
+                allowed.add(tenantId.trim());
+            }
+        }
+        if (!allowed.isEmpty()) {
+            allowed.add(StartupWarmup.TENANT); // 기동 예열용 임시 테넌트
+        }
+        return new TenantScope(snapshotDirectory, idleTimeout, maxTenants, allowed);
+    }
+
+    @Bean
+    public static CustomScopeConfigurer tenantScopeConfigurer(TenantScope tenantScope) {
+        CustomScopeConfigurer configurer = new CustomScopeConfigurer();
+        configurer.addScope(TenantScope.NAME, tenantScope);
+        return configurer;
+    }
+
+    @Bean
+    public FilterRegistrationBean<TenantFilter> tenantFilter(@Value("${tenant.header:X-Tenant-Id}") String headerName,
+                                                             TenantScope tenantScope) {
+        FilterRegistrationBean<TenantFilter> registration =
+                new FilterRegistrationBean<>(new TenantFilter(headerName, tenantScope));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10); // 다른 필터보다 먼저 - 요청 전체가 같은 테넌트
+        registration.addUrlPatterns("/*");
+        return registration;
+    }
+}
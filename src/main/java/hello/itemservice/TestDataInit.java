@@ -3,10 +3,12 @@ package hello.itemservice;
 import hello.itemservice.domain.item.Item;
 import hello.itemservice.domain.item.ItemRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.PostConstruct;
 
+@Profile("!seed") // seed 프로파일에서는 ItemFixtureLoader 가 대신 적재
 @Component
 @RequiredArgsConstructor
 public class TestDataInit {
@@ -0,0 +1,84 @@
+package hello.itemservice;
+
+import hello.itemservice.web.template.ErrorFormInterceptor;
+import hello.itemservice.web.template.LocalizedThymeleafViewResolver;
+import hello.itemservice.web.template.PrecompiledTemplateResolver;
+import hello.itemservice.web.template.TemplatePrecompiler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.thymeleaf.ThymeleafProperties;
+import org.springframework.context.MessageSource;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.util.MimeType;
+import org.springframework.web.servlet.resource.ResourceUrlProvider;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.thymeleaf.spring5.view.ThymeleafViewResolver;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 언어별로 정적인 메세지와 링크를 미리 계산한 템플릿을 사용한다. (template.precompile.enabled=false 로 끌 수 있다)
+ * <p>
+ * thymeleafViewResolver 는 스프링 부트의 기본 설정을 그대로 옮기고 구현 클래스만 바꾼다.
+ * <p>
+ * 검증 오류로 다시 보여주는 v2 ~ v4 입력 폼은 미리 계산한 템플릿의 뼈대에 오류만 채워서 렌더링한다.
+ * (template.error-form.enabled=false 로 끌 수 있다)
+ */
+@Configuration
+@ConditionalOnProperty(name = "template.precompile.enabled", matchIfMissing = true)
+public class ThymeleafConfig {
+
+    @Bean
+    public PrecompiledTemplateResolver precompiledTemplateResolver(ThymeleafProperties properties,
+                                                                   ResourceLoader resourceLoader,
+                                                                   MessageSource messageSource,
+                                                                   ResourceUrlProvider resourceUrlProvider,
+                                                                   @Value("${server.servlet.context-path:}") String contextPath) {
+        // 정적 리소스는 내용 해시가 붙은 경로로 (StaticResourceConfig)
+        TemplatePrecompiler precompiler = new TemplatePrecompiler(messageSource, contextPath, path -> {
+            String versioned = resourceUrlProvider.getForLookupPath(path);
+            return versioned != null ? versioned : path;
+        });
+        return new PrecompiledTemplateResolver(resourceLoader, properties.getPrefix(), properties.getSuffix(),
+                properties.getEncoding(), precompiler, properties.isCache());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "template.error-form.enabled", matchIfMissing = true)
+    public ErrorFormInterceptor errorFormInterceptor(PrecompiledTemplateResolver precompiledTemplateResolver,
+                                                     MessageSource messageSource,
+                                                     @Value("${server.servlet.context-path:}") String contextPath) {
+        return new ErrorFormInterceptor(precompiledTemplateResolver, messageSource, contextPath,
+                "validation/v2/addForm", "validation/v2/editForm",
+                "validation/v3/addForm", "validation/v3/editForm",
+                "validation/v4/addForm", "validation/v4/editForm");
+    }
+
+    @Bean
+    public ThymeleafViewResolver thymeleafViewResolver(ThymeleafProperties properties, SpringTemplateEngine templateEngine) {
+        ThymeleafViewResolver resolver = new LocalizedThymeleafViewResolver();
+        resolver.setTemplateEngine(templateEngine);
+        resolver.setCharacterEncoding(properties.getEncoding().name());
+        resolver.setContentType(appendCharset(properties.getServlet().getContentType(), resolver.getCharacterEncoding()));
+        resolver.setProducePartialOutputWhileProcessing(properties.getServlet().isProducePartialOutputWhileProcessing());
+        resolver.setExcludedViewNames(properties.getExcludedViewNames());
+        resolver.setViewNames(properties.getViewNames());
+        resolver.setOrder(Ordered.LOWEST_PRECEDENCE - 5);
+        resolver.setCache(properties.isCache());
+        return resolver;
+    }
+
+    private String appendCharset(MimeType type, String charset) {
+        if (type.getCharset() != null) {
+            return type.toString();
+        }
+        Map<String, String> parameters = new LinkedHashMap<>();
+        parameters.put("charset", charset);
+        parameters.putAll(type.getParameters());
+        return new MimeType(type, parameters).toString();
+    }
+}
@@ -0,0 +1,37 @@
+package hello.itemservice;
+
+import hello.itemservice.trace.TraceRecording;
+import hello.itemservice.trace.TracingBeanPostProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.text.ParseException;
+
+/**
+ * 요청 처리 단계 JFR 기록 (hello.itemservice.Stage)
+ * <p>
+ * 이벤트는 항상 심어 두고 기본은 꺼 둔다. 켜는 방법
+ * - trace.jfr.enabled=true : 애플리케이션이 jfr/itemservice.jfc 로 기록하고 종료할 때 trace.jfr.file 에 쓴다.
+ * - JVM 옵션 -XX:StartFlightRecording=settings=...itemservice.jfc 또는 jcmd JFR.start
+ */
+@Configuration
+public class TraceConfig {
+
+    @Bean
+    public static TracingBeanPostProcessor tracingBeanPostProcessor() {
+        return new TracingBeanPostProcessor();
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnProperty(name = "trace.jfr.enabled", havingValue = "true")
+    public TraceRecording traceRecording(@Value("${trace.jfr.settings:classpath:jfr/itemservice.jfc}") Resource settings,
+                                         @Value("${trace.jfr.file:itemservice.jfr}") String file)
+            throws IOException, ParseException {
+        return new TraceRecording(settings, Paths.get(file));
+    }
+}
@@ -0,0 +1,54 @@
+package hello.itemservice;
+
+import hello.itemservice.trace.TraceInterceptor;
+import hello.itemservice.trace.TracingValidator;
+import hello.itemservice.web.idempotency.IdempotencyIndex;
+import hello.itemservice.web.idempotency.IdempotencyInterceptor;
+import hello.itemservice.web.throttle.ThrottleInterceptor;
+import hello.itemservice.web.throttle.WriteThrottle;
+import hello.itemservice.web.template.ErrorFormInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final IdempotencyIndex idempotencyIndex;
+    private final WriteThrottle writeThrottle;
+    private final javax.validation.Validator beanValidator;
+    private final ObjectProvider<ErrorFormInterceptor> errorFormInterceptor;
+
+    /**
+     * @Validated 검증 - Bean Validation 단계를 기록한다.
+     */
+    @Override
+    public Validator getValidator() {
+        return new TracingValidator(new SpringValidatorAdapter(beanValidator));
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // 등록/수정 POST 제한 - 가장 먼저
+        registry.addInterceptor(new ThrottleInterceptor(writeThrottle))
+                .order(0)
+                .addPathPatterns("/validation/*/items/add", "/validation/*/items/*/edit");
+
+        registry.addInterceptor(new IdempotencyInterceptor(idempotencyIndex, "/validation/v4/items/"))
+                .order(1)
+                .addPathPatterns("/validation/v4/items/add");
+
+        // 검증 오류 폼은 뼈대에 오류만 채워서 렌더링 (ThymeleafConfig)
+        errorFormInterceptor.ifAvailable(interceptor -> registry.addInterceptor(interceptor)
+                .addPathPatterns("/validation/*/items/add", "/validation/*/items/*/edit"));
+
+        // 뷰 렌더링 단계 기록
+        registry.addInterceptor(new TraceInterceptor())
+                .addPathPatterns("/validation/**");
+    }
+}
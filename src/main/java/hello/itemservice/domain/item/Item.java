@@ -3,7 +3,6 @@ package hello.itemservice.domain.item;
 import lombok.Data;
 /* 이건 하이버네이트 validator 를 사용할 때만 사용 가능 */
 import org.hibernate.validator.constraints.Range;
-import org.hibernate.validator.constraints.ScriptAssert;
 
 /* 특정 구현체에 상관없는 표준 인터페이스 */
 import javax.validation.constraints.Max;
@@ -11,20 +10,21 @@ import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
 @Data
-public class Item {
+@TotalPriceMin(groups = {SaveCheck.CrossField.class, UpdateCheck.CrossField.class}) // 복합 룰 검증 - 필드 검증을 통과한 뒤 실행
+public class Item implements PricedItem {
 
-//    @NotNull(groups = UpdateCheck.class) // 수정사항 요구 추가
+    @NotNull(groups = UpdateCheck.Required.class) // 수정사항 요구 추가
     private Long id;
 
-//    @NotBlank(groups = {UpdateCheck.class, SaveCheck.class})
+    @NotBlank(groups = {UpdateCheck.Required.class, SaveCheck.Required.class})
     private String itemName;
 
-//    @NotNull(groups = {UpdateCheck.class, SaveCheck.class})
-//    @Range(min = 1000, max = 1000000, groups = {UpdateCheck.class, SaveCheck.class})
+    @NotNull(groups = {UpdateCheck.Required.class, SaveCheck.Required.class})
+    @Range(min = 1000, max = 1000000, groups = {UpdateCheck.Bounds.class, SaveCheck.Bounds.class})
     private Integer price;
 
-//    @NotNull(groups = {UpdateCheck.class, SaveCheck.class})
-//    @Max(value = 9999, groups = {SaveCheck.class})
+    @NotNull(groups = {UpdateCheck.Required.class, SaveCheck.Required.class})
+    @Max(value = 9999, groups = {SaveCheck.Bounds.class})
     private Integer quantity;
 
     public Item() {
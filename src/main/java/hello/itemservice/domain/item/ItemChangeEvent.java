@@ -0,0 +1,32 @@
+package hello.itemservice.domain.item;
+
+import lombok.Value;
+
+/**
+ * ItemRepository 변경 이벤트 - sequence 는 저장소 안에서 1부터 증가한다.
+ * CLEARED 이벤트는 상품 정보가 없다.
+ */
+@Value
+public class ItemChangeEvent {
+
+    public enum Type {
+        SAVED, UPDATED, CLEARED
+    }
+
+    long sequence;
+    Type type;
+    long timestamp;
+    Long itemId;
+    String itemName;
+    Integer price;
+    Integer quantity;
+
+    static ItemChangeEvent of(long sequence, Type type, Item item) {
+        long timestamp = System.currentTimeMillis();
+        if (item == null) {
+            return new ItemChangeEvent(sequence, type, timestamp, null, null, null, null);
+        }
+        return new ItemChangeEvent(sequence, type, timestamp,
+                item.getId(), item.getItemName(), item.getPrice(), item.getQuantity());
+    }
+}
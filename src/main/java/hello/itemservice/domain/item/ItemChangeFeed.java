@@ -0,0 +1,112 @@
+package hello.itemservice.domain.item;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 상품 변경 이벤트를 고정 크기 링 버퍼에 순서대로 보관한다.
+ * <p>
+ * 구독자는 마지막으로 받은 sequence 이후부터 직접 읽어간다(pull).
+ * 쓰는 쪽은 구독자를 기다리지 않고 오래된 이벤트를 덮어쓰므로, 느린 구독자는 {@link #oldestSequence()}
+ * 보다 뒤처지면 중간 이벤트를 잃는다. 이 경우 전체 목록을 다시 읽어야 한다.
+ * <p>
+ * 쓰기는 잠금 없이 sequence 만 선점한 뒤 슬롯에 기록한다. 선점했지만 아직 기록되지 않은 슬롯을 만나면
+ * 읽기는 거기서 멈추고 다음에 이어서 읽는다.
+ * 슬롯에는 더 큰 sequence 만 기록한다. (한 바퀴 늦게 도착한 오래된 이벤트가 최신 이벤트를 덮어쓰지 않도록)
+ */
+public class ItemChangeFeed {
+
+    private final AtomicReferenceArray<ItemChangeEvent> ring;
+    private final int mask;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private volatile long resumedAfter; // 이 sequence 까지는 이 버퍼에 없다. (스냅샷 복원)
+
+    /**
+     * @param capacity 2의 거듭제곱으로 올림
+     */
+    public ItemChangeFeed(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.ring = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    ItemChangeEvent publish(ItemChangeEvent.Type type, Item item) {
+        long claimed = sequence.incrementAndGet();
+        ItemChangeEvent event = ItemChangeEvent.of(claimed, type, item);
+        int slot = (int) (claimed & mask);
+        while (true) {
+            ItemChangeEvent current = ring.get(slot);
+            if (current != null && current.getSequence() > claimed) {
+                break; // 이미 다음 바퀴의 이벤트가 들어갔다. 이 이벤트는 유실된 것으로 본다.
+            }
+            if (ring.compareAndSet(slot, current, event)) {
+                break;
+            }
+        }
+        return event;
+    }
+
+    /**
+     * 스냅샷 복원 - 이전 저장소가 발급한 sequence 다음부터 이어서 발급한다. (같은 sequence 가 다른 내용을 가리키지 않도록)
+     * 그 이전 구간은 이 버퍼에 없으므로 그보다 뒤처진 구독자는 유실로 본다.
+     */
+    void resumeAfter(long lastSequence) {
+        if (lastSequence > sequence.get()) {
+            resumedAfter = lastSequence;
+            sequence.accumulateAndGet(lastSequence, Math::max);
+        }
+    }
+
+    /**
+     * 마지막으로 발급된 sequence (기록이 끝나지 않았을 수 있다)
+     */
+    public long lastSequence() {
+        return sequence.get();
+    }
+
+    /**
+     * 아직 버퍼에 남아있는 가장 오래된 sequence
+     */
+    public long oldestSequence() {
+        return Math.max(Math.max(1, sequence.get() - mask), resumedAfter + 1);
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * afterSequence 다음 이벤트부터 최대 maxEvents 개를 순서대로 반환한다.
+     * 이미 덮어써진 구간은 건너뛰므로, 첫 이벤트의 sequence 가 afterSequence + 1 이 아니면 유실이 있었던 것이다.
+     */
+    public List<ItemChangeEvent> readAfter(long afterSequence, int maxEvents) {
+        long last = sequence.get();
+        long from = Math.max(Math.max(afterSequence + 1, last - mask), resumedAfter + 1);
+        if (from > last || maxEvents <= 0) {
+            return Collections.emptyList();
+        }
+
+        long to = Math.min(last, from + maxEvents - 1);
+        List<ItemChangeEvent> events = new ArrayList<>((int) (to - from + 1));
+        for (long expected = from; expected <= to; expected++) {
+            ItemChangeEvent event = ring.get((int) (expected & mask));
+            if (event == null || event.getSequence() < expected) {
+                // 아직 기록 중이다. 다음에 여기서부터 다시 읽는다.
+                break;
+            }
+            if (event.getSequence() > expected) {
+                // 읽는 도중 덮어써졌다. 앞부분 유실은 건너뛰고, 중간이면 여기까지만 반환한다.
+                if (events.isEmpty()) {
+                    continue;
+                }
+                break;
+            }
+            events.add(event);
+        }
+        return events;
+    }
+}
@@ -0,0 +1,84 @@
+package hello.itemservice.domain.item;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * 샤드 하나의 메모리 계층에 있는 상품 id - CLOCK (second chance) 교체 정책
+ * <p>
+ * 조회는 잠금 없이 참조 비트만 켠다. 추가/교체는 샤드 쓰기 잠금 안에서 한다.
+ * 교체할 때 바늘이 돌면서 참조 비트가 켜진 id 는 비트만 끄고 넘어가고, 꺼진 id 를 내보낸다.
+ */
+final class ItemClock {
+
+    private final long[] ids;
+    private final AtomicIntegerArray referenced;
+    private final Map<Long, Integer> slots = new ConcurrentHashMap<>();
+    private int size; // writeLock
+    private int hand; // writeLock
+
+    ItemClock(int capacity) {
+        this.ids = new long[capacity];
+        this.referenced = new AtomicIntegerArray(capacity);
+    }
+
+    /**
+     * 조회 - 이미 켜져 있으면 쓰지 않는다. (캐시 라인을 더럽히지 않도록)
+     */
+    void touch(Long id) {
+        Integer slot = slots.get(id);
+        if (slot != null && referenced.get(slot) == 0) {
+            referenced.lazySet(slot, 1);
+        }
+    }
+
+    boolean isFull() {
+        return size == ids.length;
+    }
+
+    /**
+     * writeLock - 가득 차지 않았을 때
+     */
+    void add(long id) {
+        put(size++, id);
+    }
+
+    /**
+     * writeLock - 가득 찼을 때, 내보낼 id 를 고른다. (바늘만 옮기고 바꾸지는 않는다)
+     */
+    long victim() {
+        while (referenced.get(hand) != 0) {
+            referenced.set(hand, 0);
+            hand = (hand + 1) % ids.length;
+        }
+        return ids[hand];
+    }
+
+    /**
+     * writeLock - {@link #victim()} 이 고른 자리를 id 로 바꾼다.
+     */
+    void replaceVictim(long id) {
+        slots.remove(ids[hand]);
+        put(hand, id);
+        hand = (hand + 1) % ids.length;
+    }
+
+    /**
+     * writeLock
+     */
+    void clear() {
+        slots.clear();
+        for (int i = 0; i < size; i++) {
+            referenced.set(i, 0);
+        }
+        size = 0;
+        hand = 0;
+    }
+
+    private void put(int slot, long id) {
+        ids[slot] = id;
+        referenced.set(slot, 0); // 새로 들어온 id 는 한번 더 조회돼야 다음 바퀴를 버틴다.
+        slots.put(id, slot);
+    }
+}
@@ -0,0 +1,170 @@
+package hello.itemservice.domain.item;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.Cleaner;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * 메모리 계층에서 내보낸 상품을 보관하는 memory-mapped 파일
+ * <p>
+ * 레코드를 뒤에 이어 쓰기만 하고 위치(long)를 돌려준다. 파일은 64MB 세그먼트 단위로 매핑하며 레코드는 세그먼트를 넘지 않는다.
+ * 읽기는 매핑된 버퍼의 절대 위치에서 한다. 위치가 바뀌지 않도록 샤드의 쓰기 잠금 안에서 읽는다. (clear, 압축)
+ * <p>
+ * 레코드: id(8) flags(1) price(4) quantity(4) 상품명 길이(4, null 이면 -1) 상품명(UTF-8)
+ * 수정된 상품의 이전 레코드는 {@link #release} 로 버린 바이트에 더해 두고, 많아지면 ItemRepository 가 새 파일로 압축한다.
+ * 파일은 닫거나 저장소가 GC 되면 지워진다.
+ */
+final class ItemColdStore implements Closeable {
+
+    private static final Cleaner CLEANER = Cleaner.create();
+    private static final int SEGMENT_BITS = 26;
+    private static final int SEGMENT_SIZE = 1 << SEGMENT_BITS;
+    private static final int HEADER_BYTES = 21;
+    private static final byte HAS_PRICE = 1;
+    private static final byte HAS_QUANTITY = 2;
+
+    private final FileChannel channel;
+    private final Cleaner.Cleanable cleanable;
+    private volatile MappedByteBuffer[] segments = new MappedByteBuffer[0];
+    private long writePosition; // this
+    private long garbageBytes; // this
+
+    private ItemColdStore(FileChannel channel) {
+        this.channel = channel;
+        this.cleanable = CLEANER.register(this, new Closer(channel));
+    }
+
+    static ItemColdStore create(Path directory) {
+        try {
+            Files.createDirectories(directory);
+            Path file = Files.createTempFile(directory, "items-", ".cold");
+            return new ItemColdStore(FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                    StandardOpenOption.DELETE_ON_CLOSE));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    synchronized long write(Item item) {
+        byte[] name = item.getItemName() == null ? null : item.getItemName().getBytes(StandardCharsets.UTF_8);
+        int length = HEADER_BYTES + (name == null ? 0 : name.length);
+        int offset = (int) (writePosition & (SEGMENT_SIZE - 1));
+        if (offset + length > SEGMENT_SIZE) {
+            writePosition += SEGMENT_SIZE - offset;
+            offset = 0;
+        }
+        MappedByteBuffer segment = segment((int) (writePosition >>> SEGMENT_BITS));
+
+        byte flags = (byte) ((item.getPrice() != null ? HAS_PRICE : 0) | (item.getQuantity() != null ? HAS_QUANTITY : 0));
+        segment.putLong(offset, item.getId());
+        segment.put(offset + 8, flags);
+        segment.putInt(offset + 9, item.getPrice() != null ? item.getPrice() : 0);
+        segment.putInt(offset + 13, item.getQuantity() != null ? item.getQuantity() : 0);
+        segment.putInt(offset + 17, name == null ? -1 : name.length);
+        if (name != null) {
+            for (int i = 0; i < name.length; i++) {
+                segment.put(offset + HEADER_BYTES + i, name[i]);
+            }
+        }
+
+        long position = writePosition;
+        writePosition += length;
+        return position;
+    }
+
+    Item read(long position) {
+        MappedByteBuffer segment = segments[(int) (position >>> SEGMENT_BITS)];
+        int offset = (int) (position & (SEGMENT_SIZE - 1));
+
+        byte flags = segment.get(offset + 8);
+        int nameLength = segment.getInt(offset + 17);
+        String itemName = null;
+        if (nameLength >= 0) {
+            byte[] name = new byte[nameLength];
+            for (int i = 0; i < nameLength; i++) {
+                name[i] = segment.get(offset + HEADER_BYTES + i);
+            }
+            itemName = new String(name, StandardCharsets.UTF_8);
+        }
+        Item item = new Item(itemName,
+                (flags & HAS_PRICE) != 0 ? segment.getInt(offset + 9) : null,
+                (flags & HAS_QUANTITY) != 0 ? segment.getInt(offset + 13) : null);
+        item.setId(segment.getLong(offset));
+        return item;
+    }
+
+    /**
+     * 더 이상 쓰지 않는 레코드 - 크기만 세어둔다.
+     */
+    synchronized void release(long position) {
+        MappedByteBuffer segment = segments[(int) (position >>> SEGMENT_BITS)];
+        int nameLength = segment.getInt((int) (position & (SEGMENT_SIZE - 1)) + 17);
+        garbageBytes += HEADER_BYTES + Math.max(0, nameLength);
+    }
+
+    /**
+     * 지금까지 쓴 바이트 (세그먼트 끝에서 건너뛴 자리 포함)
+     */
+    synchronized long size() {
+        return writePosition;
+    }
+
+    synchronized long garbageBytes() {
+        return garbageBytes;
+    }
+
+    /**
+     * 처음부터 다시 쓴다. 샤드의 위치 map 을 모두 비운 뒤에 호출해야 한다.
+     */
+    synchronized void clear() {
+        writePosition = 0;
+        garbageBytes = 0;
+    }
+
+    @Override
+    public void close() {
+        cleanable.clean();
+    }
+
+    private MappedByteBuffer segment(int index) {
+        MappedByteBuffer[] current = segments;
+        if (index < current.length) {
+            return current[index];
+        }
+        try {
+            MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_WRITE, (long) index << SEGMENT_BITS, SEGMENT_SIZE);
+            MappedByteBuffer[] grown = Arrays.copyOf(current, index + 1);
+            grown[index] = segment;
+            segments = grown;
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static final class Closer implements Runnable {
+
+        private final FileChannel channel;
+
+        private Closer(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        public void run() {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // 임시 파일 - 지우지 못해도 다음 기동에 영향이 없다.
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package hello.itemservice.domain.item;
+
+import lombok.Value;
+
+/**
+ * 가격/수량 범위 조건 - null 이면 조건 없음. 조건이 있는 필드가 null 인 상품은 제외한다.
+ */
+@Value
+public class ItemFilter {
+
+    public static final ItemFilter NONE = new ItemFilter(null, null, null);
+
+    Integer minPrice;
+    Integer maxPrice;
+    Integer maxQuantity;
+
+    public boolean matches(Item item) {
+        Integer price = item.getPrice();
+        if ((minPrice != null || maxPrice != null) && price == null) {
+            return false;
+        }
+        if (minPrice != null && price < minPrice || maxPrice != null && price > maxPrice) {
+            return false;
+        }
+        Integer quantity = item.getQuantity();
+        return maxQuantity == null || quantity != null && quantity <= maxQuantity;
+    }
+}
@@ -0,0 +1,242 @@
+package hello.itemservice.domain.item;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 상품명 역색인 (n-gram)
+ * <p>
+ * 상품명을 소문자로 바꾸고 공백을 없앤 뒤 글자 단위 1-gram, 2-gram 으로 색인한다.
+ * 한글은 형태소 분석 없이도 부분 문자열 검색이 되도록 음절 단위로 자른다.
+ * <p>
+ * 검색은 가장 드문 토큰의 postings 만 후보로 보고, 후보의 실제 이름에 검색어가 들어있는지 확인한다.
+ * 이름이 바뀌면 새 이름에 없는 이전 토큰의 postings 에서 id 를 뺀다. (수정이 많아도 postings 가 불어나지 않도록)
+ */
+public class ItemNameIndex {
+
+    private static final int CHECK_BUDGET_EVERY = 1024;
+
+    private final Map<String, Postings> postings = new ConcurrentHashMap<>();
+    private final Map<Long, String> names = new ConcurrentHashMap<>(); // id -> 정규화된 이름
+    private final ItemNamePool namePool;
+
+    public ItemNameIndex() {
+        this(ItemNamePool.disabled());
+    }
+
+    /**
+     * @param namePool 정규화된 이름도 풀의 인스턴스로 보관 (이미 정규화된 이름이면 상품명과 같은 인스턴스)
+     */
+    public ItemNameIndex(ItemNamePool namePool) {
+        this.namePool = namePool;
+    }
+
+    void add(Long itemId, String itemName) {
+        String normalized = namePool.intern(normalize(itemName));
+        names.put(itemId, normalized);
+        for (String token : tokens(normalized)) {
+            postings.computeIfAbsent(token, t -> new Postings()).add(itemId);
+        }
+    }
+
+    void update(Long itemId, String oldName, String newName) {
+        String normalized = namePool.intern(normalize(newName));
+        Set<String> oldTokens = tokens(normalize(oldName));
+        Set<String> newTokens = tokens(normalized);
+        names.put(itemId, normalized);
+        for (String token : newTokens) {
+            if (!oldTokens.contains(token)) {
+                postings.computeIfAbsent(token, t -> new Postings()).add(itemId);
+            }
+        }
+        for (String token : oldTokens) {
+            if (!newTokens.contains(token)) {
+                Postings stale = postings.get(token);
+                if (stale != null) {
+                    stale.remove(itemId);
+                }
+            }
+        }
+    }
+
+    void clear() {
+        postings.clear();
+        names.clear();
+    }
+
+    /**
+     * 토큰의 postings 에 들어있는 id 수
+     */
+    int postingCount(String token) {
+        Postings current = postings.get(token);
+        return current == null ? 0 : current.size();
+    }
+
+    /**
+     * 관련도 순 상위 limit 개의 id
+     * <p>
+     * 관련도: 이름이 같음 > 검색어로 시작 > 검색어를 포함, 같으면 이름이 짧은 순, id 순.
+     * budgetNanos 를 넘기면 그때까지 찾은 결과만 반환한다.
+     */
+    public List<Long> search(String query, int limit, long budgetNanos) {
+        long deadline = System.nanoTime() + budgetNanos;
+        String normalized = normalize(query);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Postings candidates = rarest(normalized);
+        if (candidates == null) {
+            return List.of();
+        }
+
+        PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, Hit.WORST_FIRST);
+        Set<Long> seen = new HashSet<>();
+        int size = candidates.size(); // 크기를 먼저 읽어야 배열 범위를 벗어나지 않는다.
+        long[] ids = candidates.ids();
+        for (int i = 0; i < size; i++) {
+            if (i % CHECK_BUDGET_EVERY == CHECK_BUDGET_EVERY - 1 && System.nanoTime() - deadline > 0) {
+                break;
+            }
+
+            long itemId = ids[i];
+            String name = names.get(itemId);
+            if (name == null || !name.contains(normalized) || !seen.add(itemId)) {
+                continue;
+            }
+
+            int score = name.equals(normalized) ? 3 : name.startsWith(normalized) ? 2 : 1;
+            top.add(new Hit(itemId, score, name.length()));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>(top);
+        hits.sort(Hit.WORST_FIRST.reversed());
+        List<Long> result = new ArrayList<>(hits.size());
+        for (Hit hit : hits) {
+            result.add(hit.itemId);
+        }
+        return result;
+    }
+
+    private Postings rarest(String normalized) {
+        Postings rarest = null;
+        for (String token : queryTokens(normalized)) {
+            Postings current = postings.get(token);
+            if (current == null) {
+                return null; // 없는 토큰이 하나라도 있으면 결과가 없다.
+            }
+            if (rarest == null || current.size() < rarest.size()) {
+                rarest = current;
+            }
+        }
+        return rarest;
+    }
+
+    static String normalize(String name) {
+        if (name == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(name.length());
+        name.toLowerCase(Locale.ROOT).codePoints()
+                .filter(codePoint -> !Character.isWhitespace(codePoint))
+                .forEach(normalized::appendCodePoint);
+        return normalized.toString();
+    }
+
+    /**
+     * 색인 토큰 - 모든 1-gram 과 2-gram
+     */
+    private static Set<String> tokens(String normalized) {
+        int[] codePoints = normalized.codePoints().toArray();
+        Set<String> tokens = new HashSet<>(codePoints.length * 2);
+        for (int i = 0; i < codePoints.length; i++) {
+            tokens.add(new String(codePoints, i, 1));
+            if (i + 1 < codePoints.length) {
+                tokens.add(new String(codePoints, i, 2));
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * 검색 토큰 - 한 글자면 1-gram, 그 이상이면 2-gram
+     */
+    private static List<String> queryTokens(String normalized) {
+        int[] codePoints = normalized.codePoints().toArray();
+        if (codePoints.length == 1) {
+            return List.of(normalized);
+        }
+        List<String> tokens = new ArrayList<>(codePoints.length - 1);
+        for (int i = 0; i + 1 < codePoints.length; i++) {
+            tokens.add(new String(codePoints, i, 2));
+        }
+        return tokens;
+    }
+
+    /**
+     * id 배열. 읽기는 잠금을 잡고 (배열, 크기) 를 가져간 뒤 잠금 밖에서 읽는다.
+     * 추가는 크기 뒤에만 쓰고, 삭제는 새 배열을 만든다. (읽는 중인 배열의 앞부분은 바뀌지 않는다)
+     */
+    private static final class Postings {
+
+        private long[] ids = new long[4];
+        private int size;
+
+        synchronized void add(long itemId) {
+            if (size == ids.length) {
+                long[] grown = new long[size * 2];
+                System.arraycopy(ids, 0, grown, 0, size);
+                ids = grown;
+            }
+            ids[size++] = itemId;
+        }
+
+        synchronized void remove(long itemId) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == itemId) {
+                    long[] copy = new long[ids.length];
+                    System.arraycopy(ids, 0, copy, 0, i);
+                    System.arraycopy(ids, i + 1, copy, i, size - i - 1);
+                    ids = copy;
+                    size--;
+                    return;
+                }
+            }
+        }
+
+        synchronized long[] ids() {
+            return ids;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+    }
+
+    private static final class Hit {
+
+        static final Comparator<Hit> WORST_FIRST = Comparator.<Hit>comparingInt(hit -> hit.score)
+                .thenComparing(Comparator.<Hit>comparingInt(hit -> hit.length).reversed())
+                .thenComparing(Comparator.<Hit>comparingLong(hit -> hit.itemId).reversed());
+
+        private final long itemId;
+        private final int score;
+        private final int length;
+
+        private Hit(long itemId, int score, int length) {
+            this.itemId = itemId;
+            this.score = score;
+            this.length = length;
+        }
+    }
+}
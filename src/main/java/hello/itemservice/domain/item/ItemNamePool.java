@@ -0,0 +1,141 @@
+package hello.itemservice.domain.item;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 상품명 intern 풀 - 같은 이름은 String 인스턴스 하나를 같이 쓴다.
+ * <p>
+ * 폼 바인딩마다 새 String 이 만들어지지만 저장할 때 풀의 인스턴스로 바꾸므로 요청에서 만든 것은 바로 버려진다.
+ * 풀은 약한 참조로만 들고 있어서 어떤 상품도 쓰지 않는 이름은 GC 가 회수하고, 다음 intern 때 항목을 지운다.
+ * String.intern 과 달리 JVM 의 문자열 테이블을 쓰지 않는다.
+ * <p>
+ * 바이트 배열로 따로 저장하지 않는 이유: JDK 9+ 의 compact strings 가 Latin-1 이름을 이미 글자당 1바이트로 저장한다.
+ */
+public class ItemNamePool {
+
+    private static final ItemNamePool SHARED = new ItemNamePool();
+
+    private final Map<Object, WeakName> names = new ConcurrentHashMap<>();
+    private final ReferenceQueue<String> cleared = new ReferenceQueue<>();
+    private final boolean enabled;
+
+    public ItemNamePool() {
+        this(true);
+    }
+
+    private ItemNamePool(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * 모든 저장소(테넌트)가 같이 쓰는 풀
+     */
+    public static ItemNamePool shared() {
+        return SHARED;
+    }
+
+    /**
+     * 받은 그대로 반환 (비교용)
+     */
+    public static ItemNamePool disabled() {
+        return new ItemNamePool(false);
+    }
+
+    public String intern(String name) {
+        if (name == null || !enabled) {
+            return name;
+        }
+        expunge();
+
+        WeakName existing = names.get(new Lookup(name));
+        if (existing != null) {
+            String pooled = existing.get();
+            if (pooled != null) {
+                return pooled;
+            }
+        }
+
+        WeakName added = new WeakName(name, cleared);
+        while (true) {
+            WeakName previous = names.putIfAbsent(added, added);
+            if (previous == null) {
+                return name;
+            }
+            String pooled = previous.get();
+            if (pooled != null) {
+                return pooled;
+            }
+            names.remove(previous, previous); // 회수됐지만 아직 큐에서 못 지운 항목
+        }
+    }
+
+    public int size() {
+        expunge();
+        return names.size();
+    }
+
+    private void expunge() {
+        Object reference;
+        while ((reference = cleared.poll()) != null) {
+            names.remove(reference, reference);
+        }
+    }
+
+    /**
+     * 풀의 항목 - 회수된 뒤에는 자기 자신과만 같다. (큐에서 꺼내 지울 때)
+     */
+    private static final class WeakName extends WeakReference<String> {
+
+        private final int hash;
+
+        WeakName(String name, ReferenceQueue<String> queue) {
+            super(name, queue);
+            this.hash = name.hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o == this) {
+                return true;
+            }
+            String name = get();
+            if (name == null) {
+                return false;
+            }
+            if (o instanceof Lookup) {
+                return name.equals(((Lookup) o).name);
+            }
+            return o instanceof WeakName && name.equals(((WeakName) o).get());
+        }
+    }
+
+    /**
+     * 조회용 키 - 참조를 만들지 않는다.
+     */
+    private static final class Lookup {
+
+        private final String name;
+
+        Lookup(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public int hashCode() {
+            return name.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof WeakName && o.equals(this);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package hello.itemservice.domain.item;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 저장소 한도 - 상품 수와 추정 메모리 사용량(바이트), 0 이하이면 제한 없음
+ * <p>
+ * 저장 전에 자리를 먼저 더하고 한도를 넘으면 되돌린다. 잠금이 없어서 샤드끼리 막지 않으며,
+ * 한도 근처에서 동시에 저장하면 실제로는 들어갈 수 있던 요청이 거절될 수는 있지만 한도를 넘지는 않는다.
+ */
+public class ItemQuota {
+
+    // 상품 하나의 고정 비용 - Item, Long/Integer 박싱, 샤드/버전 map 노드, 색인 map 노드 (64bit, compressed oops 기준 추정)
+    static final long ITEM_OVERHEAD_BYTES = 240;
+    // 상품명 글자당 - 원본과 정규화된 이름(UTF-16), 1-gram/2-gram postings
+    static final long BYTES_PER_NAME_CHAR = 20;
+
+    private final long maxItems;
+    private final long maxBytes;
+    private final AtomicLong items = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+
+    public ItemQuota(long maxItems, long maxBytes) {
+        this.maxItems = maxItems;
+        this.maxBytes = maxBytes;
+    }
+
+    public static ItemQuota unlimited() {
+        return new ItemQuota(0, 0);
+    }
+
+    public static long estimateBytes(Item item) {
+        return ITEM_OVERHEAD_BYTES + nameBytes(item.getItemName());
+    }
+
+    static long nameBytes(String itemName) {
+        return itemName == null ? 0 : itemName.length() * BYTES_PER_NAME_CHAR;
+    }
+
+    /**
+     * @throws ItemQuotaExceededException 한도를 넘으면 (아무것도 더하지 않는다)
+     */
+    void reserve(int count, long size) {
+        long itemsAfter = items.addAndGet(count);
+        if (maxItems > 0 && itemsAfter > maxItems) {
+            items.addAndGet(-count);
+            throw new ItemQuotaExceededException("상품 수 한도를 넘었습니다. max=" + maxItems);
+        }
+        long bytesAfter = bytes.addAndGet(size);
+        if (maxBytes > 0 && bytesAfter > maxBytes) {
+            bytes.addAndGet(-size);
+            items.addAndGet(-count);
+            throw new ItemQuotaExceededException("저장 용량 한도를 넘었습니다. maxBytes=" + maxBytes);
+        }
+    }
+
+    /**
+     * reserve 한 자리를 저장하지 못했을 때 돌려준다.
+     */
+    void release(int count, long size) {
+        bytes.addAndGet(-size);
+        items.addAndGet(-count);
+    }
+
+    /**
+     * 수정으로 상품명 길이가 바뀐 만큼 (수정은 거절하지 않는다)
+     */
+    void adjust(long sizeDelta) {
+        bytes.addAndGet(sizeDelta);
+    }
+
+    void reset() {
+        items.set(0);
+        bytes.set(0);
+    }
+
+    public long itemCount() {
+        return items.get();
+    }
+
+    public long estimatedBytes() {
+        return bytes.get();
+    }
+}
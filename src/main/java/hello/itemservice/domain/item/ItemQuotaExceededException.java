@@ -0,0 +1,15 @@
+package hello.itemservice.domain.item;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * 저장소(테넌트) 한도 초과 - 507 Insufficient Storage
+ */
+@ResponseStatus(HttpStatus.INSUFFICIENT_STORAGE)
+public class ItemQuotaExceededException extends RuntimeException {
+
+    public ItemQuotaExceededException(String message) {
+        super(message);
+    }
+}
@@ -1,41 +1,533 @@
 package hello.itemservice.domain.item;
 
+import hello.itemservice.tenant.TenantScope;
+import hello.itemservice.tenant.TenantSnapshotSupport;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Scope;
+import org.springframework.context.annotation.ScopedProxyMode;
 import org.springframework.stereotype.Repository;
+import org.springframework.util.unit.DataSize;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * 상품 저장소 - id 기준으로 여러 샤드에 나눠 보관한다.
+ * <p>
+ * 샤드마다 map, id 발급, 쓰기 잠금을 따로 가지므로 쓰기끼리 서로 막지 않는다.
+ * 전체 조회는 샤드별로 정렬된 결과를 id 순으로 합친다. (k-way merge)
+ * <p>
+ * 테넌트(스토어)마다 따로 만들어진다. 주입받는 것은 현재 테넌트의 저장소로 보내는 프록시이고,
+ * id 발급, 변경 스트림, 한도(ItemQuota)도 테넌트마다 따로다.
+ * <p>
+ * 상품명은 저장/수정할 때 ItemNamePool 의 인스턴스로 바꿔서 같은 이름을 하나만 보관한다. (테넌트끼리도 공유)
+ * <p>
+ * item.repository.tier.hot-max-items 를 주면 그만큼만 메모리에 두고 나머지는 파일로 내린다. (ItemTier)
+ */
 @Repository
-public class ItemRepository {
+@Scope(value = TenantScope.NAME, proxyMode = ScopedProxyMode.TARGET_CLASS)
+public class ItemRepository implements TenantSnapshotSupport {
 
-    private static final Map<Long, Item> store = new HashMap<>(); //static
-    private static long sequence = 0L; //static
+    private static final int CHANGE_FEED_CAPACITY = 8192;
+    private static final int SNAPSHOT_MAGIC_V1 = 0x49544d31; // "ITM1" - 버전 없음
+    private static final int SNAPSHOT_MAGIC = 0x49544d32; // "ITM2"
 
+    private final ItemShard[] shards;
+    private final ItemChangeFeed changeFeed = new ItemChangeFeed(CHANGE_FEED_CAPACITY);
+    private final ItemNameIndex nameIndex;
+    private final ItemStatistics statistics = new ItemStatistics();
+    private final ItemQuota quota;
+    private final ItemNamePool namePool;
+    private final ItemTier tier;
+
+    public ItemRepository() {
+        this(0);
+    }
+
+    public ItemRepository(int shardCount) {
+        this(shardCount, ItemQuota.unlimited());
+    }
+
+    /**
+     * @param maxItems 테넌트별 상품 수 한도 (0 이면 제한 없음)
+     * @param maxBytes 테넌트별 추정 메모리 한도 (0 이면 제한 없음)
+     * @param internNames false 이면 상품명을 받은 그대로 보관
+     * @param hotMaxItems 테넌트별 메모리에 둘 상품 수 (0 이면 전부 메모리)
+     */
+    @Autowired
+    public ItemRepository(@Value("${item.repository.shards:0}") int shardCount,
+                          @Value("${item.repository.quota.max-items:0}") long maxItems,
+                          @Value("${item.repository.quota.max-bytes:0}") DataSize maxBytes,
+                          @Value("${item.repository.intern-names:true}") boolean internNames,
+                          @Value("${item.repository.tier.hot-max-items:0}") int hotMaxItems,
+                          @Value("${item.repository.tier.directory:${java.io.tmpdir}/itemservice-cold}") String tierDirectory) {
+        this(shardCount, new ItemQuota(maxItems, maxBytes.toBytes()),
+                internNames ? ItemNamePool.shared() : ItemNamePool.disabled(),
+                new ItemTier(hotMaxItems, Paths.get(tierDirectory)));
+    }
+
+    public ItemRepository(int shardCount, ItemQuota quota) {
+        this(shardCount, quota, ItemNamePool.shared());
+    }
+
+    /**
+     * @param shardCount 0 이하이면 CPU 코어 수
+     */
+    public ItemRepository(int shardCount, ItemQuota quota, ItemNamePool namePool) {
+        this(shardCount, quota, namePool, ItemTier.disabled());
+    }
+
+    public ItemRepository(int shardCount, ItemQuota quota, ItemNamePool namePool, ItemTier tier) {
+        this.quota = quota;
+        this.namePool = namePool;
+        this.tier = tier;
+        this.nameIndex = new ItemNameIndex(namePool);
+        int count = shardCount > 0 ? shardCount : Runtime.getRuntime().availableProcessors();
+        this.shards = new ItemShard[count];
+        for (int i = 0; i < count; i++) {
+            shards[i] = new ItemShard(i, count, tier, namePool);
+        }
+    }
+
+    /**
+     * 저장하지 못하면(계층 모드의 파일 쓰기 실패) 한도 예약을 돌려주고 예외를 그대로 던진다.
+     *
+     * @throws ItemQuotaExceededException 테넌트 한도를 넘으면
+     */
     public Item save(Item item) {
-        item.setId(++sequence);
-        store.put(item.getId(), item);
+        item.setItemName(namePool.intern(item.getItemName()));
+        long size = ItemQuota.estimateBytes(item);
+        quota.reserve(1, size);
+        ItemShard shard = writeShard();
+        ReentrantLock lock = shard.writeLock();
+        lock.lock();
+        try {
+            store(shard, item);
+        } catch (RuntimeException | Error e) {
+            quota.release(1, size);
+            throw e;
+        } finally {
+            lock.unlock();
+        }
         return item;
     }
 
+    /**
+     * 대량 저장 - 한 샤드의 잠금을 한번만 잡고 순서대로 저장한다.
+     * <p>
+     * 중간에 실패하면 앞의 상품(id 가 있는 것)은 저장된 채로 두고 나머지의 한도 예약만 돌려준다.
+     */
+    public List<Item> saveAll(List<Item> items) {
+        long size = 0;
+        for (Item item : items) {
+            item.setItemName(namePool.intern(item.getItemName()));
+            size += ItemQuota.estimateBytes(item);
+        }
+        quota.reserve(items.size(), size);
+        ItemShard shard = writeShard();
+        ReentrantLock lock = shard.writeLock();
+        int stored = 0;
+        long storedSize = 0;
+        lock.lock();
+        try {
+            for (Item item : items) {
+                store(shard, item);
+                stored++;
+                storedSize += ItemQuota.estimateBytes(item);
+            }
+        } catch (RuntimeException | Error e) {
+            quota.release(items.size() - stored, size - storedSize);
+            throw e;
+        } finally {
+            lock.unlock();
+        }
+        return items;
+    }
+
+    /**
+     * 샤드 잠금 안에서 호출 - 샤드에 넣지 못하면 id 를 지우고 예외를 던진다. (색인, 통계, 이벤트는 그대로)
+     */
+    private void store(ItemShard shard, Item item) {
+        item.setId(shard.allocateId());
+        try {
+            shard.put(item);
+        } catch (RuntimeException | Error e) {
+            item.setId(null);
+            throw e;
+        }
+        nameIndex.add(item.getId(), item.getItemName());
+        statistics.added(item);
+        publish(shard, ItemChangeEvent.Type.SAVED, item);
+    }
+
     public Item findById(Long id) {
-        return store.get(id);
+        return shardOf(id).get(id);
+    }
+
+    /**
+     * 마지막 변경 정보 (HTTP 캐시 검증용), 없는 상품이면 null
+     * <p>
+     * 상품보다 먼저 읽어야 한다. 그래야 사이에 수정이 있어도 오래된 내용에 새 버전이 붙지 않는다.
+     */
+    public ItemVersion findVersion(Long id) {
+        return shardOf(id).version(id);
     }
 
     public List<Item> findAll() {
-        return new ArrayList<>(store.values());
+        return findPage(0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * afterId 보다 큰 id 를 오름차순으로 최대 limit 개
+     */
+    public List<Item> findPage(long afterId, int limit) {
+        Iterator<Item> iterator = new MergedIterator(shards, afterId);
+        List<Item> result = new ArrayList<>(Math.min(limit, 1024));
+        while (iterator.hasNext() && result.size() < limit) {
+            result.add(iterator.next());
+        }
+        return result;
+    }
+
+    /**
+     * 전체 상품을 id 오름차순으로 하나씩 - 목록을 만들지 않는다. (읽는 도중의 변경은 보일 수도, 안 보일 수도 있다)
+     */
+    public Iterator<Item> iterator() {
+        return new MergedIterator(shards, 0);
+    }
+
+    /**
+     * 상품명 부분 검색 - 관련도 순 상위 limit 개, budget 을 넘기면 그때까지 찾은 결과만
+     */
+    public List<Item> searchByName(String query, int limit, Duration budget) {
+        List<Long> itemIds = nameIndex.search(query, limit, budget.toNanos());
+        List<Item> result = new ArrayList<>(itemIds.size());
+        for (Long itemId : itemIds) {
+            Item item = findById(itemId);
+            if (item != null) {
+                result.add(item);
+            }
+        }
+        return result;
     }
 
     public void update(Long itemId, Item updateParam) {
-        Item findItem = findById(itemId);
-        findItem.setItemName(updateParam.getItemName());
-        findItem.setPrice(updateParam.getPrice());
-        findItem.setQuantity(updateParam.getQuantity());
+        String itemName = namePool.intern(updateParam.getItemName());
+        ItemShard shard = shardOf(itemId);
+        ReentrantLock lock = shard.writeLock();
+        lock.lock();
+        try {
+            Item findItem = shard.get(itemId);
+            nameIndex.update(itemId, findItem.getItemName(), itemName);
+            quota.adjust(ItemQuota.nameBytes(itemName) - ItemQuota.nameBytes(findItem.getItemName()));
+            statistics.updated(findItem, updateParam);
+            findItem.setItemName(itemName);
+            findItem.setPrice(updateParam.getPrice());
+            findItem.setQuantity(updateParam.getQuantity());
+            shard.modified(itemId);
+            publish(shard, ItemChangeEvent.Type.UPDATED, findItem);
+        } finally {
+            lock.unlock();
+        }
+        if (tier.needsCompaction()) {
+            compactColdStore();
+        }
+    }
+
+    /**
+     * 모든 샤드를 잠그고 파일 계층의 살아있는 레코드만 새 파일로 옮긴다.
+     */
+    private void compactColdStore() {
+        for (ItemShard shard : shards) {
+            shard.writeLock().lock();
+        }
+        try {
+            if (tier.needsCompaction()) { // 다른 요청이 먼저 했을 수 있다.
+                tier.compact((from, to) -> {
+                    for (ItemShard shard : shards) {
+                        shard.moveColdRecords(from, to);
+                    }
+                });
+            }
+        } finally {
+            for (ItemShard shard : shards) {
+                shard.writeLock().unlock();
+            }
+        }
     }
 
     public void clearStore() {
-        store.clear();
+        for (ItemShard shard : shards) {
+            shard.writeLock().lock();
+        }
+        try {
+            clearShards();
+            changeFeed.publish(ItemChangeEvent.Type.CLEARED, null);
+        } finally {
+            for (ItemShard shard : shards) {
+                shard.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * 모든 샤드 잠금 안에서 호출 - 상품, 파일 계층, 색인, 통계, 한도 사용량을 비운다.
+     */
+    private void clearShards() {
+        for (ItemShard shard : shards) {
+            shard.clear();
+        }
+        tier.clear();
+        nameIndex.clear();
+        statistics.reset();
+        quota.reset();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return statistics.snapshot().getCount() == 0;
+    }
+
+    /**
+     * 모든 샤드를 잠그고 마지막 sequence 와 상품을 id 순으로 쓴다. (id, 상품명, 가격, 수량, 버전 sequence, 수정 시각)
+     */
+    @Override
+    public void writeSnapshot(DataOutputStream out) throws IOException {
+        for (ItemShard shard : shards) {
+            shard.writeLock().lock();
+        }
+        try {
+            List<Item> items = findAll();
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeLong(changeFeed.lastSequence());
+            out.writeInt(items.size());
+            for (Item item : items) {
+                out.writeLong(item.getId());
+                writeNullable(out, item.getItemName());
+                writeNullable(out, item.getPrice());
+                writeNullable(out, item.getQuantity());
+                ItemVersion version = shardOf(item.getId()).version(item.getId());
+                out.writeLong(version == null ? 0 : version.getSequence());
+                out.writeLong(version == null ? 0 : version.getLastModified());
+            }
+        } finally {
+            for (ItemShard shard : shards) {
+                shard.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * 비어있는 저장소에 같은 id 로 복원한다. 이후 발급하는 id 는 복원한 id 보다 크다. (샤드 수가 달라도 된다)
+     * <p>
+     * 상품 버전도 그대로 복원하고 변경 스트림은 저장할 때의 sequence 다음부터 이어간다.
+     * 그래서 복원 전후에 같은 sequence(ETag) 가 다른 내용을 가리키지 않는다.
+     * 버전이 없는 이전 형식(ITM1)은 이전 기동의 파일뿐이고 ETag 의 기동 id 가 다르므로 새 버전을 발급한다.
+     * <p>
+     * 넣는 도중 실패하면(계층 모드의 파일 쓰기 실패) 넣은 것을 모두 비우고 한도 예약도 돌려준다. (처음의 빈 저장소로)
+     */
+    @Override
+    public void readSnapshot(DataInputStream in) throws IOException {
+        int magic = in.readInt();
+        if (magic != SNAPSHOT_MAGIC && magic != SNAPSHOT_MAGIC_V1) {
+            throw new IOException("상품 스냅샷 형식이 아닙니다.");
+        }
+        boolean versioned = magic == SNAPSHOT_MAGIC;
+        long lastSequence = versioned ? in.readLong() : 0;
+        int count = in.readInt();
+        List<Item> items = new ArrayList<>(count);
+        List<ItemVersion> versions = new ArrayList<>(versioned ? count : 0);
+        long size = 0;
+        long maxId = 0;
+        for (int i = 0; i < count; i++) {
+            long id = in.readLong();
+            Item item = new Item(namePool.intern(readNullableString(in)), readNullableInt(in), readNullableInt(in));
+            item.setId(id);
+            items.add(item);
+            if (versioned) {
+                versions.add(new ItemVersion(in.readLong(), in.readLong()));
+            }
+            size += ItemQuota.estimateBytes(item);
+            maxId = Math.max(maxId, item.getId());
+        }
+        quota.reserve(count, size);
+
+        for (ItemShard shard : shards) {
+            shard.writeLock().lock();
+        }
+        try {
+            changeFeed.resumeAfter(lastSequence);
+            for (int i = 0; i < items.size(); i++) {
+                Item item = items.get(i);
+                ItemShard shard = shardOf(item.getId());
+                shard.put(item);
+                nameIndex.add(item.getId(), item.getItemName());
+                statistics.added(item);
+                if (versioned && versions.get(i).getSequence() > 0) {
+                    shard.putVersion(item.getId(), versions.get(i));
+                } else {
+                    publish(shard, ItemChangeEvent.Type.SAVED, item);
+                }
+            }
+            for (ItemShard shard : shards) {
+                shard.skipIdsUpTo(maxId);
+            }
+        } catch (RuntimeException | Error e) {
+            clearShards();
+            throw e;
+        } finally {
+            for (ItemShard shard : shards) {
+                shard.writeLock().unlock();
+            }
+        }
     }
 
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static void writeNullable(DataOutputStream out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static Integer readNullableInt(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readInt() : null;
+    }
+
+    /**
+     * 샤드 잠금 안에서 호출 - 이벤트 발행과 상품 버전 갱신
+     */
+    private void publish(ItemShard shard, ItemChangeEvent.Type type, Item item) {
+        ItemChangeEvent event = changeFeed.publish(type, item);
+        shard.putVersion(item.getId(), ItemVersion.of(event));
+    }
+
+    /**
+     * 변경 이벤트 스트림 (save / update / clearStore)
+     */
+    public ItemChangeFeed changeFeed() {
+        return changeFeed;
+    }
+
+    /**
+     * 재고 통계 (O(1))
+     */
+    public ItemStatistics.Snapshot statistics() {
+        return statistics.snapshot();
+    }
+
+    /**
+     * 메모리/파일 계층 지표 (계층 모드가 아니면 전부 메모리)
+     */
+    public ItemTier.Snapshot tierStatistics() {
+        long hotItems = 0;
+        for (ItemShard shard : shards) {
+            hotItems += shard.size();
+        }
+        return tier.snapshot(hotItems, statistics.snapshot().getCount());
+    }
+
+    /**
+     * 이 저장소(테넌트)의 한도 사용량
+     */
+    public ItemQuota quota() {
+        return quota;
+    }
+
+    public int shardCount() {
+        return shards.length;
+    }
+
+    private ItemShard shardOf(Long id) {
+        return shards[(int) Math.floorMod(id, (long) shards.length)];
+    }
+
+    /**
+     * 같은 스레드는 항상 같은 샤드에 쓴다. (스레드 수가 샤드 수 이하이면 쓰기 경합이 없다)
+     */
+    private ItemShard writeShard() {
+        return shards[(int) Math.floorMod(Thread.currentThread().getId(), (long) shards.length)];
+    }
+
+    /**
+     * 샤드별 id 순 iterator 를 id 순으로 합친다.
+     */
+    private static final class MergedIterator implements Iterator<Item> {
+
+        private final PriorityQueue<PeekingIterator> heads;
+
+        private MergedIterator(ItemShard[] shards, long afterId) {
+            this.heads = new PriorityQueue<>(shards.length, Comparator.comparingLong(PeekingIterator::peekId));
+            for (ItemShard shard : shards) {
+                PeekingIterator head = new PeekingIterator(shard.iterator(afterId));
+                if (head.hasNext()) {
+                    heads.add(head);
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !heads.isEmpty();
+        }
+
+        @Override
+        public Item next() {
+            PeekingIterator head = heads.poll();
+            if (head == null) {
+                throw new NoSuchElementException();
+            }
+            Item item = head.next();
+            if (head.hasNext()) {
+                heads.add(head);
+            }
+            return item;
+        }
+    }
+
+    private static final class PeekingIterator {
+
+        private final Iterator<Item> iterator;
+        private Item next;
+
+        private PeekingIterator(Iterator<Item> iterator) {
+            this.iterator = iterator;
+            this.next = iterator.hasNext() ? iterator.next() : null;
+        }
+
+        boolean hasNext() {
+            return next != null;
+        }
+
+        long peekId() {
+            return next.getId();
+        }
+
+        Item next() {
+            Item current = next;
+            next = iterator.hasNext() ? iterator.next() : null;
+            return current;
+        }
+    }
 }
@@ -0,0 +1,268 @@
+package hello.itemservice.domain.item;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ItemRepository 의 파티션 하나
+ * <p>
+ * 샤드 index 가 i, 샤드 수가 n 이면 이 샤드는 id % n == i 인 id 만 발급하고 보관한다. (i + n, i + 2n, ...)
+ * 조회는 잠금 없이, 쓰기는 샤드별 잠금 안에서 한다.
+ * <p>
+ * 계층 모드(ItemTier)이면 store 에는 메모리 계층의 상품만 있고, 나머지는 파일 위치(coldPositions)로만 가지고 있다.
+ * 계층 사이의 이동(승격, 내보내기), 수정과 파일 읽기는 모두 쓰기 잠금 안에서 한다.
+ * 옮기는 동안에도 조회가 놓치지 않도록 새 자리에 먼저 넣고 이전 자리에서 뺀다.
+ */
+final class ItemShard {
+
+    private final ConcurrentNavigableMap<Long, Item> store = new ConcurrentSkipListMap<>();
+    private final Map<Long, ItemVersion> versions = new ConcurrentHashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final int shardCount;
+    private long nextId; // writeLock
+
+    private final ItemTier tier;
+    private final ItemNamePool namePool;
+    private final ItemClock clock; // 계층 모드가 아니면 null
+    // 파일에 있는 상품의 위치 - 메모리로 올린 뒤에도 수정 전까지는 남겨서 다시 내보낼 때 쓰지 않는다.
+    private final ConcurrentNavigableMap<Long, Long> coldPositions;
+
+    ItemShard(int index, int shardCount, ItemTier tier, ItemNamePool namePool) {
+        this.shardCount = shardCount;
+        this.nextId = index == 0 ? shardCount : index;
+        this.tier = tier;
+        this.namePool = namePool;
+        this.clock = tier.isEnabled() ? new ItemClock(tier.hotCapacity(shardCount)) : null;
+        this.coldPositions = tier.isEnabled() ? new ConcurrentSkipListMap<>() : null;
+    }
+
+    ReentrantLock writeLock() {
+        return writeLock;
+    }
+
+    /**
+     * writeLock 을 잡은 상태에서 호출
+     */
+    long allocateId() {
+        long id = nextId;
+        nextId += shardCount;
+        return id;
+    }
+
+    /**
+     * writeLock 을 잡은 상태에서 호출 - 이후 발급하는 id 가 maxId 보다 크도록 (스냅샷 복원)
+     */
+    void skipIdsUpTo(long maxId) {
+        if (nextId <= maxId) {
+            nextId += ((maxId - nextId) / shardCount + 1) * shardCount;
+        }
+    }
+
+    /**
+     * 계층 모드에서 파일에만 있는 상품은 메모리로 올린다. (잠금)
+     */
+    Item get(Long id) {
+        Item item = store.get(id);
+        if (clock == null) {
+            return item;
+        }
+        if (item != null) {
+            clock.touch(id);
+            tier.hit();
+            return item;
+        }
+        return coldPositions.containsKey(id) ? promote(id) : null;
+    }
+
+    /**
+     * writeLock 을 잡은 상태에서 호출 - 파일 계층 쓰기가 실패하면 아무것도 바꾸지 않고 예외를 던진다.
+     */
+    void put(Item item) {
+        if (clock == null) {
+            store.put(item.getId(), item);
+            return;
+        }
+        admit(item);
+    }
+
+    /**
+     * writeLock - 메모리의 상품을 고쳤으면 파일의 내용은 버린다. (내보낼 때 다시 쓴다)
+     */
+    void modified(Long id) {
+        if (coldPositions == null) {
+            return;
+        }
+        Long position = coldPositions.remove(id);
+        if (position != null) {
+            tier.coldStore().release(position);
+        }
+    }
+
+    /**
+     * writeLock - 파일 계층 압축, 이 샤드의 레코드를 새 파일로 옮긴다.
+     */
+    void moveColdRecords(ItemColdStore from, ItemColdStore to) {
+        for (Map.Entry<Long, Long> entry : coldPositions.entrySet()) {
+            coldPositions.put(entry.getKey(), to.write(from.read(entry.getValue())));
+        }
+    }
+
+    private Item promote(Long id) {
+        writeLock.lock();
+        try {
+            Item item = store.get(id);
+            if (item != null) { // 그 사이 다른 요청이 올렸다.
+                tier.hit();
+                return item;
+            }
+            Long position = coldPositions.get(id);
+            if (position == null) {
+                return null;
+            }
+            item = tier.coldStore().read(position);
+            item.setItemName(namePool.intern(item.getItemName()));
+            admit(item);
+            tier.promoted();
+            return item;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * writeLock - 메모리 계층에 넣고, 가득 찼으면 CLOCK 이 고른 상품을 파일로 내보낸다.
+     * 파일에 먼저 쓰고 나서 계층을 바꾸므로 쓰기가 실패해도 그대로다.
+     */
+    private void admit(Item item) {
+        Long id = item.getId();
+        if (store.containsKey(id)) {
+            store.put(id, item);
+            return;
+        }
+        if (!clock.isFull()) {
+            clock.add(id);
+            store.put(id, item);
+            return;
+        }
+
+        Long victim = clock.victim();
+        boolean write = !coldPositions.containsKey(victim);
+        if (write) {
+            coldPositions.put(victim, tier.coldStore().write(store.get(victim)));
+        }
+        clock.replaceVictim(id);
+        store.put(id, item);
+        store.remove(victim);
+        tier.evicted(write);
+    }
+
+    ItemVersion version(Long id) {
+        return versions.get(id);
+    }
+
+    void putVersion(Long id, ItemVersion version) {
+        versions.put(id, version);
+    }
+
+    /**
+     * writeLock - 계층 모드이면 모든 샤드를 비운 뒤 ItemTier.clear 를 호출해야 한다.
+     */
+    void clear() {
+        store.clear();
+        versions.clear();
+        if (clock != null) {
+            coldPositions.clear();
+            clock.clear();
+        }
+    }
+
+    /**
+     * 메모리에 있는 상품 수
+     */
+    int size() {
+        return store.size();
+    }
+
+    /**
+     * id 오름차순 - 계층 모드이면 파일의 상품은 올리지 않고 읽어서 합친다.
+     */
+    Iterator<Item> iterator(long afterId) {
+        if (clock == null) {
+            return store.tailMap(afterId, false).values().iterator();
+        }
+        return new TieredIterator(store.tailMap(afterId, false).entrySet().iterator(),
+                coldPositions.tailMap(afterId, false).keySet().iterator());
+    }
+
+    /**
+     * 메모리와 파일의 id 순 병합 - 양쪽에 있으면 메모리 쪽
+     * <p>
+     * 파일의 상품은 읽을 때 잠금 안에서 위치를 다시 찾는다. (그 사이 clear, 압축, 수정이 있었을 수 있다)
+     */
+    private final class TieredIterator implements Iterator<Item> {
+
+        private final Iterator<Map.Entry<Long, Item>> hot;
+        private final Iterator<Long> cold;
+        private Map.Entry<Long, Item> nextHot;
+        private Long nextCold;
+        private Item next;
+
+        private TieredIterator(Iterator<Map.Entry<Long, Item>> hot, Iterator<Long> cold) {
+            this.hot = hot;
+            this.cold = cold;
+            this.nextHot = hot.hasNext() ? hot.next() : null;
+            this.nextCold = cold.hasNext() ? cold.next() : null;
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Item next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            Item item = next;
+            advance();
+            return item;
+        }
+
+        private void advance() {
+            next = null;
+            while (next == null && (nextHot != null || nextCold != null)) {
+                long coldId = nextCold == null ? Long.MAX_VALUE : nextCold;
+                if (nextHot != null && nextHot.getKey() <= coldId) {
+                    next = nextHot.getValue();
+                    if (nextHot.getKey() == coldId) {
+                        nextCold = cold.hasNext() ? cold.next() : null;
+                    }
+                    nextHot = hot.hasNext() ? hot.next() : null;
+                } else {
+                    next = readCold(nextCold);
+                    nextCold = cold.hasNext() ? cold.next() : null;
+                }
+            }
+        }
+
+        /**
+         * 없어졌으면 null - 수정되어 메모리로 올라갔으면 메모리 쪽 (메모리 iterator 는 이미 이 id 를 지났다)
+         */
+        private Item readCold(Long id) {
+            writeLock.lock();
+            try {
+                Long position = coldPositions.get(id);
+                return position != null ? tier.coldStore().read(position) : store.get(id);
+            } finally {
+                writeLock.unlock();
+            }
+        }
+    }
+}
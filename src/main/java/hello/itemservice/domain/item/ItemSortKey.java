@@ -0,0 +1,8 @@
+package hello.itemservice.domain.item;
+
+/**
+ * 상품 정렬 기준
+ */
+public enum ItemSortKey {
+    ID, PRICE, QUANTITY, ITEM_NAME
+}
@@ -0,0 +1,369 @@
+package hello.itemservice.domain.item;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * 상품 필터 + 정렬 - Comparator 로 Item 을 비교하지 않고 정렬 키를 int/long 배열로 뽑아서 정렬한다.
+ * <p>
+ * - 가격/수량: 값의 범위가 65536 이하이면 계수 정렬 한번 (수량은 0 ~ 9999 라서 항상 여기), 넓으면 16bit 씩 2번 LSD radix
+ * - 상품명: 4글자(UTF-16)씩 long 에 담아 MSD radix - 앞 4글자로 정렬하고, 같은 구간은 다음 4글자로 다시 정렬한다.
+ *   짧은 구간(16개 이하)만 문자열로 비교한다.
+ * id 오름차순은 정렬하지 않고 읽으면서 바로 내보낸다.
+ * 모두 안정 정렬이고 입력이 id 순이므로 키가 같으면 id 순이다. (내림차순도 같은 키끼리는 id 오름차순)
+ * 정렬 키가 null 인 상품은 방향과 상관없이 맨 뒤에 id 순으로 둔다.
+ */
+public final class ItemSorter {
+
+    private static final int RADIX_BITS = 16;
+    private static final int BUCKETS = 1 << RADIX_BITS;
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+    private static final int SMALL_RADIX_BITS = 8;
+    private static final int PREFIX_CHARS = 4;
+
+    private ItemSorter() {
+    }
+
+    /**
+     * @param items id 오름차순 (ItemRepository.findAll)
+     * @param limit 0 이하이면 전부
+     */
+    public static List<Item> select(List<Item> items, ItemFilter filter, ItemSortKey sortKey, boolean descending, int limit) {
+        List<Item> result = new ArrayList<>();
+        sorted(items.iterator(), filter, sortKey, descending, limit).forEachRemaining(result::add);
+        return result;
+    }
+
+    /**
+     * 정렬된 순서로 하나씩 돌려준다. (결과 목록을 만들지 않는다)
+     * id 오름차순이면 items 를 읽으면서 바로 걸러서 내보내고, 나머지는 조건에 맞는 상품만 모아서 정렬한다.
+     *
+     * @param items id 오름차순 (ItemRepository.iterator)
+     * @param limit 0 이하이면 전부
+     */
+    public static Iterator<Item> sorted(Iterator<Item> items, ItemFilter filter, ItemSortKey sortKey, boolean descending,
+                                        int limit) {
+        int count = limit > 0 ? limit : Integer.MAX_VALUE;
+        if (sortKey == ItemSortKey.ID && !descending) {
+            return new FilteringIterator(items, filter, count);
+        }
+
+        Item[] matched = new Item[1024];
+        int size = 0;
+        List<Item> nullKeys = new ArrayList<>();
+        while (items.hasNext()) {
+            Item item = items.next();
+            if (!filter.matches(item)) {
+                continue;
+            }
+            if (sortKey != ItemSortKey.ID && key(item, sortKey) == null) {
+                nullKeys.add(item);
+                continue;
+            }
+            if (size == matched.length) {
+                matched = Arrays.copyOf(matched, size * 2);
+            }
+            matched[size++] = item;
+        }
+        int[] order = order(matched, size, sortKey, descending);
+        return new OrderedIterator(matched, order, size, nullKeys, Math.min(count, size + nullKeys.size()));
+    }
+
+    private static Object key(Item item, ItemSortKey sortKey) {
+        switch (sortKey) {
+            case PRICE:
+                return item.getPrice();
+            case QUANTITY:
+                return item.getQuantity();
+            case ITEM_NAME:
+                return item.getItemName();
+            default:
+                return item.getId();
+        }
+    }
+
+    private static int[] order(Item[] items, int size, ItemSortKey sortKey, boolean descending) {
+        switch (sortKey) {
+            case PRICE:
+            case QUANTITY: {
+                int[] keys = new int[size];
+                for (int i = 0; i < size; i++) {
+                    int value = sortKey == ItemSortKey.PRICE ? items[i].getPrice() : items[i].getQuantity();
+                    keys[i] = descending ? ~value : value; // ~x 는 int 전체 범위에서 순서를 뒤집는다.
+                }
+                return sortInts(keys);
+            }
+            case ITEM_NAME:
+                return sortNames(items, size, descending);
+            default: {
+                int[] order = identity(size);
+                if (descending) {
+                    reverse(order);
+                }
+                return order;
+            }
+        }
+    }
+
+    /**
+     * keys 를 오름차순으로 정렬하는 인덱스 순서 (안정)
+     */
+    static int[] sortInts(int[] keys) {
+        int size = keys.length;
+        if (size == 0) {
+            return new int[0];
+        }
+        int min = keys[0];
+        int max = keys[0];
+        for (int key : keys) {
+            min = Math.min(min, key);
+            max = Math.max(max, key);
+        }
+
+        int[] order = identity(size);
+        if ((long) max - min < BUCKETS) {
+            return countingPass(keys, order, min, 0, 0xFFFF); // 범위가 좁으면 한번
+        }
+        // 부호 비트를 뒤집어서 unsigned 순서 = signed 순서
+        int[] unsigned = new int[size];
+        for (int i = 0; i < size; i++) {
+            unsigned[i] = keys[i] ^ Integer.MIN_VALUE;
+        }
+        order = countingPass(unsigned, order, 0, 0, 0xFFFF);
+        return countingPass(unsigned, order, 0, RADIX_BITS, 0xFFFF);
+    }
+
+    /**
+     * ((keys[i] - base) >>> shift) & mask 로 order 를 안정 정렬한다.
+     */
+    private static int[] countingPass(int[] keys, int[] order, int base, int shift, int mask) {
+        int[] counts = new int[BUCKETS + 1];
+        for (int index : order) {
+            counts[(((keys[index] - base) >>> shift) & mask) + 1]++;
+        }
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i + 1] += counts[i];
+        }
+        int[] sorted = new int[order.length];
+        for (int index : order) {
+            sorted[counts[((keys[index] - base) >>> shift) & mask]++] = index;
+        }
+        return sorted;
+    }
+
+    private static int[] sortNames(Item[] items, int size, boolean descending) {
+        int[] order = identity(size);
+        sortNames(items, order, 0, size, 0, descending);
+        return order;
+    }
+
+    /**
+     * order[start, end) 의 상품명은 앞 offset 글자가 모두 같다. 다음 4글자로 radix 정렬하고 같은 구간은 그 다음 4글자로 (MSD)
+     * <p>
+     * 구간이 65536 개보다 작으면 8bit 씩 나눠서 셈 배열을 작게 유지한다.
+     */
+    private static void sortNames(Item[] items, int[] order, int start, int end, int offset, boolean descending) {
+        int length = end - start;
+        if (length <= INSERTION_SORT_THRESHOLD) {
+            insertionSort(items, order, start, end, descending);
+            return;
+        }
+        long[] keys = new long[length];
+        for (int i = 0; i < length; i++) {
+            long prefix = prefix(items[order[start + i]].getItemName(), offset);
+            keys[i] = descending ? ~prefix : prefix;
+        }
+        int bits = length >= BUCKETS ? RADIX_BITS : SMALL_RADIX_BITS;
+        int[] local = identity(length);
+        for (int shift = 0; shift < Long.SIZE; shift += bits) {
+            local = longCountingPass(keys, local, shift, bits);
+        }
+        int[] run = Arrays.copyOfRange(order, start, end);
+        for (int i = 0; i < length; i++) {
+            order[start + i] = run[local[i]];
+        }
+
+        // 4글자가 같은 구간
+        int from = 0;
+        while (from < length) {
+            long key = keys[local[from]];
+            int to = from + 1;
+            boolean ended = items[order[start + from]].getItemName().length() <= offset + PREFIX_CHARS;
+            while (to < length && keys[local[to]] == key) {
+                ended &= items[order[start + to]].getItemName().length() <= offset + PREFIX_CHARS;
+                to++;
+            }
+            if (to - from > 1) {
+                if (ended) {
+                    sortByLength(items, order, start + from, start + to, descending);
+                } else {
+                    sortNames(items, order, start + from, start + to, offset + PREFIX_CHARS, descending);
+                }
+            }
+            from = to;
+        }
+    }
+
+    /**
+     * offset 부터 4글자 - 짧으면 뒤를 0 으로 채운다. (char 는 unsigned 16bit 라서 long 의 unsigned 순서 = String.compareTo 순서)
+     */
+    static long prefix(String name, int offset) {
+        long prefix = 0;
+        for (int i = offset; i < offset + PREFIX_CHARS; i++) {
+            prefix = (prefix << 16) | (i < name.length() ? name.charAt(i) : 0);
+        }
+        return prefix;
+    }
+
+    /**
+     * keys 의 shift 번째 자리(bits 만큼)로 order 를 안정 정렬한다.
+     */
+    private static int[] longCountingPass(long[] keys, int[] order, int shift, int bits) {
+        int buckets = 1 << bits;
+        long mask = buckets - 1;
+        int[] counts = new int[buckets + 1];
+        for (int index : order) {
+            counts[(int) ((keys[index] >>> shift) & mask) + 1]++;
+        }
+        if (counts[(int) ((keys[order[0]] >>> shift) & mask) + 1] == order.length) {
+            return order; // 모두 같은 자리값 (짧은 이름의 뒷자리 등)
+        }
+        for (int i = 0; i < buckets; i++) {
+            counts[i + 1] += counts[i];
+        }
+        int[] sorted = new int[order.length];
+        for (int index : order) {
+            sorted[counts[(int) ((keys[index] >>> shift) & mask)]++] = index;
+        }
+        return sorted;
+    }
+
+    /**
+     * 남은 글자 없이 채운 0 까지 같은 구간 - 같은 이름이거나 끝에 '\0' 이 붙은 이름이므로 길이가 짧은 쪽이 앞이다.
+     */
+    private static void sortByLength(Item[] items, int[] order, int start, int end, boolean descending) {
+        int[] lengths = new int[end - start];
+        for (int i = start; i < end; i++) {
+            int length = items[order[i]].getItemName().length();
+            lengths[i - start] = descending ? ~length : length;
+        }
+        int[] local = sortInts(lengths);
+        int[] run = Arrays.copyOfRange(order, start, end);
+        for (int i = 0; i < local.length; i++) {
+            order[start + i] = run[local[i]];
+        }
+    }
+
+    /**
+     * order[start, end) 를 전체 상품명으로 안정 정렬 (짧은 구간)
+     */
+    private static void insertionSort(Item[] items, int[] order, int start, int end, boolean descending) {
+        for (int i = start + 1; i < end; i++) {
+            int current = order[i];
+            int j = i - 1;
+            while (j >= start && compareNames(items[order[j]], items[current], descending) > 0) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = current;
+        }
+    }
+
+    private static int compareNames(Item a, Item b, boolean descending) {
+        int compare = a.getItemName().compareTo(b.getItemName());
+        return descending ? -compare : compare;
+    }
+
+    private static int[] identity(int size) {
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        return order;
+    }
+
+    private static void reverse(int[] order) {
+        for (int i = 0, j = order.length - 1; i < j; i++, j--) {
+            int temp = order[i];
+            order[i] = order[j];
+            order[j] = temp;
+        }
+    }
+
+    /**
+     * id 오름차순 그대로 - 조건에 맞는 상품을 읽으면서 내보낸다.
+     */
+    private static final class FilteringIterator implements Iterator<Item> {
+
+        private final Iterator<Item> items;
+        private final ItemFilter filter;
+        private int remaining;
+        private Item next;
+
+        private FilteringIterator(Iterator<Item> items, ItemFilter filter, int limit) {
+            this.items = items;
+            this.filter = filter;
+            this.remaining = limit;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && remaining > 0 && items.hasNext()) {
+                Item item = items.next();
+                if (filter.matches(item)) {
+                    next = item;
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public Item next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Item item = next;
+            next = null;
+            remaining--;
+            return item;
+        }
+    }
+
+    /**
+     * 정렬 순서(order) 대로, 그 다음 정렬 키가 null 인 상품
+     */
+    private static final class OrderedIterator implements Iterator<Item> {
+
+        private final Item[] items;
+        private final int[] order;
+        private final int size;
+        private final List<Item> nullKeys;
+        private final int count;
+        private int position;
+
+        private OrderedIterator(Item[] items, int[] order, int size, List<Item> nullKeys, int count) {
+            this.items = items;
+            this.order = order;
+            this.size = size;
+            this.nullKeys = nullKeys;
+            this.count = count;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return position < count;
+        }
+
+        @Override
+        public Item next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int current = position++;
+            return current < size ? items[order[current]] : nullKeys.get(current - size);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package hello.itemservice.domain.item;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 상품 통계 - 저장/수정 때마다 변화량만 반영해서 조회는 O(1) 이다.
+ * <p>
+ * 같은 상품에 대한 변경은 샤드 잠금 안에서 순서대로 들어오므로 쓰기가 끝난 뒤의 값은 정확하다.
+ * 쓰기 도중의 조회는 필드 사이에 약간의 시차가 있을 수 있다.
+ */
+public class ItemStatistics {
+
+    // 구간 하한값 (마지막 구간은 상한 없음)
+    static final int[] PRICE_BUCKETS = {0, 1000, 5000, 10000, 50000, 100000, 500000, 1000001};
+    static final int[] QUANTITY_BUCKETS = {0, 10, 100, 1000, 10000};
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalPrice = new LongAdder();
+    private final LongAdder totalQuantity = new LongAdder();
+    private final LongAdder totalValue = new LongAdder(); // sum(price * quantity)
+    private final LongAdder[] priceHistogram = newCounters(PRICE_BUCKETS.length);
+    private final LongAdder[] quantityHistogram = newCounters(QUANTITY_BUCKETS.length);
+
+    void added(Item item) {
+        count.increment();
+        apply(item.getPrice(), item.getQuantity(), 1);
+    }
+
+    /**
+     * 값이 바뀌기 전에 호출한다.
+     */
+    void updated(Item before, Item after) {
+        apply(before.getPrice(), before.getQuantity(), -1);
+        apply(after.getPrice(), after.getQuantity(), 1);
+    }
+
+    void reset() {
+        count.reset();
+        totalPrice.reset();
+        totalQuantity.reset();
+        totalValue.reset();
+        for (LongAdder counter : priceHistogram) {
+            counter.reset();
+        }
+        for (LongAdder counter : quantityHistogram) {
+            counter.reset();
+        }
+    }
+
+    private void apply(Integer price, Integer quantity, int sign) {
+        if (price != null) {
+            totalPrice.add(sign * (long) price);
+            priceHistogram[bucket(PRICE_BUCKETS, price)].add(sign);
+        }
+        if (quantity != null) {
+            totalQuantity.add(sign * (long) quantity);
+            quantityHistogram[bucket(QUANTITY_BUCKETS, quantity)].add(sign);
+        }
+        if (price != null && quantity != null) {
+            totalValue.add(sign * ((long) price * quantity));
+        }
+    }
+
+    /**
+     * 음수는 첫 구간으로
+     */
+    private static int bucket(int[] lowerBounds, int value) {
+        for (int i = lowerBounds.length - 1; i > 0; i--) {
+            if (value >= lowerBounds[i]) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(count.sum(), totalPrice.sum(), totalQuantity.sum(), totalValue.sum(),
+                buckets(PRICE_BUCKETS, priceHistogram), buckets(QUANTITY_BUCKETS, quantityHistogram));
+    }
+
+    private static List<Bucket> buckets(int[] lowerBounds, LongAdder[] counters) {
+        List<Bucket> buckets = new ArrayList<>(lowerBounds.length);
+        for (int i = 0; i < lowerBounds.length; i++) {
+            Integer upper = i + 1 < lowerBounds.length ? lowerBounds[i + 1] : null;
+            buckets.add(new Bucket(lowerBounds[i], upper, counters[i].sum()));
+        }
+        return buckets;
+    }
+
+    private static LongAdder[] newCounters(int size) {
+        LongAdder[] counters = new LongAdder[size];
+        for (int i = 0; i < size; i++) {
+            counters[i] = new LongAdder();
+        }
+        return counters;
+    }
+
+    @Getter
+    public static class Snapshot {
+
+        private final long count;
+        private final long totalPrice;
+        private final long totalQuantity;
+        private final long totalInventoryValue;
+        private final List<Bucket> priceHistogram;
+        private final List<Bucket> quantityHistogram;
+
+        Snapshot(long count, long totalPrice, long totalQuantity, long totalInventoryValue,
+                 List<Bucket> priceHistogram, List<Bucket> quantityHistogram) {
+            this.count = count;
+            this.totalPrice = totalPrice;
+            this.totalQuantity = totalQuantity;
+            this.totalInventoryValue = totalInventoryValue;
+            this.priceHistogram = priceHistogram;
+            this.quantityHistogram = quantityHistogram;
+        }
+
+        public double getAveragePrice() {
+            return count == 0 ? 0 : (double) totalPrice / count;
+        }
+    }
+
+    /**
+     * [from, to) 구간의 상품 수, to 가 null 이면 상한 없음
+     */
+    @Getter
+    public static class Bucket {
+
+        private final int from;
+        private final Integer to;
+        private final long count;
+
+        Bucket(int from, Integer to, long count) {
+            this.from = from;
+            this.to = to;
+            this.count = count;
+        }
+    }
+}
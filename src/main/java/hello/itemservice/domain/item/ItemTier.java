@@ -0,0 +1,182 @@
+package hello.itemservice.domain.item;
+
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 저장소 계층 설정과 지표 - 메모리에는 최대 hotMaxItems 개만 두고 나머지는 memory-mapped 파일(ItemColdStore)에 둔다.
+ * <p>
+ * 메모리 계층은 샤드마다 CLOCK 으로 관리하고, 파일에만 있는 상품은 findById 때 메모리로 올린다. (승격)
+ * 내보낼 때는 파일에 없거나 수정된 상품만 쓴다. 목록 조회는 파일의 상품을 올리지 않고 읽기만 한다.
+ * id, 버전, 이름 색인은 계속 메모리에 있다.
+ * <p>
+ * 수정으로 버려진 파일 레코드가 compactMinBytes 이상이고 파일의 절반을 넘으면 살아있는 레코드만 새 파일로 옮긴다.
+ */
+public class ItemTier {
+
+    private static final long DEFAULT_COMPACT_MIN_BYTES = 64L << 20;
+
+    private final int hotMaxItems;
+    private final Path directory;
+    private final long compactMinBytes;
+    private final long createdNanos = System.nanoTime();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder promotions = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder coldWrites = new LongAdder();
+    private final LongAdder compactions = new LongAdder();
+    private volatile ItemColdStore coldStore;
+
+    /**
+     * @param hotMaxItems 메모리에 둘 상품 수 (0 이하이면 계층 없이 전부 메모리, 샤드 수보다 작으면 안 된다)
+     * @param directory   파일 계층을 만들 디렉토리
+     */
+    public ItemTier(int hotMaxItems, Path directory) {
+        this(hotMaxItems, directory, DEFAULT_COMPACT_MIN_BYTES);
+    }
+
+    ItemTier(int hotMaxItems, Path directory, long compactMinBytes) {
+        this.hotMaxItems = hotMaxItems;
+        this.directory = directory;
+        this.compactMinBytes = compactMinBytes;
+    }
+
+    public static ItemTier disabled() {
+        return new ItemTier(0, null);
+    }
+
+    public boolean isEnabled() {
+        return hotMaxItems > 0;
+    }
+
+    /**
+     * 샤드 하나의 메모리 계층 크기 (내림 - 합이 hotMaxItems 를 넘지 않는다)
+     */
+    int hotCapacity(int shardCount) {
+        if (hotMaxItems < shardCount) {
+            throw new IllegalArgumentException("item.repository.tier.hot-max-items(" + hotMaxItems
+                    + ") 는 샤드 수(" + shardCount + ") 이상이어야 합니다.");
+        }
+        return hotMaxItems / shardCount;
+    }
+
+    /**
+     * 처음 내보낼 때 파일을 만든다.
+     */
+    ItemColdStore coldStore() {
+        ItemColdStore store = coldStore;
+        if (store == null) {
+            synchronized (this) {
+                store = coldStore;
+                if (store == null) {
+                    store = ItemColdStore.create(directory);
+                    coldStore = store;
+                }
+            }
+        }
+        return store;
+    }
+
+    void hit() {
+        hits.increment();
+    }
+
+    void promoted() {
+        promotions.increment();
+    }
+
+    void evicted(boolean written) {
+        evictions.increment();
+        if (written) {
+            coldWrites.increment();
+        }
+    }
+
+    boolean needsCompaction() {
+        ItemColdStore store = coldStore;
+        if (store == null) {
+            return false;
+        }
+        long garbage = store.garbageBytes();
+        return garbage >= compactMinBytes && garbage * 2 >= store.size();
+    }
+
+    /**
+     * 모든 샤드를 잠근 상태에서 - mover 가 살아있는 레코드를 새 파일로 옮긴 뒤 이전 파일을 닫는다.
+     */
+    void compact(ColdStoreMover mover) {
+        ItemColdStore from = coldStore;
+        ItemColdStore to = ItemColdStore.create(directory);
+        try {
+            mover.move(from, to);
+        } catch (RuntimeException e) {
+            to.close();
+            throw e;
+        }
+        coldStore = to;
+        from.close();
+        compactions.increment();
+    }
+
+    interface ColdStoreMover {
+        void move(ItemColdStore from, ItemColdStore to);
+    }
+
+    /**
+     * 모든 샤드를 비운 뒤에 호출
+     */
+    void clear() {
+        ItemColdStore store = coldStore;
+        if (store != null) {
+            store.clear();
+        }
+    }
+
+    Snapshot snapshot(long hotItems, long totalItems) {
+        ItemColdStore store = coldStore;
+        return new Snapshot(isEnabled(), hotMaxItems, hotItems, totalItems - hotItems,
+                hits.sum(), promotions.sum(), evictions.sum(), coldWrites.sum(), compactions.sum(),
+                store == null ? 0 : store.size(), store == null ? 0 : store.garbageBytes(),
+                System.nanoTime() - createdNanos);
+    }
+
+    @Getter
+    public static class Snapshot {
+
+        private final boolean enabled;
+        private final int hotMaxItems;
+        private final long hotItems;
+        private final long coldItems;
+        private final long hits;
+        private final long promotions;
+        private final long evictions;
+        private final long coldWrites;
+        private final long compactions;
+        private final long coldFileBytes;
+        private final long coldGarbageBytes;  // 수정으로 버려진 레코드 (압축하면 0)
+        private final double hitRatio;        // 메모리 계층에서 찾은 비율 (findById)
+        private final double promotionsPerSecond;
+
+        Snapshot(boolean enabled, int hotMaxItems, long hotItems, long coldItems, long hits, long promotions,
+                 long evictions, long coldWrites, long compactions, long coldFileBytes, long coldGarbageBytes,
+                 long elapsedNanos) {
+            this.enabled = enabled;
+            this.hotMaxItems = hotMaxItems;
+            this.hotItems = hotItems;
+            this.coldItems = coldItems;
+            this.hits = hits;
+            this.promotions = promotions;
+            this.evictions = evictions;
+            this.coldWrites = coldWrites;
+            this.compactions = compactions;
+            this.coldFileBytes = coldFileBytes;
+            this.coldGarbageBytes = coldGarbageBytes;
+            long lookups = hits + promotions;
+            this.hitRatio = lookups == 0 ? 1.0 : (double) hits / lookups;
+            this.promotionsPerSecond = (double) promotions * TimeUnit.SECONDS.toNanos(1) / Math.max(1, elapsedNanos);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package hello.itemservice.domain.item;
+
+import lombok.Value;
+
+/**
+ * 상품의 마지막 변경 정보 - sequence 는 그 변경의 {@link ItemChangeEvent} sequence 이다.
+ * 저장소 안에서 변경마다 증가하므로 같은 sequence 면 같은 내용이다.
+ */
+@Value
+public class ItemVersion {
+
+    long sequence;
+    long lastModified; // epoch millis
+
+    static ItemVersion of(ItemChangeEvent event) {
+        return new ItemVersion(event.getSequence(), event.getTimestamp());
+    }
+}
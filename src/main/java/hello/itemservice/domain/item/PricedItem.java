@@ -0,0 +1,11 @@
+package hello.itemservice.domain.item;
+
+/**
+ * 가격과 수량을 가진 대상 - {@link TotalPriceMin} 검증 대상 (Item, 등록/수정 폼)
+ */
+public interface PricedItem {
+
+    Integer getPrice();
+
+    Integer getQuantity();
+}
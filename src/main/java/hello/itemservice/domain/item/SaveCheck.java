@@ -1,4 +1,22 @@
 package hello.itemservice.domain.item;
 
+import javax.validation.GroupSequence;
+
+/**
+ * 등록 검증 - 필수값 -> 범위 -> 복합 룰 순서로 검증하고, 앞 단계에서 실패하면 뒤 단계는 건너뛴다.
+ */
+@GroupSequence({SaveCheck.Required.class, SaveCheck.Bounds.class, SaveCheck.CrossField.class})
 public interface SaveCheck {
+
+    // null / 공백
+    interface Required {
+    }
+
+    // 값의 범위
+    interface Bounds {
+    }
+
+    // 여러 필드를 함께 보는 룰 (가격 * 수량)
+    interface CrossField {
+    }
 }
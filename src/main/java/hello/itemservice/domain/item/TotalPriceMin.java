@@ -0,0 +1,32 @@
+package hello.itemservice.domain.item;
+
+import javax.validation.Constraint;
+import javax.validation.Payload;
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 가격 * 수량의 합 검증 (클래스 레벨)
+ * <p>
+ * 필드 검증과 같은 Bean Validation 호출에서 함께 실행된다.
+ * 오류 코드는 TotalPriceMin.{객체명}, TotalPriceMin 이고 메세지 인자 {1} 이 min 이다.
+ * 현재 합계는 메세지 파라미터 {total} 로만 넘어가므로(코드 메세지의 인자로는 못 넘긴다) errors.properties 에 두지 않고
+ * Bean Validation 메세지 번들(ValidationMessages.properties)의 hello.itemservice.TotalPriceMin.message 를 쓴다.
+ */
+@Documented
+@Constraint(validatedBy = TotalPriceMinValidator.class)
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface TotalPriceMin {
+
+    long min() default 10000;
+
+    String message() default "{hello.itemservice.TotalPriceMin.message}";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
@@ -0,0 +1,42 @@
+package hello.itemservice.domain.item;
+
+import org.hibernate.validator.constraintvalidation.HibernateConstraintValidatorContext;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+
+public class TotalPriceMinValidator implements ConstraintValidator<TotalPriceMin, PricedItem> {
+
+    private long min;
+
+    @Override
+    public void initialize(TotalPriceMin constraintAnnotation) {
+        this.min = constraintAnnotation.min();
+    }
+
+    @Override
+    public boolean isValid(PricedItem value, ConstraintValidatorContext context) {
+        if (value == null) {
+            return true;
+        }
+        Integer price = value.getPrice();
+        Integer quantity = value.getQuantity();
+        // 값이 없으면 필드 검증(@NotNull)에 맡긴다.
+        if (price == null || quantity == null) {
+            return true;
+        }
+        long total = totalPrice(price, quantity);
+        if (total >= min) {
+            return true;
+        }
+        context.unwrap(HibernateConstraintValidatorContext.class).addMessageParameter("total", total);
+        return false;
+    }
+
+    /**
+     * int * int 는 long 범위를 넘지 않는다. (int 로 계산하면 100만 * 2200 부터 음수가 된다)
+     */
+    public static long totalPrice(int price, int quantity) {
+        return (long) price * quantity;
+    }
+}
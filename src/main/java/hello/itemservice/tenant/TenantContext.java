@@ -0,0 +1,40 @@
+package hello.itemservice.tenant;
+
+import java.util.regex.Pattern;
+
+/**
+ * 현재 스레드의 테넌트(스토어) id
+ * <p>
+ * 요청 스레드는 TenantFilter 가 설정하고, 설정하지 않은 스레드(기동, 스케줄러)는 기본 테넌트를 쓴다.
+ */
+public final class TenantContext {
+
+    public static final String DEFAULT_TENANT = "default";
+
+    // 스냅샷 파일 이름으로도 쓰므로 경로 문자는 허용하지 않는다.
+    private static final Pattern VALID_ID = Pattern.compile("[A-Za-z0-9_-]{1,32}");
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    public static String current() {
+        String tenantId = CURRENT.get();
+        return tenantId == null ? DEFAULT_TENANT : tenantId;
+    }
+
+    public static void set(String tenantId) {
+        if (!isValid(tenantId)) {
+            throw new IllegalArgumentException("잘못된 테넌트 id 입니다. tenantId=" + tenantId);
+        }
+        CURRENT.set(tenantId);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public static boolean isValid(String tenantId) {
+        return tenantId != null && VALID_ID.matcher(tenantId).matches();
+    }
+}
@@ -0,0 +1,15 @@
+package hello.itemservice.tenant;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * 메모리에 올린 테넌트 수가 tenant.max-tenants 에 닿았다 - 429 Too Many Requests (유휴 테넌트가 내려가면 다시 받는다)
+ */
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class TenantLimitExceededException extends RuntimeException {
+
+    public TenantLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,305 @@
+package hello.itemservice.tenant;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.config.Scope;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * 테넌트 스코프 - 테넌트마다 빈 인스턴스를 따로 만든다. (@Scope(value = "tenant", proxyMode = TARGET_CLASS))
+ * <p>
+ * idleTimeout 동안 쓰지 않은 테넌트는 {@link TenantSnapshotSupport} 빈의 상태를 snapshotDirectory/{tenant}/{bean} 에
+ * 쓰고 메모리에서 내린다. 다시 요청이 오면 빈을 새로 만들고 스냅샷을 읽어 들인다. (기본 테넌트는 내리지 않는다)
+ * <p>
+ * 조회마다 마지막 사용 시각을 갱신하지만 1초 안에 다시 쓰면 쓰기를 생략한다. (같은 테넌트 요청끼리 경합하지 않도록)
+ * 그래서 idleTimeout 은 1초보다, 그리고 가장 긴 저장소 호출보다 길어야 한다.
+ * 열린 변경 스트림(SSE)은 주기마다 저장소를 조회하므로 사용 중으로 친다.
+ * <p>
+ * 메모리에 올리는 테넌트는 maxTenants 개까지다. (기본 테넌트 제외) allowedTenants 가 있으면 그 테넌트만 받는다.
+ * 비어있는 저장소는 스냅샷을 남기지 않는다.
+ */
+@Slf4j
+public class TenantScope implements Scope, DisposableBean {
+
+    public static final String NAME = "tenant";
+
+    private static final long TOUCH_GRANULARITY_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final String SNAPSHOT_SUFFIX = ".snapshot";
+
+    public static final int DEFAULT_MAX_TENANTS = 100;
+
+    private final Map<String, Tenant> tenants = new ConcurrentHashMap<>();
+    private final AtomicInteger tenantSlots = new AtomicInteger();
+    private final Path snapshotDirectory;
+    private final long idleNanos;
+    private final int maxTenants;
+    private final Set<String> allowedTenants;
+    private final LongSupplier clock;
+    private final ScheduledExecutorService sweeper;
+
+    /**
+     * @param allowedTenants 비어있으면 형식만 맞으면 받는다.
+     */
+    public TenantScope(Path snapshotDirectory, Duration idleTimeout, int maxTenants, Set<String> allowedTenants) {
+        this(snapshotDirectory, idleTimeout, maxTenants, allowedTenants, System::nanoTime);
+        long period = Math.max(1, Math.min(idleTimeout.toSeconds() / 2, 60));
+        sweeper.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 테스트용 - 주기적인 정리를 하지 않는다. ({@link #evictIdle()} 을 직접 호출)
+     */
+    TenantScope(Path snapshotDirectory, Duration idleTimeout, LongSupplier clock) {
+        this(snapshotDirectory, idleTimeout, DEFAULT_MAX_TENANTS, Set.of(), clock);
+    }
+
+    TenantScope(Path snapshotDirectory, Duration idleTimeout, int maxTenants, Set<String> allowedTenants,
+                LongSupplier clock) {
+        if (maxTenants < 1) {
+            throw new IllegalArgumentException("tenant.max-tenants 는 1 이상이어야 합니다. maxTenants=" + maxTenants);
+        }
+        this.snapshotDirectory = snapshotDirectory;
+        this.idleNanos = idleTimeout.toNanos();
+        this.maxTenants = maxTenants;
+        this.allowedTenants = Set.copyOf(allowedTenants);
+        this.clock = clock;
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "tenant-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public Object get(String name, ObjectFactory<?> objectFactory) {
+        return enter(TenantContext.current()).bean(name, objectFactory);
+    }
+
+    @Override
+    public Object remove(String name) {
+        Tenant tenant = tenants.get(TenantContext.current());
+        return tenant == null ? null : tenant.beans.remove(name);
+    }
+
+    @Override
+    public void registerDestructionCallback(String name, Runnable callback) {
+        // 테넌트를 내릴 때는 스냅샷만 남기고 빈은 버린다.
+    }
+
+    @Override
+    public Object resolveContextualObject(String key) {
+        return null;
+    }
+
+    @Override
+    public String getConversationId() {
+        return TenantContext.current();
+    }
+
+    /**
+     * 허용 목록에 있는 테넌트인지 (목록이 없으면 전부 허용)
+     */
+    public boolean isAllowed(String tenantId) {
+        return TenantContext.DEFAULT_TENANT.equals(tenantId) || allowedTenants.isEmpty()
+                || allowedTenants.contains(tenantId);
+    }
+
+    /**
+     * 이미 메모리에 있거나 자리가 남아있으면 true (요청 필터에서 먼저 거른다. 최종 판단은 빈을 만들 때)
+     */
+    public boolean hasRoomFor(String tenantId) {
+        return TenantContext.DEFAULT_TENANT.equals(tenantId) || tenants.containsKey(tenantId)
+                || tenantSlots.get() < maxTenants;
+    }
+
+    /**
+     * 테넌트를 스냅샷 없이 버린다. (임시 테넌트 정리용)
+     */
+    public void discard(String tenantId) {
+        Tenant tenant = tenants.remove(tenantId);
+        if (tenant != null) {
+            released(tenant);
+        }
+    }
+
+    public int tenantCount() {
+        return tenants.size();
+    }
+
+    private Tenant enter(String tenantId) {
+        while (true) {
+            Tenant tenant = tenants.computeIfAbsent(tenantId, this::admit);
+            if (tenant.touch(clock.getAsLong())) {
+                return tenant;
+            }
+            // 스냅샷을 쓰는 중 - 끝나면 map 에서 빠지거나 다시 살아난다.
+            tenant.evicting.lock();
+            tenant.evicting.unlock();
+        }
+    }
+
+    private Tenant admit(String tenantId) {
+        if (!TenantContext.DEFAULT_TENANT.equals(tenantId)) {
+            int slots;
+            do {
+                slots = tenantSlots.get();
+                if (slots >= maxTenants) {
+                    throw new TenantLimitExceededException("테넌트 한도를 넘었습니다. maxTenants=" + maxTenants);
+                }
+            } while (!tenantSlots.compareAndSet(slots, slots + 1));
+        }
+        return new Tenant(tenantId);
+    }
+
+    private void released(Tenant tenant) {
+        if (!TenantContext.DEFAULT_TENANT.equals(tenant.id)) {
+            tenantSlots.decrementAndGet();
+        }
+    }
+
+    /**
+     * idleTimeout 동안 쓰지 않은 테넌트를 스냅샷으로 내린다.
+     */
+    public void evictIdle() {
+        for (Tenant tenant : tenants.values()) {
+            if (TenantContext.DEFAULT_TENANT.equals(tenant.id)) {
+                continue;
+            }
+            // 내리는 동안 잠가둔다. 그 사이 들어온 요청은 이 잠금을 기다렸다가 다시 찾는다.
+            tenant.evicting.lock();
+            try {
+                if (!tenant.tryEvict(clock.getAsLong(), idleNanos)) {
+                    continue;
+                }
+                tenant.writeSnapshots();
+                if (tenants.remove(tenant.id, tenant)) {
+                    released(tenant);
+                }
+                log.info("유휴 테넌트를 내렸습니다. tenant={}", tenant.id);
+            } catch (IOException | RuntimeException e) {
+                log.error("테넌트 스냅샷 저장 실패 - 메모리에 그대로 둡니다. tenant={}", tenant.id, e);
+                tenant.revive(clock.getAsLong());
+            } finally {
+                tenant.evicting.unlock();
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        sweeper.shutdownNow();
+    }
+
+    private final class Tenant {
+
+        private static final long EVICTED = Long.MIN_VALUE;
+
+        private final String id;
+        private final Map<String, Object> beans = new ConcurrentHashMap<>();
+        private final AtomicLong lastAccess = new AtomicLong();
+        private final ReentrantLock evicting = new ReentrantLock();
+
+        private Tenant(String id) {
+            this.id = id;
+            this.lastAccess.set(clock.getAsLong());
+        }
+
+        /**
+         * 내리는 중이면 false
+         */
+        boolean touch(long now) {
+            while (true) {
+                long last = lastAccess.get();
+                if (last == EVICTED) {
+                    return false;
+                }
+                if (now - last < TOUCH_GRANULARITY_NANOS || lastAccess.compareAndSet(last, now)) {
+                    return true;
+                }
+            }
+        }
+
+        boolean tryEvict(long now, long idleNanos) {
+            long last = lastAccess.get();
+            return last != EVICTED && now - last >= idleNanos && lastAccess.compareAndSet(last, EVICTED);
+        }
+
+        void revive(long now) {
+            lastAccess.set(now);
+        }
+
+        Object bean(String name, ObjectFactory<?> objectFactory) {
+            Object bean = beans.get(name);
+            if (bean != null) {
+                return bean;
+            }
+            synchronized (this) {
+                bean = beans.get(name);
+                if (bean == null) {
+                    bean = objectFactory.getObject();
+                    restore(name, bean);
+                    beans.put(name, bean);
+                }
+                return bean;
+            }
+        }
+
+        private void restore(String name, Object bean) {
+            Path file = snapshotFile(name);
+            if (!(bean instanceof TenantSnapshotSupport) || !Files.exists(file)) {
+                return;
+            }
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                ((TenantSnapshotSupport) bean).readSnapshot(in);
+            } catch (IOException e) {
+                throw new UncheckedIOException("테넌트 스냅샷을 읽지 못했습니다. file=" + file, e);
+            }
+            try {
+                Files.delete(file);
+            } catch (IOException e) {
+                log.warn("읽어 들인 스냅샷 삭제 실패 file={}", file, e);
+            }
+        }
+
+        void writeSnapshots() throws IOException {
+            for (Map.Entry<String, Object> entry : beans.entrySet()) {
+                if (!(entry.getValue() instanceof TenantSnapshotSupport)
+                        || ((TenantSnapshotSupport) entry.getValue()).isEmpty()) {
+                    continue;
+                }
+                Path file = snapshotFile(entry.getKey());
+                Files.createDirectories(file.getParent());
+                Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                    ((TenantSnapshotSupport) entry.getValue()).writeSnapshot(out);
+                }
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+        }
+
+        private Path snapshotFile(String beanName) {
+            return snapshotDirectory.resolve(id).resolve(beanName + SNAPSHOT_SUFFIX);
+        }
+    }
+}
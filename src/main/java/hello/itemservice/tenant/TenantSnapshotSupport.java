@@ -0,0 +1,23 @@
+package hello.itemservice.tenant;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * 테넌트 스코프 빈 중 유휴 테넌트를 내릴 때 디스크에 남길 상태가 있는 빈
+ */
+public interface TenantSnapshotSupport {
+
+    /**
+     * 남길 상태가 없으면 스냅샷 파일을 만들지 않는다.
+     */
+    boolean isEmpty();
+
+    void writeSnapshot(DataOutputStream out) throws IOException;
+
+    /**
+     * 새로 만든 (비어있는) 빈에 스냅샷을 읽어 들인다.
+     */
+    void readSnapshot(DataInputStream in) throws IOException;
+}
@@ -0,0 +1,110 @@
+package hello.itemservice.trace;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * 요청 처리 단계(bind, validation, message, repository, render) JFR 이벤트
+ * <p>
+ * 기본은 꺼져 있다. 꺼져 있으면 {@link #start()} 가 이벤트를 만들지 않고 공유 인스턴스를 돌려주므로 비용이 거의 없다.
+ * jfr/itemservice.jfc 설정이나 trace.jfr.enabled=true 로 켠다.
+ * <pre>
+ * StageEvent event = StageEvent.start();
+ * ...
+ * event.finish("repository.save", null, 0);
+ * </pre>
+ * 필드 계산에 비용이 들면 {@link #stop()} 이 true 일 때만 계산해서 {@link #record} 한다.
+ */
+@Name(StageEvent.NAME)
+@Label("Item Service Stage")
+@Category("Item Service")
+@Description("요청 처리 단계별 소요 시간과 오류 수")
+@Enabled(false)
+@StackTrace(false)
+public class StageEvent extends Event {
+
+    public static final String NAME = "hello.itemservice.Stage";
+
+    private static final EventType TYPE = EventType.getEventType(StageEvent.class);
+    private static final StageEvent DISABLED = new StageEvent(); // 꺼져 있을 때 - begin/end 하지 않는다.
+
+    @Label("Stage")
+    String stage;
+
+    @Label("Endpoint")
+    @Description("v1 ~ v4, api")
+    String endpoint;
+
+    @Label("Detail")
+    String detail;
+
+    @Label("Error Count")
+    int errorCount;
+
+    /**
+     * 켜져 있는 기록이 하나라도 있으면 true
+     */
+    public static boolean enabled() {
+        return TYPE.isEnabled();
+    }
+
+    public static StageEvent start() {
+        if (!TYPE.isEnabled()) {
+            return DISABLED;
+        }
+        StageEvent event = new StageEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * 측정을 끝내고 기록 대상(켜져 있고 threshold 이상)이면 true
+     */
+    public boolean stop() {
+        if (this == DISABLED) {
+            return false;
+        }
+        end();
+        return shouldCommit();
+    }
+
+    public void record(String stage, String detail, int errorCount) {
+        this.stage = stage;
+        this.endpoint = currentEndpoint();
+        this.detail = detail;
+        this.errorCount = errorCount;
+        commit();
+    }
+
+    public void finish(String stage, String detail, int errorCount) {
+        if (stop()) {
+            record(stage, detail, errorCount);
+        }
+    }
+
+    /**
+     * /validation/{version}/... 의 version, 요청 밖이면 "-"
+     */
+    static String currentEndpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes)) {
+            return "-";
+        }
+        String path = ((ServletRequestAttributes) attributes).getRequest().getServletPath();
+        String prefix = "/validation/";
+        if (!path.startsWith(prefix)) {
+            return "-";
+        }
+        int end = path.indexOf('/', prefix.length());
+        return end < 0 ? path.substring(prefix.length()) : path.substring(prefix.length(), end);
+    }
+}
@@ -0,0 +1,120 @@
+package hello.itemservice.trace;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * JFR 기록에서 {@link StageEvent} 를 읽어 단계/엔드포인트별 지연 분포를 요약한다.
+ * <pre>
+ * ./gradlew traceReport -Pjfr=itemservice.jfr
+ * </pre>
+ */
+public class StageReport {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("usage: StageReport <recording.jfr>");
+            System.exit(2);
+        }
+        print(summarize(Paths.get(args[0])), System.out);
+    }
+
+    public static List<Summary> summarize(Path recording) throws IOException {
+        Map<String, Samples> samples = new TreeMap<>();
+        try (RecordingFile file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                RecordedEvent event = file.readEvent();
+                if (!StageEvent.NAME.equals(event.getEventType().getName())) {
+                    continue;
+                }
+                String stage = event.getString("stage");
+                String endpoint = event.getString("endpoint");
+                samples.computeIfAbsent(stage + ' ' + endpoint, key -> new Samples(stage, endpoint))
+                        .add(event.getDuration().toNanos(), event.getInt("errorCount"));
+            }
+        }
+        List<Summary> summaries = new ArrayList<>(samples.size());
+        for (Samples sample : samples.values()) {
+            summaries.add(sample.summary());
+        }
+        return summaries;
+    }
+
+    public static void print(List<Summary> summaries, PrintStream out) {
+        out.printf("%-24s %-8s %8s %10s %10s %10s %10s %8s%n",
+                "stage", "endpoint", "count", "p50(us)", "p90(us)", "p99(us)", "max(us)", "errors");
+        for (Summary summary : summaries) {
+            out.printf("%-24s %-8s %8d %10.1f %10.1f %10.1f %10.1f %8d%n",
+                    summary.stage, summary.endpoint, summary.count,
+                    summary.p50Nanos / 1000.0, summary.p90Nanos / 1000.0, summary.p99Nanos / 1000.0,
+                    summary.maxNanos / 1000.0, summary.errorCount);
+        }
+    }
+
+    public static final class Summary {
+
+        public final String stage;
+        public final String endpoint;
+        public final int count;
+        public final long p50Nanos;
+        public final long p90Nanos;
+        public final long p99Nanos;
+        public final long maxNanos;
+        public final long errorCount;
+
+        private Summary(String stage, String endpoint, long[] sortedNanos, long errorCount) {
+            this.stage = stage;
+            this.endpoint = endpoint;
+            this.count = sortedNanos.length;
+            this.p50Nanos = percentile(sortedNanos, 0.50);
+            this.p90Nanos = percentile(sortedNanos, 0.90);
+            this.p99Nanos = percentile(sortedNanos, 0.99);
+            this.maxNanos = sortedNanos[sortedNanos.length - 1];
+            this.errorCount = errorCount;
+        }
+
+        // nearest-rank
+        private static long percentile(long[] sorted, double p) {
+            int rank = (int) Math.ceil(p * sorted.length);
+            return sorted[Math.max(0, rank - 1)];
+        }
+    }
+
+    private static final class Samples {
+
+        private final String stage;
+        private final String endpoint;
+        private long[] nanos = new long[64];
+        private int size;
+        private long errorCount;
+
+        private Samples(String stage, String endpoint) {
+            this.stage = stage;
+            this.endpoint = endpoint;
+        }
+
+        void add(long durationNanos, int errors) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = durationNanos;
+            errorCount += errors;
+        }
+
+        Summary summary() {
+            long[] sorted = Arrays.copyOf(nanos, size);
+            Arrays.sort(sorted);
+            return new Summary(stage, endpoint, sorted, errorCount);
+        }
+    }
+}
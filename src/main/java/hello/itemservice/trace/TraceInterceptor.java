@@ -0,0 +1,51 @@
+package hello.itemservice.trace;
+
+import org.springframework.validation.BindingResult;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 뷰 렌더링 단계 기록 - postHandle 바로 다음이 렌더링이고, 끝나면 afterCompletion 이 호출된다.
+ */
+public class TraceInterceptor implements HandlerInterceptor {
+
+    private static final String EVENT_ATTRIBUTE = TraceInterceptor.class.getName() + ".EVENT";
+    private static final String VIEW_ATTRIBUTE = TraceInterceptor.class.getName() + ".VIEW";
+    private static final String ERRORS_ATTRIBUTE = TraceInterceptor.class.getName() + ".ERRORS";
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler, ModelAndView modelAndView) {
+        if (modelAndView == null || !modelAndView.hasView()) {
+            return;
+        }
+        if (!StageEvent.enabled()) {
+            return;
+        }
+        StageEvent event = StageEvent.start();
+        request.setAttribute(EVENT_ATTRIBUTE, event);
+        request.setAttribute(VIEW_ATTRIBUTE, modelAndView.getViewName());
+        request.setAttribute(ERRORS_ATTRIBUTE, errorCount(modelAndView));
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object event = request.getAttribute(EVENT_ATTRIBUTE);
+        if (event instanceof StageEvent) {
+            ((StageEvent) event).finish("render", (String) request.getAttribute(VIEW_ATTRIBUTE),
+                    (Integer) request.getAttribute(ERRORS_ATTRIBUTE));
+        }
+    }
+
+    private static int errorCount(ModelAndView modelAndView) {
+        int count = 0;
+        for (Object value : modelAndView.getModel().values()) {
+            if (value instanceof BindingResult) {
+                count += ((BindingResult) value).getErrorCount();
+            }
+        }
+        return count;
+    }
+}
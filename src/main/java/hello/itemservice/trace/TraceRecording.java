@@ -0,0 +1,52 @@
+package hello.itemservice.trace;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.text.ParseException;
+
+/**
+ * 애플리케이션 안에서 시작하는 JFR 기록 - 종료할 때 파일로 남긴다.
+ * <p>
+ * JVM 옵션으로도 같은 설정을 쓸 수 있다.
+ * -XX:StartFlightRecording=settings=src/main/resources/jfr/itemservice.jfc,filename=itemservice.jfr
+ */
+@Slf4j
+public class TraceRecording implements AutoCloseable {
+
+    private final Recording recording;
+    private final Path destination;
+
+    public TraceRecording(Resource settings, Path destination) throws IOException, ParseException {
+        Configuration configuration;
+        try (Reader reader = new InputStreamReader(settings.getInputStream(), StandardCharsets.UTF_8)) {
+            configuration = Configuration.create(reader);
+        }
+        this.recording = new Recording(configuration);
+        this.destination = destination;
+        recording.setName("itemservice");
+        recording.setToDisk(true);
+        recording.setDestination(destination);
+    }
+
+    public void start() {
+        recording.start();
+        log.info("JFR 기록 시작 destination={}", destination);
+    }
+
+    /**
+     * 기록을 멈추고 destination 에 쓴다.
+     */
+    @Override
+    public void close() {
+        recording.close();
+        log.info("JFR 기록 저장 {}", destination);
+    }
+}
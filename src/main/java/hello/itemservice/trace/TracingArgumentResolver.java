@@ -0,0 +1,52 @@
+package hello.itemservice.trace;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.annotation.ModelAttributeMethodProcessor;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * @ModelAttribute 바인딩 단계 기록 (바인딩 + 검증 포함, 검증만은 validation 단계로 따로 남는다)
+ */
+public class TracingArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private final ModelAttributeMethodProcessor delegate;
+
+    public TracingArgumentResolver(ModelAttributeMethodProcessor delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return delegate.supportsParameter(parameter);
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) throws Exception {
+        StageEvent event = StageEvent.start();
+        try {
+            return delegate.resolveArgument(parameter, mavContainer, webRequest, binderFactory);
+        } finally {
+            if (event.stop()) {
+                event.record("bind", parameter.getParameterType().getSimpleName(), errorCount(mavContainer));
+            }
+        }
+    }
+
+    static int errorCount(ModelAndViewContainer mavContainer) {
+        if (mavContainer == null) {
+            return 0;
+        }
+        int count = 0;
+        for (Object value : mavContainer.getModel().values()) {
+            if (value instanceof BindingResult) {
+                count += ((BindingResult) value).getErrorCount();
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,55 @@
+package hello.itemservice.trace;
+
+import hello.itemservice.domain.item.ItemRepository;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.HierarchicalMessageSource;
+import org.springframework.context.support.AbstractApplicationContext;
+import org.springframework.web.method.annotation.ModelAttributeMethodProcessor;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 스프링이 등록한 빈을 단계 기록 버전으로 감싼다.
+ * <p>
+ * - RequestMappingHandlerAdapter: @ModelAttribute 처리기 -> {@link TracingArgumentResolver}
+ * - messageSource -> {@link TracingMessageSource}
+ * - 테넌트마다 만들어지는 ItemRepository -> {@link TracingRepositoryInterceptor} 프록시 (주입되는 스코프 프록시는 그대로)
+ */
+public class TracingBeanPostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof RequestMappingHandlerAdapter) {
+            wrapArgumentResolvers((RequestMappingHandlerAdapter) bean);
+        }
+        if (AbstractApplicationContext.MESSAGE_SOURCE_BEAN_NAME.equals(beanName)
+                && bean instanceof HierarchicalMessageSource && !(bean instanceof TracingMessageSource)) {
+            return new TracingMessageSource((HierarchicalMessageSource) bean);
+        }
+        if (bean instanceof ItemRepository && !AopUtils.isAopProxy(bean)) {
+            ProxyFactory proxyFactory = new ProxyFactory(bean);
+            proxyFactory.setProxyTargetClass(true);
+            proxyFactory.addAdvice(new TracingRepositoryInterceptor());
+            return proxyFactory.getProxy();
+        }
+        return bean;
+    }
+
+    private static void wrapArgumentResolvers(RequestMappingHandlerAdapter adapter) {
+        List<HandlerMethodArgumentResolver> resolvers = adapter.getArgumentResolvers();
+        if (resolvers == null) {
+            return;
+        }
+        List<HandlerMethodArgumentResolver> wrapped = new ArrayList<>(resolvers.size());
+        for (HandlerMethodArgumentResolver resolver : resolvers) {
+            wrapped.add(resolver instanceof ModelAttributeMethodProcessor
+                    ? new TracingArgumentResolver((ModelAttributeMethodProcessor) resolver) : resolver);
+        }
+        adapter.setArgumentResolvers(wrapped);
+    }
+}
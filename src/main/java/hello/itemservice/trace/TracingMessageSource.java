@@ -0,0 +1,61 @@
+package hello.itemservice.trace;
+
+import org.springframework.context.HierarchicalMessageSource;
+import org.springframework.context.MessageSource;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.context.NoSuchMessageException;
+
+import java.util.Locale;
+
+/**
+ * 메세지 조회 단계 기록 - detail 은 첫번째 코드 (ex. required.item.itemName)
+ */
+public class TracingMessageSource implements HierarchicalMessageSource {
+
+    private final HierarchicalMessageSource delegate;
+
+    public TracingMessageSource(HierarchicalMessageSource delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String getMessage(String code, Object[] args, String defaultMessage, Locale locale) {
+        StageEvent event = StageEvent.start();
+        String message = delegate.getMessage(code, args, defaultMessage, locale);
+        event.finish("message", code, 0);
+        return message;
+    }
+
+    @Override
+    public String getMessage(String code, Object[] args, Locale locale) throws NoSuchMessageException {
+        StageEvent event = StageEvent.start();
+        try {
+            return delegate.getMessage(code, args, locale);
+        } finally {
+            event.finish("message", code, 0);
+        }
+    }
+
+    @Override
+    public String getMessage(MessageSourceResolvable resolvable, Locale locale) throws NoSuchMessageException {
+        StageEvent event = StageEvent.start();
+        try {
+            return delegate.getMessage(resolvable, locale);
+        } finally {
+            if (event.stop()) {
+                String[] codes = resolvable.getCodes();
+                event.record("message", codes == null || codes.length == 0 ? null : codes[0], 0);
+            }
+        }
+    }
+
+    @Override
+    public void setParentMessageSource(MessageSource parent) {
+        delegate.setParentMessageSource(parent);
+    }
+
+    @Override
+    public MessageSource getParentMessageSource() {
+        return delegate.getParentMessageSource();
+    }
+}
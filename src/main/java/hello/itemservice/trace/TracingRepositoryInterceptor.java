@@ -0,0 +1,36 @@
+package hello.itemservice.trace;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.util.Map;
+
+/**
+ * 저장소 단계 기록 - 테넌트 저장소 빈을 감싸는 프록시에서 호출 전후를 잰다. (저장소는 JFR 을 모른다)
+ * <p>
+ * stage 는 "repository.메서드명", 나머지 메서드는 그대로 넘긴다.
+ */
+public class TracingRepositoryInterceptor implements MethodInterceptor {
+
+    private static final Map<String, String> STAGES = Map.of(
+            "save", "repository.save",
+            "saveAll", "repository.saveAll",
+            "findById", "repository.findById",
+            "findPage", "repository.findPage",
+            "searchByName", "repository.searchByName",
+            "update", "repository.update");
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        String stage = STAGES.get(invocation.getMethod().getName());
+        if (stage == null || !StageEvent.enabled()) {
+            return invocation.proceed();
+        }
+        StageEvent event = StageEvent.start();
+        try {
+            return invocation.proceed();
+        } finally {
+            event.finish(stage, null, 0);
+        }
+    }
+}
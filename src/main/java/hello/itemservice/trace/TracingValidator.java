@@ -0,0 +1,53 @@
+package hello.itemservice.trace;
+
+import org.springframework.lang.Nullable;
+import org.springframework.validation.Errors;
+import org.springframework.validation.SmartValidator;
+
+/**
+ * Bean Validation 단계 기록 - detail 은 "대상 클래스[검증 그룹]"
+ */
+public class TracingValidator implements SmartValidator {
+
+    private final SmartValidator delegate;
+
+    public TracingValidator(SmartValidator delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return delegate.supports(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        validate(target, errors, new Object[0]);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors, Object... validationHints) {
+        int before = errors.getErrorCount();
+        StageEvent event = StageEvent.start();
+        delegate.validate(target, errors, validationHints);
+        if (event.stop()) {
+            event.record("validation", detail(target, validationHints), errors.getErrorCount() - before);
+        }
+    }
+
+    @Override
+    public void validateValue(Class<?> targetType, String fieldName, @Nullable Object value, Errors errors, Object... validationHints) {
+        delegate.validateValue(targetType, fieldName, value, errors, validationHints);
+    }
+
+    private static String detail(Object target, Object[] hints) {
+        StringBuilder detail = new StringBuilder(target.getClass().getSimpleName()).append('[');
+        for (int i = 0; i < hints.length; i++) {
+            if (i > 0) {
+                detail.append(',');
+            }
+            detail.append(hints[i] instanceof Class ? ((Class<?>) hints[i]).getSimpleName() : String.valueOf(hints[i]));
+        }
+        return detail.append(']').toString();
+    }
+}
@@ -0,0 +1,340 @@
+package hello.itemservice.web.idempotency;
+
+import hello.itemservice.tenant.TenantContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * 등록 요청의 Idempotency-Key -> 저장된 상품 id
+ * <p>
+ * 같은 키는 window 동안 한번만 저장된다. 키는 등록 순서대로 만료되므로 만료/초과분은 링 앞에서부터 정리한다.
+ * 저장소가 테넌트마다 따로이므로 키는 현재 테넌트 id 와 함께 해시한다. (다른 테넌트가 같은 키를 써도 서로 보이지 않는다)
+ * <p>
+ * 키 문자열 대신 128비트 해시(기동마다 다른 seed)를 보관한다. 구역(segment)마다 잠금 하나와
+ * 등록 순서 링(해시 2개, id, 만료 시각 - long 배열 4개) + open addressing 색인(int 배열)을 가지므로
+ * 키당 객체를 만들지 않고 40바이트 남짓만 쓴다.
+ * <p>
+ * 저장(saver)은 잠금 밖에서 한다. 먼저 키를 예약하고, 같은 키로 동시에 들어온 요청은 저장이 끝날 때까지 기다렸다가 같은 id 를 받는다.
+ */
+@Component
+public class IdempotencyIndex {
+
+    private static final int MAX_SEGMENTS = 64;
+    private static final int MIN_SEGMENT_CAPACITY = 1024;
+    private static final long PENDING = Long.MIN_VALUE; // 예약만 되고 아직 저장 중
+
+    private final Segment[] segments;
+    private final long windowNanos;
+    private final long highSeed;
+    private final long lowSeed;
+
+    public IdempotencyIndex(@Value("${idempotency.max-keys:1000000}") int maxKeys,
+                            @Value("${idempotency.window:10m}") Duration window) {
+        if (maxKeys < 1) {
+            throw new IllegalArgumentException("idempotency.max-keys 는 1 이상이어야 합니다. maxKeys=" + maxKeys);
+        }
+        this.windowNanos = window.toNanos();
+        this.highSeed = ThreadLocalRandom.current().nextLong();
+        this.lowSeed = ThreadLocalRandom.current().nextLong();
+        this.segments = segments(maxKeys);
+    }
+
+    /**
+     * 구역 수는 코어 수의 4배(2의 거듭제곱, 최대 64), 구역이 너무 작으면 한도가 고르게 쓰이지 않으므로 구역마다 최소 1024개
+     */
+    private static Segment[] segments(int maxKeys) {
+        int target = Math.min(MAX_SEGMENTS, Runtime.getRuntime().availableProcessors() * 4);
+        int count = 1;
+        while (count < target && (long) count * 2 * MIN_SEGMENT_CAPACITY <= maxKeys) {
+            count <<= 1;
+        }
+        Segment[] segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment(maxKeys / count + (i < maxKeys % count ? 1 : 0));
+        }
+        return segments;
+    }
+
+    /**
+     * @return 이미 저장된 상품 id, 없거나 만료되었거나 아직 저장 중이면 null
+     */
+    public Long find(String key) {
+        String tenantId = TenantContext.current();
+        long high = hash(tenantId, key, highSeed);
+        long low = hash(tenantId, key, lowSeed);
+        return segmentOf(high).find(high, low, System.nanoTime());
+    }
+
+    /**
+     * 처음 보는 키일 때만 saver 를 실행한다. 같은 키로 동시에 들어와도 저장은 한번만 일어난다.
+     * key 가 null 이면 그냥 저장한다. saver 가 실패하면 예약을 풀고, 기다리던 요청 중 하나가 다시 저장한다.
+     */
+    public long saveOnce(String key, LongSupplier saver) {
+        if (key == null) {
+            return saver.getAsLong();
+        }
+        String tenantId = TenantContext.current();
+        long high = hash(tenantId, key, highSeed);
+        long low = hash(tenantId, key, lowSeed);
+        return segmentOf(high).saveOnce(high, low, windowNanos, saver);
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    private Segment segmentOf(long high) {
+        return segments[(int) (high >>> 32) & (segments.length - 1)];
+    }
+
+    /**
+     * 테넌트 id + '\0' + 키 의 해시 (테넌트 id 에는 '\0' 이 올 수 없다)
+     */
+    private static long hash(String tenantId, String key, long seed) {
+        long hash = mix(seed ^ key.length(), tenantId);
+        hash = (hash ^ '\0') * 0x9e3779b97f4a7c15L;
+        hash = mix(hash ^ (hash >>> 29), key);
+        // murmur3 fmix64
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static long mix(long hash, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * 0x9e3779b97f4a7c15L;
+            hash ^= hash >>> 29;
+        }
+        return hash;
+    }
+
+    /**
+     * 등록 순서 링 + 링 위치를 가리키는 색인 (linear probing, 삭제는 backward shift)
+     * <p>
+     * 색인이 가리키지 않는 링 칸(만료 뒤 다시 등록, 저장 실패)은 링 앞에 오면 그냥 지나간다.
+     */
+    private static final class Segment {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition settled = lock.newCondition();
+
+        private final int capacity;
+        private final long[] highs;
+        private final long[] lows;
+        private final long[] itemIds;
+        private final long[] expiresAt;
+        private final int[] table; // 링 칸 + 1, 0 이면 빈 칸
+        private final int mask;
+
+        private long head; // 가장 오래된 링 순번
+        private long tail; // 다음에 쓸 링 순번
+        private int size; // 색인에 있는 키 수
+
+        private Segment(int capacity) {
+            this.capacity = capacity;
+            this.highs = new long[capacity];
+            this.lows = new long[capacity];
+            this.itemIds = new long[capacity];
+            this.expiresAt = new long[capacity];
+            int tableSize = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1) * 2; // 채움 비율 0.5 이하
+            this.table = new int[tableSize];
+            this.mask = tableSize - 1;
+        }
+
+        Long find(long high, long low, long now) {
+            lock.lock();
+            try {
+                int index = indexOf(high, low);
+                if (index < 0) {
+                    return null;
+                }
+                int slot = table[index] - 1;
+                return itemIds[slot] == PENDING || isExpired(slot, now) ? null : itemIds[slot];
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        long saveOnce(long high, long low, long windowNanos, LongSupplier saver) {
+            long sequence;
+            lock.lock();
+            try {
+                while (true) {
+                    long now = System.nanoTime();
+                    evict(now, false);
+                    int index = indexOf(high, low);
+                    if (index >= 0) {
+                        int slot = table[index] - 1;
+                        if (itemIds[slot] == PENDING) {
+                            settled.awaitUninterruptibly();
+                            continue;
+                        }
+                        if (!isExpired(slot, now)) {
+                            return itemIds[slot];
+                        }
+                    }
+                    if (tail - head == capacity) {
+                        evict(now, true);
+                        index = indexOf(high, low);
+                    }
+                    sequence = append(index, high, low, now + windowNanos);
+                    break;
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            long itemId;
+            try {
+                itemId = saver.getAsLong();
+            } catch (RuntimeException | Error e) {
+                settle(sequence, high, low, PENDING);
+                throw e;
+            }
+            settle(sequence, high, low, itemId);
+            return itemId;
+        }
+
+        int size() {
+            lock.lock();
+            try {
+                return size;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void clear() {
+            lock.lock();
+            try {
+                Arrays.fill(table, 0);
+                head = tail; // 순번은 되돌리지 않는다. (저장 중이던 예약이 새 예약을 덮지 않도록)
+                size = 0;
+                settled.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * 예약을 저장된 id 로 바꾼다. itemId 가 PENDING 이면(저장 실패) 예약을 지운다.
+         * 그 사이 예약이 한도 초과로 밀려났으면 아무것도 하지 않는다.
+         */
+        private void settle(long sequence, long high, long low, long itemId) {
+            lock.lock();
+            try {
+                int slot = (int) (sequence % capacity);
+                int index = indexOf(high, low);
+                if (sequence >= head && index >= 0 && table[index] - 1 == slot) {
+                    if (itemId == PENDING) {
+                        delete(index);
+                    } else {
+                        itemIds[slot] = itemId;
+                    }
+                }
+                settled.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * 링 끝에 예약을 쓰고 색인이 가리키게 한다. index 가 0 이상이면 만료된 같은 키의 자리를 덮는다.
+         */
+        private long append(int index, long high, long low, long expiresAt) {
+            long sequence = tail++;
+            int slot = (int) (sequence % capacity);
+            highs[slot] = high;
+            lows[slot] = low;
+            itemIds[slot] = PENDING;
+            this.expiresAt[slot] = expiresAt;
+            if (index >= 0) {
+                table[index] = slot + 1;
+            } else {
+                table[-index - 1] = slot + 1;
+                size++;
+            }
+            return sequence;
+        }
+
+        /**
+         * 앞에서부터 만료된 것을 지운다. makeRoom 이면 링에 한 칸이 빌 때까지 가장 오래된 것도 지운다.
+         * (저장 중인 예약은 만료로 지우지 않는다)
+         */
+        private void evict(long now, boolean makeRoom) {
+            while (head < tail) {
+                int slot = (int) (head % capacity);
+                int index = indexOf(highs[slot], lows[slot]);
+                boolean live = index >= 0 && table[index] - 1 == slot;
+                boolean full = makeRoom && tail - head >= capacity;
+                if (live && !full && (itemIds[slot] == PENDING || !isExpired(slot, now))) {
+                    return;
+                }
+                if (live) {
+                    if (itemIds[slot] == PENDING) {
+                        settled.signalAll(); // 기다리던 요청이 다시 예약하도록
+                    }
+                    delete(index);
+                }
+                head++;
+            }
+        }
+
+        private boolean isExpired(int slot, long now) {
+            return expiresAt[slot] - now <= 0;
+        }
+
+        /**
+         * @return 키가 있는 색인 위치, 없으면 -(넣을 위치) - 1
+         */
+        private int indexOf(long high, long low) {
+            int index = (int) low & mask;
+            while (table[index] != 0) {
+                int slot = table[index] - 1;
+                if (highs[slot] == high && lows[slot] == low) {
+                    return index;
+                }
+                index = (index + 1) & mask;
+            }
+            return -index - 1;
+        }
+
+        private void delete(int index) {
+            int hole = index;
+            int next = index;
+            while (true) {
+                next = (next + 1) & mask;
+                if (table[next] == 0) {
+                    break;
+                }
+                int home = (int) lows[table[next] - 1] & mask;
+                if (((next - home) & mask) >= ((next - hole) & mask)) {
+                    table[hole] = table[next];
+                    hole = next;
+                }
+            }
+            table[hole] = 0;
+            size--;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package hello.itemservice.web.idempotency;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 이미 처리한 Idempotency-Key 로 다시 등록하면 바인딩/검증/저장 없이 처음 저장된 상품으로 보낸다.
+ * 키는 헤더 또는 폼의 hidden 필드(idempotencyKey)로 받는다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class IdempotencyInterceptor implements HandlerInterceptor {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String PARAMETER = "idempotencyKey";
+    public static final String KEY_ATTRIBUTE = IdempotencyInterceptor.class.getName() + ".KEY";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyIndex idempotencyIndex;
+    private final String redirectPath; // ex) /validation/v4/items/
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (!"POST".equals(request.getMethod())) {
+            return true;
+        }
+
+        String key = request.getHeader(HEADER);
+        if (!StringUtils.hasText(key)) {
+            key = request.getParameter(PARAMETER);
+        }
+        if (!StringUtils.hasText(key)) {
+            return true;
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Idempotency-Key is too long");
+            return false;
+        }
+
+        Long itemId = idempotencyIndex.find(key);
+        if (itemId == null) {
+            request.setAttribute(KEY_ATTRIBUTE, key);
+            return true;
+        }
+
+        log.info("중복 등록 요청 key={}, itemId={}", key, itemId);
+        response.sendRedirect(request.getContextPath() + redirectPath + itemId + "?status=true");
+        return false;
+    }
+}
@@ -0,0 +1,111 @@
+package hello.itemservice.web.resource;
+
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.resource.HttpResource;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URL;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * 리소스에 Cache-Control 응답 헤더를 더한다. (ResourceHttpRequestHandler 가 핸들러 설정 뒤에 덮어쓴다)
+ * <p>
+ * 감싼 리소스가 {@link HttpResource} 면(버전 리소스의 ETag 등) 그 헤더도 그대로 넘긴다.
+ * 파일 접근은 그대로 위임하므로 sendfile 전송도 유지된다.
+ */
+class CacheControlledResource extends AbstractResource implements HttpResource {
+
+    private final Resource resource;
+    private final CacheControl cacheControl;
+
+    CacheControlledResource(Resource resource, CacheControl cacheControl) {
+        this.resource = resource;
+        this.cacheControl = cacheControl;
+    }
+
+    @Override
+    public HttpHeaders getResponseHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        if (resource instanceof HttpResource) {
+            headers.putAll(((HttpResource) resource).getResponseHeaders());
+        }
+        headers.setCacheControl(cacheControl);
+        return headers;
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return resource.getInputStream();
+    }
+
+    @Override
+    public boolean exists() {
+        return resource.exists();
+    }
+
+    @Override
+    public boolean isReadable() {
+        return resource.isReadable();
+    }
+
+    @Override
+    public boolean isOpen() {
+        return resource.isOpen();
+    }
+
+    @Override
+    public boolean isFile() {
+        return resource.isFile();
+    }
+
+    @Override
+    public URL getURL() throws IOException {
+        return resource.getURL();
+    }
+
+    @Override
+    public URI getURI() throws IOException {
+        return resource.getURI();
+    }
+
+    @Override
+    public File getFile() throws IOException {
+        return resource.getFile();
+    }
+
+    @Override
+    public ReadableByteChannel readableChannel() throws IOException {
+        return resource.readableChannel();
+    }
+
+    @Override
+    public long contentLength() throws IOException {
+        return resource.contentLength();
+    }
+
+    @Override
+    public long lastModified() throws IOException {
+        return resource.lastModified();
+    }
+
+    @Override
+    public Resource createRelative(String relativePath) throws IOException {
+        return resource.createRelative(relativePath);
+    }
+
+    @Override
+    public String getFilename() {
+        return resource.getFilename();
+    }
+
+    @Override
+    public String getDescription() {
+        return resource.getDescription();
+    }
+}
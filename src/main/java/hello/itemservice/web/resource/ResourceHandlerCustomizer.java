@@ -0,0 +1,24 @@
+package hello.itemservice.web.resource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.web.servlet.handler.AbstractUrlHandlerMapping;
+import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
+
+/**
+ * 스프링 부트가 등록한 정적 리소스 핸들러(resourceHandlerMapping)의 메세지 컨버터를 sendfile 버전으로 바꾼다.
+ */
+public class ResourceHandlerCustomizer implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if ("resourceHandlerMapping".equals(beanName) && bean instanceof AbstractUrlHandlerMapping) {
+            SendfileResourceHttpMessageConverter converter = new SendfileResourceHttpMessageConverter();
+            for (Object handler : ((AbstractUrlHandlerMapping) bean).getHandlerMap().values()) {
+                if (handler instanceof ResourceHttpRequestHandler) {
+                    ((ResourceHttpRequestHandler) handler).setResourceHttpMessageConverter(converter);
+                }
+            }
+        }
+        return bean;
+    }
+}
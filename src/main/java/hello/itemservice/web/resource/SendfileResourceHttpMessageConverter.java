@@ -0,0 +1,55 @@
+package hello.itemservice.web.resource;
+
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.ResourceHttpMessageConverter;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * 파일로 존재하는 정적 리소스는 톰캣 sendfile 로 보낸다. (커널이 파일을 소켓으로 바로 복사한다)
+ * <p>
+ * 요청 속성에 파일 경로와 범위만 넣고 본문은 쓰지 않으면, 톰캣이 응답을 마칠 때 sendfile 로 전송한다.
+ * jar 안의 리소스처럼 파일이 아니거나 커넥터가 sendfile 을 지원하지 않으면 기존 방식으로 복사한다.
+ */
+public class SendfileResourceHttpMessageConverter extends ResourceHttpMessageConverter {
+
+    static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    @Override
+    protected void writeContent(Resource resource, HttpOutputMessage outputMessage) throws IOException {
+        HttpServletRequest request = currentRequest();
+        File file = fileOf(resource);
+        if (request == null || file == null || !Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            super.writeContent(resource, outputMessage);
+            return;
+        }
+
+        // Content-Length 는 addDefaultHeaders 에서 이미 설정했다.
+        request.setAttribute(SENDFILE_FILENAME, file.getCanonicalPath());
+        request.setAttribute(SENDFILE_START, 0L);
+        request.setAttribute(SENDFILE_END, file.length());
+    }
+
+    private static File fileOf(Resource resource) {
+        try {
+            File file = resource.getFile();
+            return file.isFile() ? file : null;
+        } catch (IOException e) {
+            return null; // jar 안의 리소스
+        }
+    }
+
+    private static HttpServletRequest currentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes ? ((ServletRequestAttributes) attributes).getRequest() : null;
+    }
+}
@@ -0,0 +1,52 @@
+package hello.itemservice.web.resource;
+
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.resource.AbstractResourceResolver;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+import org.springframework.web.servlet.resource.VersionStrategy;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.List;
+
+/**
+ * 요청 경로의 버전(내용 해시)이 실제 리소스의 버전과 같을 때만 cacheControl 을 붙인다.
+ * <p>
+ * 핸들러의 Cache-Control(no-cache)은 버전이 없는 경로(/css/bootstrap.min.css)에 그대로 쓰이고,
+ * 버전 경로는 응답 헤더({@link CacheControlledResource})로 덮어쓴다.
+ * VersionResourceResolver 앞에 둔다. 결과는 리소스 체인 캐시에 남으므로 해시는 경로마다 한번만 계산한다.
+ */
+public class VersionedCacheControlResolver extends AbstractResourceResolver {
+
+    private final VersionStrategy versionStrategy;
+    private final CacheControl cacheControl;
+
+    public VersionedCacheControlResolver(VersionStrategy versionStrategy, CacheControl cacheControl) {
+        this.versionStrategy = versionStrategy;
+        this.cacheControl = cacheControl;
+    }
+
+    @Override
+    protected Resource resolveResourceInternal(HttpServletRequest request, String requestPath,
+                                               List<? extends Resource> locations, ResourceResolverChain chain) {
+        Resource resource = chain.resolveResource(request, requestPath, locations);
+        if (resource == null || !isVersioned(requestPath, resource)) {
+            return resource;
+        }
+        return new CacheControlledResource(resource, cacheControl);
+    }
+
+    @Override
+    protected String resolveUrlPathInternal(String resourceUrlPath, List<? extends Resource> locations,
+                                            ResourceResolverChain chain) {
+        return chain.resolveUrlPath(resourceUrlPath, locations);
+    }
+
+    /**
+     * 이름에 '-' 가 들어간 파일(my-style.css)도 버전처럼 보이므로 실제 해시와 비교한다.
+     */
+    private boolean isVersioned(String requestPath, Resource resource) {
+        String version = versionStrategy.extractVersion(requestPath);
+        return version != null && version.equals(versionStrategy.getResourceVersion(resource));
+    }
+}
@@ -0,0 +1,84 @@
+package hello.itemservice.web.template;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.MessageSource;
+import org.springframework.util.PatternMatchUtils;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.support.RequestContextUtils;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 검증에 실패해서 입력 폼을 다시 보여줄 때 Thymeleaf 대신 {@link ErrorFormView} 로 렌더링한다.
+ * <p>
+ * 오류 메세지는 여기서 요청마다 한번만 찾고({@link FormErrors}), 폼은 (뷰, 언어)별로 한번 만든 뼈대에 채운다.
+ * 오류가 없거나 뼈대로 만들 수 없는 템플릿이면 아무것도 하지 않는다.
+ */
+@Slf4j
+public class ErrorFormInterceptor implements HandlerInterceptor {
+
+    private final PrecompiledTemplateResolver templates;
+    private final MessageSource messageSource;
+    private final String contextPath;
+    private final String[] viewNamePatterns;
+    private final Map<String, Optional<ErrorFormSkeleton>> skeletons = new ConcurrentHashMap<>();
+
+    /**
+     * @param viewNamePatterns 대상 뷰 이름 (ex. validation/*&#47;addForm)
+     */
+    public ErrorFormInterceptor(PrecompiledTemplateResolver templates, MessageSource messageSource,
+                                String contextPath, String... viewNamePatterns) {
+        this.templates = templates;
+        this.messageSource = messageSource;
+        this.contextPath = contextPath;
+        this.viewNamePatterns = viewNamePatterns;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        if (modelAndView == null || !modelAndView.isReference()) {
+            return;
+        }
+        String viewName = modelAndView.getViewName();
+        if (!PatternMatchUtils.simpleMatch(viewNamePatterns, viewName)) {
+            return;
+        }
+
+        Locale locale = RequestContextUtils.getLocale(request);
+        ErrorFormSkeleton skeleton = skeleton(viewName, locale);
+        if (skeleton == null) {
+            return;
+        }
+        Object result = modelAndView.getModel().get(BindingResult.MODEL_KEY_PREFIX + skeleton.getObjectName());
+        if (!(result instanceof BindingResult) || !((BindingResult) result).hasErrors()) {
+            return;
+        }
+        FormErrors errors = FormErrors.of((BindingResult) result, messageSource, locale);
+        modelAndView.setView(new ErrorFormView(skeleton, errors));
+    }
+
+    private ErrorFormSkeleton skeleton(String viewName, Locale locale) {
+        String templateName = PrecompiledTemplateResolver.templateName(viewName, locale);
+        if (!templates.isCacheable()) {
+            return compile(templateName, viewName, locale).orElse(null);
+        }
+        return skeletons.computeIfAbsent(templateName, name -> compile(name, viewName, locale)).orElse(null);
+    }
+
+    private Optional<ErrorFormSkeleton> compile(String templateName, String viewName, Locale locale) {
+        String html = templates.precompile(viewName, locale);
+        ErrorFormSkeleton skeleton = html == null ? null : ErrorFormSkeleton.compile(html, contextPath);
+        if (skeleton == null) {
+            log.info("오류 폼 뼈대를 만들 수 없어 Thymeleaf 로 렌더링합니다. template={}", templateName);
+        }
+        return Optional.ofNullable(skeleton);
+    }
+}
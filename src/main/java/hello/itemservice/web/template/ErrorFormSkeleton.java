@@ -0,0 +1,396 @@
+package hello.itemservice.web.template;
+
+import org.springframework.web.util.HtmlUtils;
+import org.springframework.web.util.UriUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 검증 오류가 있는 입력 폼을 다시 그릴 때 쓰는 뼈대
+ * <p>
+ * 언어별로 미리 계산한 템플릿({@link TemplatePrecompiler})을 정적인 조각과 빈칸으로 나눠 둔다.
+ * 빈칸은 입력값(th:field), 오류 class(th:errorclass), 오류 메세지(th:errors, 전체 오류), 모델 값(th:value),
+ * 파라미터 하나짜리 링크뿐이고, 렌더링은 조각을 이어 붙이고 빈칸만 {@link FormErrors} 로 채운다.
+ * <p>
+ * 이 밖의 th: 속성이 있는 템플릿은 {@link #compile} 이 null 을 반환한다. (Thymeleaf 로 그대로 렌더링)
+ */
+public class ErrorFormSkeleton {
+
+    private static final Pattern PARSER_COMMENT = Pattern.compile("<!--/\\*.*?\\*/-->", Pattern.DOTALL);
+    private static final Pattern FIELD = Pattern.compile("\\*\\{(\\w+)}");
+    private static final Pattern VARIABLE = Pattern.compile("\\$\\{(\\w+)}");
+    // |location.href='@{/path/{id}(id=${item.id})}'|
+    private static final Pattern PARAMETER_LINK =
+            Pattern.compile("\\|([^@|]*)@\\{(/[^{}()]*)\\{(\\w+)}\\((\\w+)=\\$\\{(\\w+)\\.(\\w+)}\\)}([^|]*)\\|");
+    private static final String HAS_GLOBAL_ERRORS = "${#fields.hasGlobalErrors()}";
+    private static final String EACH_GLOBAL_ERROR = "err : ${#fields.globalErrors()}";
+    private static final Pattern GLOBAL_ERRORS_BODY = Pattern.compile(
+            "\\G(.*?)<p((?:\\s+[^\\s=>/]+(?:=\"[^\"]*\")?)*)\\s*>[^<]*</p>(\\s*)</div\\s*>", Pattern.DOTALL);
+
+    private final List<Segment> segments;
+    private final String objectName;
+    private final int staticLength;
+
+    private ErrorFormSkeleton(List<Segment> segments, String objectName, int staticLength) {
+        this.segments = segments;
+        this.objectName = objectName;
+        this.staticLength = staticLength;
+    }
+
+    /**
+     * @param html 미리 계산한 템플릿
+     * @return 뼈대로 만들 수 없는 템플릿이면 null
+     */
+    public static ErrorFormSkeleton compile(String html, String contextPath) {
+        try {
+            return new Compiler(PARSER_COMMENT.matcher(html).replaceAll(""), contextPath == null ? "" : contextPath).compile();
+        } catch (UnsupportedTemplateException e) {
+            return null;
+        }
+    }
+
+    /**
+     * th:object 의 이름 (BindingResult 를 찾는 키)
+     */
+    public String getObjectName() {
+        return objectName;
+    }
+
+    public String render(FormErrors errors, Map<String, ?> model) {
+        StringBuilder out = new StringBuilder(staticLength + 512);
+        for (Segment segment : segments) {
+            segment.render(errors, model, out);
+        }
+        return out.toString();
+    }
+
+    private interface Segment {
+        void render(FormErrors errors, Map<String, ?> model, StringBuilder out);
+    }
+
+    private static final class Compiler {
+
+        private final String html;
+        private final String contextPath;
+        private final List<Segment> segments = new ArrayList<>();
+        private final StringBuilder literal = new StringBuilder();
+        private String objectName;
+        private int staticLength;
+
+        private Compiler(String html, String contextPath) {
+            this.html = html;
+            this.contextPath = contextPath;
+        }
+
+        private ErrorFormSkeleton compile() {
+            Matcher tag = TemplatePrecompiler.TAG.matcher(html);
+            int position = 0;
+            while (tag.find(position)) {
+                literal.append(html, position, tag.start());
+                position = tag.end();
+
+                String name = tag.group(1);
+                List<String[]> attributes = parseAttributes(tag.group(2));
+                if (attributes.stream().noneMatch(Compiler::isThymeleaf)) {
+                    literal.append(html, tag.start(), tag.end());
+                    continue;
+                }
+                position = compileTag(name, attributes, tag.group(3), position);
+            }
+            literal.append(html, position, html.length());
+            flushLiteral();
+            if (objectName == null) {
+                throw new UnsupportedTemplateException();
+            }
+            return new ErrorFormSkeleton(List.copyOf(segments), objectName, staticLength);
+        }
+
+        /**
+         * th: 속성이 있는 태그 - 태그 뒤 다음 위치를 반환한다. (th:errors 등은 본문까지 처리한다)
+         */
+        private int compileTag(String name, List<String[]> attributes, String end, int position) {
+            String errorsField = null;
+            boolean globalErrors = false;
+            String field = null;
+            String errorClass = null;
+            boolean action = false;
+            List<Attribute> dynamic = new ArrayList<>();
+
+            for (String[] attribute : attributes) {
+                if (!isThymeleaf(attribute)) {
+                    continue;
+                }
+                String value = attribute[1];
+                switch (attribute[0]) {
+                    case "xmlns:th":
+                        break;
+                    case "th:object":
+                        objectName = group(VARIABLE, value);
+                        break;
+                    case "th:action":
+                        if (value != null && !value.isEmpty()) {
+                            throw new UnsupportedTemplateException();
+                        }
+                        action = true; // 빈 th:action 은 action="" (현재 주소로 제출)
+                        break;
+                    case "th:field":
+                        field = group(FIELD, value);
+                        break;
+                    case "th:errorclass":
+                        errorClass = value;
+                        break;
+                    case "th:errors":
+                        errorsField = group(FIELD, value);
+                        break;
+                    case "th:if":
+                        if (!HAS_GLOBAL_ERRORS.equals(value)) {
+                            throw new UnsupportedTemplateException();
+                        }
+                        globalErrors = true;
+                        break;
+                    case "th:value":
+                        String variable = group(VARIABLE, value);
+                        dynamic.add(new Attribute("value", (errors, model) -> {
+                            Object modelValue = model.get(variable);
+                            return modelValue == null ? null : String.valueOf(modelValue);
+                        }));
+                        break;
+                    case "th:onclick":
+                    case "th:href":
+                        dynamic.add(new Attribute(attribute[0].substring(3), parameterLink(value)));
+                        break;
+                    default:
+                        throw new UnsupportedTemplateException();
+                }
+            }
+            if (errorClass != null && field == null || (errorsField != null || globalErrors) && !dynamic.isEmpty()) {
+                throw new UnsupportedTemplateException();
+            }
+
+            List<String[]> plain = new ArrayList<>();
+            for (String[] attribute : attributes) {
+                if (!isThymeleaf(attribute)) {
+                    plain.add(attribute);
+                }
+            }
+            if (action) {
+                plain.removeIf(attribute -> attribute[0].equals("action"));
+                plain.add(new String[]{"action", ""});
+            }
+            if (field != null) {
+                addFieldAttributes(plain, dynamic, field, errorClass);
+            }
+            for (Attribute attribute : dynamic) {
+                plain.removeIf(other -> other[0].equals(attribute.name));
+            }
+
+            StringBuilder open = new StringBuilder("<").append(name);
+            for (String[] attribute : plain) {
+                open.append(' ').append(attribute[0]);
+                if (attribute[1] != null) {
+                    open.append("=\"").append(attribute[1]).append('"');
+                }
+            }
+
+            if (errorsField != null) {
+                return compileErrors(name, open.append(end).append('>').toString(), errorsField, position);
+            }
+            if (globalErrors) {
+                return compileGlobalErrors(open.append(end).append('>').toString(), position);
+            }
+
+            literal.append(open);
+            for (Attribute attribute : dynamic) {
+                flushLiteral();
+                String prefix = " " + attribute.name + "=\"";
+                AttributeValue value = attribute.value;
+                // null 이면 Thymeleaf 처럼 속성을 쓰지 않는다.
+                segments.add((errors, model, out) -> {
+                    String resolved = value.resolve(errors, model);
+                    if (resolved != null) {
+                        out.append(prefix).append(HtmlUtils.htmlEscape(resolved)).append('"');
+                    }
+                });
+            }
+            literal.append(end).append('>');
+            return position;
+        }
+
+        /**
+         * th:field - id(없으면), name, value 와 th:errorclass 가 붙은 class
+         */
+        private void addFieldAttributes(List<String[]> plain, List<Attribute> dynamic, String field, String errorClass) {
+            if (plain.stream().noneMatch(attribute -> attribute[0].equals("id"))) {
+                plain.add(new String[]{"id", field});
+            }
+            plain.removeIf(attribute -> attribute[0].equals("name"));
+            plain.add(new String[]{"name", field});
+            dynamic.add(new Attribute("value", (errors, model) -> errors.value(field)));
+            if (errorClass == null) {
+                return;
+            }
+
+            String base = plain.stream().filter(attribute -> attribute[0].equals("class"))
+                    .map(attribute -> HtmlUtils.htmlUnescape(attribute[1])).findFirst().orElse(null);
+            String withError = base == null ? errorClass : base + " " + errorClass;
+            dynamic.add(new Attribute("class", (errors, model) -> errors.hasErrors(field) ? withError : base));
+        }
+
+        /**
+         * th:errors - 오류가 없으면 태그를 지우고, 있으면 메세지를 &lt;br /&gt; 로 이어서 본문에 넣는다.
+         */
+        private int compileErrors(String name, String open, String field, int position) {
+            Matcher body = Pattern.compile("\\G[^<]*</" + name + "\\s*>").matcher(html);
+            if (!body.find(position)) {
+                throw new UnsupportedTemplateException();
+            }
+            flushLiteral();
+            String close = "</" + name + ">";
+            segments.add((errors, model, out) -> {
+                List<String> messages = errors.messages(field);
+                if (messages.isEmpty()) {
+                    return;
+                }
+                out.append(open);
+                for (int i = 0; i < messages.size(); i++) {
+                    if (i > 0) {
+                        out.append("<br />");
+                    }
+                    out.append(HtmlUtils.htmlEscape(messages.get(i)));
+                }
+                out.append(close);
+            });
+            return body.end();
+        }
+
+        /**
+         * th:if="${#fields.hasGlobalErrors()}" 안에 th:each 로 전체 오류를 &lt;p&gt; 하나씩 쓰는 블럭
+         */
+        private int compileGlobalErrors(String open, int position) {
+            Matcher body = GLOBAL_ERRORS_BODY.matcher(html);
+            if (!body.find(position)) {
+                throw new UnsupportedTemplateException();
+            }
+            String prefix = body.group(1);
+            if (TemplatePrecompiler.TAG.matcher(prefix).find()) {
+                throw new UnsupportedTemplateException();
+            }
+            StringBuilder paragraph = new StringBuilder("<p");
+            boolean each = false;
+            boolean text = false;
+            for (String[] attribute : parseAttributes(body.group(2))) {
+                if (attribute[0].equals("th:each")) {
+                    each = EACH_GLOBAL_ERROR.equals(attribute[1]);
+                } else if (attribute[0].equals("th:text")) {
+                    text = "${err}".equals(attribute[1]);
+                } else if (isThymeleaf(attribute)) {
+                    throw new UnsupportedTemplateException();
+                } else {
+                    paragraph.append(' ').append(attribute[0]);
+                    if (attribute[1] != null) {
+                        paragraph.append("=\"").append(attribute[1]).append('"');
+                    }
+                }
+            }
+            if (!each || !text) {
+                throw new UnsupportedTemplateException();
+            }
+            String paragraphOpen = paragraph.append('>').toString();
+            String trailing = body.group(3);
+
+            flushLiteral();
+            segments.add((errors, model, out) -> {
+                List<String> messages = errors.globalMessages();
+                if (messages.isEmpty()) {
+                    return;
+                }
+                out.append(open).append(prefix);
+                for (String message : messages) {
+                    out.append(paragraphOpen).append(HtmlUtils.htmlEscape(message)).append("</p>");
+                }
+                out.append(trailing).append("</div>");
+            });
+            return body.end();
+        }
+
+        /**
+         * |...@{/path/{name}(name=${object.field})}...| - 값은 폼의 필드에서 꺼낸다.
+         */
+        private AttributeValue parameterLink(String value) {
+            Matcher link = value == null ? null : PARAMETER_LINK.matcher(value);
+            if (link == null || !link.matches() || !link.group(3).equals(link.group(4))) {
+                throw new UnsupportedTemplateException();
+            }
+            String prefix = link.group(1) + contextPath + link.group(2);
+            String variable = link.group(5);
+            String field = link.group(6);
+            String suffix = link.group(7);
+            return (errors, model) -> {
+                if (!variable.equals(errors.getObjectName())) {
+                    return null;
+                }
+                return prefix + UriUtils.encodePathSegment(errors.value(field), StandardCharsets.UTF_8) + suffix;
+            };
+        }
+
+        private void flushLiteral() {
+            if (literal.length() == 0) {
+                return;
+            }
+            String text = literal.toString();
+            literal.setLength(0);
+            staticLength += text.length();
+            segments.add((errors, model, out) -> out.append(text));
+        }
+
+        private static String group(Pattern pattern, String value) {
+            Matcher matcher = value == null ? null : pattern.matcher(value);
+            if (matcher == null || !matcher.matches()) {
+                throw new UnsupportedTemplateException();
+            }
+            return matcher.group(1);
+        }
+
+        private static boolean isThymeleaf(String[] attribute) {
+            return attribute[0].startsWith("th:") || attribute[0].equals("xmlns:th");
+        }
+
+        private static List<String[]> parseAttributes(String source) {
+            List<String[]> attributes = new ArrayList<>();
+            Matcher attribute = TemplatePrecompiler.ATTRIBUTE.matcher(source);
+            while (attribute.find()) {
+                attributes.add(new String[]{attribute.group(1), attribute.group(2)});
+            }
+            return attributes;
+        }
+    }
+
+    private interface AttributeValue {
+        /**
+         * @return null 이면 속성을 쓰지 않는다.
+         */
+        String resolve(FormErrors errors, Map<String, ?> model);
+    }
+
+    private static final class Attribute {
+
+        private final String name;
+        private final AttributeValue value;
+
+        private Attribute(String name, AttributeValue value) {
+            this.name = name;
+            this.value = value;
+        }
+    }
+
+    private static final class UnsupportedTemplateException extends RuntimeException {
+        UnsupportedTemplateException() {
+            super(null, null, false, false);
+        }
+    }
+}
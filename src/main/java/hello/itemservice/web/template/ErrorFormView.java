@@ -0,0 +1,35 @@
+package hello.itemservice.web.template;
+
+import org.springframework.web.servlet.View;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Map;
+
+/**
+ * 검증 오류가 있는 입력 폼 - 뼈대의 빈칸만 채워서 쓴다.
+ */
+public class ErrorFormView implements View {
+
+    private static final String CONTENT_TYPE = "text/html;charset=UTF-8";
+
+    private final ErrorFormSkeleton skeleton;
+    private final FormErrors errors;
+
+    public ErrorFormView(ErrorFormSkeleton skeleton, FormErrors errors) {
+        this.skeleton = skeleton;
+        this.errors = errors;
+    }
+
+    @Override
+    public String getContentType() {
+        return CONTENT_TYPE;
+    }
+
+    @Override
+    public void render(Map<String, ?> model, HttpServletRequest request, HttpServletResponse response) throws Exception {
+        String html = skeleton.render(errors, model == null ? Map.of() : model);
+        response.setContentType(CONTENT_TYPE);
+        response.getWriter().write(html);
+    }
+}
@@ -0,0 +1,69 @@
+package hello.itemservice.web.template;
+
+import org.springframework.context.MessageSource;
+import org.springframework.util.ObjectUtils;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 요청 한번의 검증 결과를 화면에 쓸 문자열로 미리 계산한 것 (필드별 오류 메세지, 전체 오류 메세지)
+ * <p>
+ * 메세지는 여기서 한번만 찾는다. 폼의 입력값은 BindingResult 에서 그대로 꺼낸다. (거절된 값 또는 포맷된 값)
+ */
+public class FormErrors {
+
+    private final BindingResult bindingResult;
+    private final Map<String, List<String>> fieldMessages;
+    private final List<String> globalMessages;
+
+    private FormErrors(BindingResult bindingResult, Map<String, List<String>> fieldMessages, List<String> globalMessages) {
+        this.bindingResult = bindingResult;
+        this.fieldMessages = fieldMessages;
+        this.globalMessages = globalMessages;
+    }
+
+    public static FormErrors of(BindingResult bindingResult, MessageSource messageSource, Locale locale) {
+        Map<String, List<String>> fieldMessages = new HashMap<>();
+        for (FieldError error : bindingResult.getFieldErrors()) {
+            fieldMessages.computeIfAbsent(error.getField(), field -> new ArrayList<>(2))
+                    .add(messageSource.getMessage(error, locale));
+        }
+        List<ObjectError> globalErrors = bindingResult.getGlobalErrors();
+        List<String> globalMessages = new ArrayList<>(globalErrors.size());
+        for (ObjectError error : globalErrors) {
+            globalMessages.add(messageSource.getMessage(error, locale));
+        }
+        return new FormErrors(bindingResult, fieldMessages, globalMessages);
+    }
+
+    public String getObjectName() {
+        return bindingResult.getObjectName();
+    }
+
+    public boolean hasErrors(String field) {
+        return fieldMessages.containsKey(field);
+    }
+
+    public List<String> messages(String field) {
+        return fieldMessages.getOrDefault(field, Collections.emptyList());
+    }
+
+    public List<String> globalMessages() {
+        return globalMessages;
+    }
+
+    /**
+     * 입력 폼에 다시 보여줄 값 (th:field 와 같다)
+     */
+    public String value(String field) {
+        return ObjectUtils.getDisplayString(bindingResult.getFieldValue(field));
+    }
+}
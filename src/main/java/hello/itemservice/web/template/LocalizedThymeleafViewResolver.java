@@ -0,0 +1,24 @@
+package hello.itemservice.web.template;
+
+import org.springframework.web.servlet.View;
+import org.thymeleaf.spring5.view.AbstractThymeleafView;
+import org.thymeleaf.spring5.view.ThymeleafViewResolver;
+
+import java.util.Locale;
+
+/**
+ * 뷰의 템플릿 이름에 언어를 붙여서 {@link PrecompiledTemplateResolver} 가 처리하게 한다.
+ * 뷰는 (뷰이름, Locale) 별로 캐시되므로 요청마다 이름을 만들지 않는다.
+ */
+public class LocalizedThymeleafViewResolver extends ThymeleafViewResolver {
+
+    @Override
+    protected View loadView(String viewName, Locale locale) throws Exception {
+        View view = super.loadView(viewName, locale);
+        if (view instanceof AbstractThymeleafView && !viewName.contains("::")) {
+            AbstractThymeleafView thymeleafView = (AbstractThymeleafView) view;
+            thymeleafView.setTemplateName(PrecompiledTemplateResolver.templateName(viewName, locale));
+        }
+        return view;
+    }
+}
@@ -0,0 +1,106 @@
+package hello.itemservice.web.template;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.util.StreamUtils;
+import org.thymeleaf.IEngineConfiguration;
+import org.thymeleaf.cache.AlwaysValidCacheEntryValidity;
+import org.thymeleaf.cache.NonCacheableCacheEntryValidity;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ITemplateResolver;
+import org.thymeleaf.templateresolver.TemplateResolution;
+import org.thymeleaf.templateresource.StringTemplateResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * "뷰이름@언어" 형태의 템플릿을 언어별로 미리 계산해서 돌려준다.
+ * <p>
+ * 템플릿 엔진은 템플릿 이름으로 파싱 결과를 캐시하므로, 언어마다 한번만 계산하고 파싱한다.
+ * 이름에 @ 가 없으면 null 을 반환해서 기본 resolver 가 처리하게 한다.
+ */
+@Slf4j
+public class PrecompiledTemplateResolver implements ITemplateResolver {
+
+    private static final char LOCALE_SEPARATOR = '@';
+
+    private final ResourceLoader resourceLoader;
+    private final String prefix;
+    private final String suffix;
+    private final Charset encoding;
+    private final TemplatePrecompiler precompiler;
+    private final boolean cacheable;
+
+    public PrecompiledTemplateResolver(ResourceLoader resourceLoader, String prefix, String suffix, Charset encoding,
+                                       TemplatePrecompiler precompiler, boolean cacheable) {
+        this.resourceLoader = resourceLoader;
+        this.prefix = prefix;
+        this.suffix = suffix;
+        this.encoding = encoding;
+        this.precompiler = precompiler;
+        this.cacheable = cacheable;
+    }
+
+    /**
+     * 메세지 파일은 언어 단위이므로 국가는 버린다. (ko-KR, ko 는 같은 템플릿)
+     */
+    public static String templateName(String viewName, Locale locale) {
+        return viewName + LOCALE_SEPARATOR + new Locale(locale.getLanguage()).toLanguageTag();
+    }
+
+    @Override
+    public String getName() {
+        return getClass().getSimpleName();
+    }
+
+    @Override
+    public Integer getOrder() {
+        return 0;
+    }
+
+    @Override
+    public TemplateResolution resolveTemplate(IEngineConfiguration configuration, String ownerTemplate, String template,
+                                              Map<String, Object> templateResolutionAttributes) {
+        int separator = template.lastIndexOf(LOCALE_SEPARATOR);
+        if (separator < 0) {
+            return null;
+        }
+
+        String html = precompile(template.substring(0, separator), Locale.forLanguageTag(template.substring(separator + 1)));
+        if (html == null) {
+            return null;
+        }
+        log.debug("템플릿 사전 계산 template={}", template);
+        return new TemplateResolution(new StringTemplateResource(html), true, TemplateMode.HTML, false,
+                cacheable ? AlwaysValidCacheEntryValidity.INSTANCE : NonCacheableCacheEntryValidity.INSTANCE);
+    }
+
+    /**
+     * 뷰 템플릿을 언어에 맞게 미리 계산한 html, 템플릿이 없으면 null
+     */
+    public String precompile(String viewName, Locale locale) {
+        Resource resource = resourceLoader.getResource(prefix + viewName + suffix);
+        if (!resource.exists()) {
+            return null;
+        }
+        return precompiler.precompile(read(resource), locale);
+    }
+
+    public boolean isCacheable() {
+        return cacheable;
+    }
+
+    private String read(Resource resource) {
+        try (InputStream in = resource.getInputStream()) {
+            return StreamUtils.copyToString(in, encoding);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
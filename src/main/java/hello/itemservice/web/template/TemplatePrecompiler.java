@@ -0,0 +1,196 @@
+package hello.itemservice.web.template;
+
+import org.springframework.context.MessageSource;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 템플릿의 정적인 부분을 언어별로 미리 계산한다.
+ * <p>
+ * - th:text="#{key}" 는 메세지를 태그 본문에 넣고 속성을 지운다.
+ * - th:placeholder="#{key}" 같은 일반 속성은 placeholder="메세지" 로 바꾼다.
+ * - 파라미터가 없는 링크 @{/path} 는 contextPath 를 붙인 문자열로 바꾼다. (정적 리소스는 버전이 붙은 경로로)
+ * 동적인 표현식(${...}, *{...}, 파라미터가 있는 링크)은 그대로 두고 렌더링 때 평가한다.
+ */
+public class TemplatePrecompiler {
+
+    static final Pattern TAG = Pattern.compile("<([a-zA-Z][\\w-]*)((?:\\s+[^\\s=>/]+(?:=\"[^\"]*\")?)*)(\\s*/?)>");
+    static final Pattern ATTRIBUTE = Pattern.compile("\\s+([^\\s=>/]+)(?:=\"([^\"]*)\")?");
+    private static final Pattern MESSAGE = Pattern.compile("#\\{([\\w.-]+)}");
+    private static final Pattern STATIC_LINK = Pattern.compile("@\\{(/[^{}()$|'\"\\s*#~]*)}");
+    private static final Pattern EXPRESSION = Pattern.compile("[$*#@~]\\{");
+
+    // th: 를 떼고 일반 속성으로 바꿔도 되는 속성
+    private static final Set<String> PLAIN_ATTRIBUTES = Set.of("href", "src", "onclick", "placeholder", "title", "alt", "value");
+
+    private final MessageSource messageSource;
+    private final String contextPath;
+    private final UnaryOperator<String> resourceUrls;
+
+    public TemplatePrecompiler(MessageSource messageSource, String contextPath) {
+        this(messageSource, contextPath, UnaryOperator.identity());
+    }
+
+    /**
+     * @param resourceUrls 정적 리소스 경로 -> 버전이 붙은 경로 (ResourceUrlEncodingFilter 가 하던 일)
+     */
+    public TemplatePrecompiler(MessageSource messageSource, String contextPath, UnaryOperator<String> resourceUrls) {
+        this.messageSource = messageSource;
+        this.contextPath = contextPath == null ? "" : contextPath;
+        this.resourceUrls = resourceUrls;
+    }
+
+    public String precompile(String html, Locale locale) {
+        StringBuilder result = new StringBuilder(html.length());
+        Matcher tag = TAG.matcher(html);
+        int position = 0;
+        while (tag.find(position)) {
+            result.append(html, position, tag.start());
+            position = tag.end();
+
+            String name = tag.group(1);
+            String end = tag.group(3);
+            List<Attribute> attributes = parseAttributes(tag.group(2));
+            Attribute text = precompileAttributes(attributes, locale);
+
+            // th:text 는 본문이 텍스트뿐일 때만 메세지로 바꾼다.
+            if (text != null && !end.contains("/")) {
+                Matcher body = Pattern.compile("\\G[^<]*</" + name + "\\s*>").matcher(html);
+                if (body.find(position)) {
+                    attributes.remove(text);
+                    appendTag(result, name, attributes, end);
+                    result.append(HtmlUtils.htmlEscape(text.resolved)).append("</").append(name).append('>');
+                    position = body.end();
+                    continue;
+                }
+            }
+            appendTag(result, name, attributes, end);
+        }
+        result.append(html, position, html.length());
+        return result.toString();
+    }
+
+    /**
+     * 속성을 바꾸고, 메세지를 찾은 th:text 속성이 있으면 반환한다.
+     */
+    private Attribute precompileAttributes(List<Attribute> attributes, Locale locale) {
+        Attribute text = null;
+        for (Attribute attribute : new ArrayList<>(attributes)) {
+            if (!attribute.name.startsWith("th:") || attribute.value == null) {
+                continue;
+            }
+            String name = attribute.name.substring(3);
+
+            Matcher message = MESSAGE.matcher(attribute.value);
+            if (message.matches()) {
+                String resolved = resolve(message.group(1), locale);
+                if (resolved == null) {
+                    continue;
+                }
+                if (name.equals("text")) {
+                    attribute.resolved = resolved;
+                    text = attribute;
+                } else if (PLAIN_ATTRIBUTES.contains(name)) {
+                    replaceWithPlain(attributes, attribute, name, HtmlUtils.htmlEscape(resolved));
+                }
+                continue;
+            }
+
+            Matcher link = STATIC_LINK.matcher(attribute.value);
+            if (link.matches() && PLAIN_ATTRIBUTES.contains(name)) {
+                replaceWithPlain(attributes, attribute, name, url(link.group(1)));
+                continue;
+            }
+
+            String inlined = inlineLinks(attribute.value);
+            if (inlined.equals(attribute.value)) {
+                continue;
+            }
+            if (isLiteralSubstitution(inlined) && !EXPRESSION.matcher(inlined).find() && PLAIN_ATTRIBUTES.contains(name)) {
+                replaceWithPlain(attributes, attribute, name, inlined.substring(1, inlined.length() - 1));
+            } else {
+                attribute.value = inlined;
+            }
+        }
+        return text;
+    }
+
+    /**
+     * 표현식 안의 정적 링크 - |...| 안에서는 그대로, 그 밖에서는 문자열 리터럴로
+     */
+    private String inlineLinks(String value) {
+        boolean literal = isLiteralSubstitution(value);
+        Matcher link = STATIC_LINK.matcher(value);
+        StringBuffer inlined = new StringBuffer(value.length());
+        while (link.find()) {
+            String url = url(link.group(1));
+            link.appendReplacement(inlined, Matcher.quoteReplacement(literal ? url : "'" + url + "'"));
+        }
+        link.appendTail(inlined);
+        return inlined.toString();
+    }
+
+    private String url(String path) {
+        return contextPath + resourceUrls.apply(path);
+    }
+
+    private String resolve(String key, Locale locale) {
+        try {
+            return messageSource.getMessage(key, null, locale);
+        } catch (NoSuchMessageException e) {
+            return null; // 렌더링 때 처리하도록 둔다.
+        }
+    }
+
+    private static boolean isLiteralSubstitution(String value) {
+        return value.length() >= 2 && value.startsWith("|") && value.endsWith("|");
+    }
+
+    /**
+     * th:name 을 같은 자리의 일반 속성으로 바꾼다. (기존의 같은 이름 속성은 지운다)
+     */
+    private static void replaceWithPlain(List<Attribute> attributes, Attribute attribute, String name, String value) {
+        attributes.removeIf(other -> other.name.equals(name));
+        attributes.set(attributes.indexOf(attribute), new Attribute(name, value));
+    }
+
+    private static List<Attribute> parseAttributes(String source) {
+        List<Attribute> attributes = new ArrayList<>();
+        Matcher attribute = ATTRIBUTE.matcher(source);
+        while (attribute.find()) {
+            attributes.add(new Attribute(attribute.group(1), attribute.group(2)));
+        }
+        return attributes;
+    }
+
+    private static void appendTag(StringBuilder result, String name, List<Attribute> attributes, String end) {
+        result.append('<').append(name);
+        for (Attribute attribute : attributes) {
+            result.append(' ').append(attribute.name);
+            if (attribute.value != null) {
+                result.append("=\"").append(attribute.value).append('"');
+            }
+        }
+        result.append(end).append('>');
+    }
+
+    private static final class Attribute {
+
+        private final String name;
+        private String value;
+        private String resolved; // th:text 메세지
+
+        private Attribute(String name, String value) {
+            this.name = name;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package hello.itemservice.web.tenant;
+
+import hello.itemservice.tenant.TenantContext;
+import hello.itemservice.tenant.TenantScope;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 요청 헤더(기본 X-Tenant-Id)로 테넌트를 고른다. 헤더가 없으면 기본 테넌트
+ * <p>
+ * 경로(/t/{tenant}/...)로 고르지 않는 이유: 미리 계산한 템플릿의 링크가 테넌트 없는 경로로 고정되어 있다.
+ * <p>
+ * 허용 목록에 없는 테넌트는 403, 테넌트 한도가 찼으면 429 로 바로 돌려보낸다. (저장소를 만들기 전에)
+ */
+public class TenantFilter extends OncePerRequestFilter {
+
+    private final String headerName;
+    private final TenantScope tenantScope;
+
+    public TenantFilter(String headerName, TenantScope tenantScope) {
+        this.headerName = headerName;
+        this.tenantScope = tenantScope;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String tenantId = request.getHeader(headerName);
+        if (!StringUtils.hasText(tenantId)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (!TenantContext.isValid(tenantId)) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "잘못된 " + headerName + " 헤더입니다.");
+            return;
+        }
+        if (!tenantScope.isAllowed(tenantId)) {
+            response.sendError(HttpStatus.FORBIDDEN.value(), "등록되지 않은 테넌트입니다.");
+            return;
+        }
+        if (!tenantScope.hasRoomFor(tenantId)) {
+            response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "테넌트 한도를 넘었습니다.");
+            return;
+        }
+
+        TenantContext.set(tenantId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            TenantContext.clear();
+        }
+    }
+}
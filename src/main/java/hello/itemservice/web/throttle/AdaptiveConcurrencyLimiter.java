@@ -0,0 +1,78 @@
+package hello.itemservice.web.throttle;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 동시 처리 수 제한 (AIMD)
+ * <p>
+ * 처리 시간이 latencyThreshold 를 넘거나 실패하면 한도를 backoffRatio 배로 줄이고(multiplicative decrease),
+ * 빠르게 끝났고 한도의 절반 이상을 쓰고 있었다면 1 늘린다(additive increase).
+ * 줄이는 것은 latencyThreshold 동안 한번만 한다. (한번 느려진 구간에 끝나는 요청들이 한도를 연달아 깎지 않도록)
+ * 한도를 넘는 요청은 기다리지 않고 바로 거절한다.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+
+    private final AtomicInteger limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong nextDecrease;
+    private final LongSupplier nanoClock;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      long latencyThresholdNanos, double backoffRatio) {
+        this(initialLimit, minLimit, maxLimit, latencyThresholdNanos, backoffRatio, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                               long latencyThresholdNanos, double backoffRatio, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.nextDecrease = new AtomicLong(nanoClock.getAsLong());
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.backoffRatio = backoffRatio;
+        this.limit = new AtomicInteger(Math.min(maxLimit, Math.max(minLimit, initialLimit)));
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit.get()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * tryAcquire 가 true 였던 요청이 끝나면 한번 호출한다.
+     */
+    public void release(long latencyNanos, boolean failed) {
+        int before = inFlight.getAndDecrement();
+        if (failed || latencyNanos > latencyThresholdNanos) {
+            long now = nanoClock.getAsLong();
+            long next = nextDecrease.get();
+            if (now - next >= 0 && nextDecrease.compareAndSet(next, now + latencyThresholdNanos)) {
+                limit.updateAndGet(current -> Math.max(minLimit, (int) (current * backoffRatio)));
+            }
+        } else if (before * 2 >= limit.get()) {
+            limit.updateAndGet(current -> Math.min(maxLimit, current + 1));
+        }
+    }
+
+    public int limit() {
+        return limit.get();
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+}
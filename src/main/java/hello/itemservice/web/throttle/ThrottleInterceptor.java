@@ -0,0 +1,65 @@
+package hello.itemservice.web.throttle;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * 등록/수정 POST 를 바인딩, 검증 전에 제한한다. 넘치는 요청은 오류 페이지 렌더링 없이 바로 429 로 응답한다.
+ * 클라이언트는 접속 주소(remoteAddr)로 구분한다. (X-Forwarded-For 는 위조할 수 있어서 쓰지 않는다)
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ThrottleInterceptor implements HandlerInterceptor {
+
+    private static final String STARTED_ATTRIBUTE = ThrottleInterceptor.class.getName() + ".STARTED";
+
+    private final WriteThrottle writeThrottle;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (!writeThrottle.isEnabled() || !"POST".equals(request.getMethod())
+                || writeThrottle.isBypass(request.getHeader(WriteThrottle.BYPASS_HEADER))) {
+            return true;
+        }
+
+        Duration retryAfter = writeThrottle.acquireRate(request.getRemoteAddr());
+        if (retryAfter != null) {
+            reject(response, retryAfter);
+            return false;
+        }
+        if (!writeThrottle.acquireConcurrency()) {
+            reject(response, Duration.ofSeconds(1));
+            return false;
+        }
+
+        request.setAttribute(STARTED_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object started = request.getAttribute(STARTED_ATTRIBUTE);
+        if (started != null) {
+            request.removeAttribute(STARTED_ATTRIBUTE);
+            writeThrottle.release(System.nanoTime() - (long) started, ex != null || response.getStatus() >= 500);
+        }
+    }
+
+    private static void reject(HttpServletResponse response, Duration retryAfter) throws IOException {
+        // 올림해서 초 단위로
+        long seconds = Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(seconds));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.getWriter().write("Too Many Requests");
+    }
+}
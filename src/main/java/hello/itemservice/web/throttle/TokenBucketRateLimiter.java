@@ -0,0 +1,92 @@
+package hello.itemservice.web.throttle;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 클라이언트별 토큰 버킷 (GCRA)
+ * <p>
+ * 버킷마다 "다음 요청이 이론상 도착해야 할 시각(TAT)" 하나만 AtomicLong 으로 들고 CAS 로 갱신한다. 잠금이 없다.
+ * 초당 ratePerSecond 개가 채워지고 최대 burst 개까지 몰아서 쓸 수 있다.
+ * <p>
+ * 클라이언트 수가 maxClients 를 넘으면 가득 찬(오래 쉰) 버킷을 정리하고, 그래도 넘치면 새 클라이언트는
+ * 공용 버킷 하나를 같이 쓴다. (주소를 바꿔가며 들어오는 요청이 메모리를 늘리지 못하게)
+ */
+public class TokenBucketRateLimiter {
+
+    static final String OVERFLOW_CLIENT = "*";
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final int maxClients;
+    private final LongSupplier nanoClock;
+
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep = new AtomicLong();
+
+    public TokenBucketRateLimiter(double ratePerSecond, int burst, int maxClients) {
+        this(ratePerSecond, burst, maxClients, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(double ratePerSecond, int burst, int maxClients, LongSupplier nanoClock) {
+        this.intervalNanos = (long) (1_000_000_000L / ratePerSecond);
+        this.toleranceNanos = intervalNanos * Math.max(1, burst);
+        this.maxClients = maxClients;
+        this.nanoClock = nanoClock;
+    }
+
+    public boolean tryAcquire(String client) {
+        return acquire(client) == 0;
+    }
+
+    /**
+     * 공용 버킷으로 간 클라이언트는 공용 버킷에서 차감하므로 남은 시간도 그 버킷 기준이다.
+     *
+     * @return 통과하면 0, 넘으면 다시 요청할 수 있을 때까지 남은 시간 (Retry-After 용)
+     */
+    public long acquire(String client) {
+        long now = nanoClock.getAsLong();
+        AtomicLong tat = bucket(client, now);
+        while (true) {
+            long current = tat.get();
+            long next = (current - now > 0 ? current : now) + intervalNanos;
+            if (next - now > toleranceNanos) {
+                return next - now - toleranceNanos;
+            }
+            if (tat.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public int clientCount() {
+        return buckets.size();
+    }
+
+    private AtomicLong bucket(String client, long now) {
+        AtomicLong tat = buckets.get(client);
+        if (tat != null) {
+            return tat;
+        }
+        if (buckets.size() >= maxClients) {
+            sweep(now);
+            if (buckets.size() >= maxClients) {
+                return buckets.computeIfAbsent(OVERFLOW_CLIENT, k -> new AtomicLong(now));
+            }
+        }
+        return buckets.computeIfAbsent(client, k -> new AtomicLong(now));
+    }
+
+    /**
+     * 가득 찬 버킷은 처음 만든 것과 같으므로 지워도 된다. 정리는 최대 초당 한번만
+     */
+    private void sweep(long now) {
+        long last = lastSweep.get();
+        if (now - last < 1_000_000_000L || !lastSweep.compareAndSet(last, now)) {
+            return;
+        }
+        buckets.values().removeIf(tat -> tat.get() - now <= 0);
+    }
+}
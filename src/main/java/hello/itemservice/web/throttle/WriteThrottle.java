@@ -0,0 +1,99 @@
+package hello.itemservice.web.throttle;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * 등록/수정 요청 제한 - 클라이언트별 속도 제한 + 전체 동시 처리 수 제한 (기본 꺼짐 - throttle.enabled)
+ * <p>
+ * 클라이언트는 접속 주소로 구분하므로 프록시 뒤에서는 server.forward-headers-strategy 로 실제 주소를 받도록 설정한 뒤 켠다.
+ * (그렇지 않으면 모든 요청이 프록시 주소 하나의 속도 제한을 나눠 쓴다)
+ * <p>
+ * 메트릭
+ * - throttle.rejected{reason=rate|concurrency} : 거절한 요청 수
+ * - throttle.concurrency.limit / throttle.concurrency.in-flight : 현재 한도와 처리 중인 요청 수
+ * <p>
+ * 기동 예열(StartupWarmup)의 요청은 {@link #BYPASS_HEADER} 에 기동마다 새로 만든 토큰을 실어 보내고 제한에서 뺀다.
+ * (예열이 127.0.0.1 의 속도 제한을 다 쓰거나 동시 처리 한도를 줄이지 않도록)
+ */
+@Component
+public class WriteThrottle {
+
+    public static final String BYPASS_HEADER = "X-Throttle-Bypass";
+
+    private final boolean enabled;
+    private final byte[] bypassToken = UUID.randomUUID().toString().getBytes(StandardCharsets.US_ASCII);
+    private final TokenBucketRateLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    private final Counter rateRejected;
+    private final Counter concurrencyRejected;
+
+    public WriteThrottle(@Value("${throttle.enabled:false}") boolean enabled,
+                         @Value("${throttle.rate-per-second:10}") double ratePerSecond,
+                         @Value("${throttle.burst:20}") int burst,
+                         @Value("${throttle.max-clients:100000}") int maxClients,
+                         @Value("${throttle.concurrency.initial:20}") int initialLimit,
+                         @Value("${throttle.concurrency.min:4}") int minLimit,
+                         @Value("${throttle.concurrency.max:100}") int maxLimit,
+                         @Value("${throttle.concurrency.latency-threshold:250ms}") Duration latencyThreshold,
+                         MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.rateLimiter = new TokenBucketRateLimiter(ratePerSecond, burst, maxClients);
+        this.concurrencyLimiter = new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit,
+                latencyThreshold.toNanos(), 0.9);
+
+        this.rateRejected = Counter.builder("throttle.rejected").tag("reason", "rate").register(meterRegistry);
+        this.concurrencyRejected = Counter.builder("throttle.rejected").tag("reason", "concurrency").register(meterRegistry);
+        Gauge.builder("throttle.concurrency.limit", concurrencyLimiter, AdaptiveConcurrencyLimiter::limit).register(meterRegistry);
+        Gauge.builder("throttle.concurrency.in-flight", concurrencyLimiter, AdaptiveConcurrencyLimiter::inFlight).register(meterRegistry);
+        Gauge.builder("throttle.clients", rateLimiter, TokenBucketRateLimiter::clientCount).register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 같은 프로세스 안에서만 쓴다. (밖으로 내보내지 않는다)
+     */
+    public String bypassToken() {
+        return new String(bypassToken, StandardCharsets.US_ASCII);
+    }
+
+    boolean isBypass(String token) {
+        return token != null && MessageDigest.isEqual(bypassToken, token.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * 속도 제한을 넘으면 다시 시도할 수 있을 때까지의 시간, 통과하면 null
+     */
+    Duration acquireRate(String client) {
+        long waitNanos = rateLimiter.acquire(client);
+        if (waitNanos == 0) {
+            return null;
+        }
+        rateRejected.increment();
+        return Duration.ofNanos(waitNanos);
+    }
+
+    boolean acquireConcurrency() {
+        if (concurrencyLimiter.tryAcquire()) {
+            return true;
+        }
+        concurrencyRejected.increment();
+        return false;
+    }
+
+    void release(long latencyNanos, boolean failed) {
+        concurrencyLimiter.release(latencyNanos, failed);
+    }
+}
@@ -0,0 +1,246 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.ItemChangeEvent;
+import hello.itemservice.domain.item.ItemChangeFeed;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.tenant.TenantContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 상품 변경 스트림 (Server-Sent Events)
+ * <p>
+ * 구독자마다 마지막으로 보낸 sequence 를 들고 있다가 주기적으로 링 버퍼에서 묶어서(batch) 보낸다.
+ * 쓰기 쪽은 구독자를 기다리지 않으며, 느린 구독자가 버퍼보다 뒤처지면 "reset" 이벤트를 받고
+ * 전체 목록을 다시 읽은 뒤 새 sequence 부터 이어서 받는다.
+ * 재연결 시에는 Last-Event-ID 헤더(또는 since 파라미터)부터 이어서 받는다.
+ * <p>
+ * 주기 스레드는 보낼 것이 있는지만 보고, 실제 전송(emitter.send 는 소켓이 막히면 같이 막힌다)은 구독자마다
+ * 하나씩 전송 스레드에 맡긴다. 전송 하나가 item.changes.send-timeout-millis 를 넘기면 그 구독자는 끊는다.
+ * <p>
+ * 저장소는 테넌트 스코프이므로 구독한 테넌트를 기억해두고 주기마다 그 테넌트로 피드를 다시 찾는다.
+ * (열린 스트림도 테넌트 사용으로 쳐서 내려가지 않게 하고, 내려갔다 스냅샷에서 살아났으면 새 피드를 본다)
+ * 다시 찾지 못하면(테넌트 한도 초과 등) 구독자를 끊는다.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/validation/api/items")
+public class ItemChangeStreamController {
+
+    private final ItemRepository itemRepository;
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService sender;
+    private final AtomicInteger subscribers = new AtomicInteger();
+
+    private final long pollIntervalMillis;
+    private final int batchSize;
+    private final long timeoutMillis;
+    private final long sendTimeoutNanos;
+
+    public ItemChangeStreamController(ItemRepository itemRepository,
+                                      @Value("${item.changes.poll-interval-millis:100}") long pollIntervalMillis,
+                                      @Value("${item.changes.batch-size:256}") int batchSize,
+                                      @Value("${item.changes.timeout-millis:1800000}") long timeoutMillis,
+                                      @Value("${item.changes.threads:2}") int threads,
+                                      @Value("${item.changes.send-timeout-millis:5000}") long sendTimeoutMillis) {
+        this.itemRepository = itemRepository;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.batchSize = batchSize;
+        this.timeoutMillis = timeoutMillis;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+        this.scheduler = Executors.newScheduledThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "item-changes");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // 전송 중인 것은 구독자마다 최대 하나이므로 스레드 수는 구독자 수를 넘지 않는다.
+        this.sender = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "item-changes-send");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter changes(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+                              @RequestParam(value = "since", required = false) Long since) {
+        ItemChangeFeed feed = itemRepository.changeFeed();
+        long start = lastEventId != null ? lastEventId : since != null ? since : feed.lastSequence();
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscription subscription = new Subscription(TenantContext.current(), feed, emitter, start);
+        subscribers.incrementAndGet();
+        subscription.task = scheduler.scheduleWithFixedDelay(subscription, 0, pollIntervalMillis, TimeUnit.MILLISECONDS);
+
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(e -> subscription.close());
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        sender.shutdownNow();
+    }
+
+    private class Subscription implements Runnable {
+
+        private final String tenantId;
+        private final SseEmitter emitter;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private volatile ScheduledFuture<?> task;
+        private volatile long sendStartedAt;
+        private volatile long cursor;
+        private volatile ItemChangeFeed feed; // 주기마다 다시 찾는다.
+
+        private Subscription(String tenantId, ItemChangeFeed feed, SseEmitter emitter, long cursor) {
+            this.tenantId = tenantId;
+            this.feed = feed;
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+
+        /**
+         * 주기 스레드 - 보내지 않고 전송 스레드에 맡기기만 한다.
+         */
+        @Override
+        public void run() {
+            if (closed.get()) {
+                ScheduledFuture<?> scheduled = task;
+                if (scheduled != null) {
+                    scheduled.cancel(false);
+                }
+                return;
+            }
+            if (sending.get()) {
+                if (System.nanoTime() - sendStartedAt > sendTimeoutNanos) {
+                    disconnectSlow();
+                }
+                return;
+            }
+            ItemChangeFeed current;
+            try {
+                current = currentFeed();
+            } catch (RuntimeException e) {
+                // 예외를 넘기면 스케줄러가 조용히 주기를 멈추므로 여기서 끊는다.
+                log.info("변경 스트림 피드를 찾지 못해 연결 종료 tenant={}", tenantId, e);
+                disconnect(e.getMessage());
+                return;
+            }
+            feed = current;
+            if (cursor == current.lastSequence()) {
+                return;
+            }
+            sendStartedAt = System.nanoTime();
+            sending.set(true);
+            try {
+                sender.execute(this::send);
+            } catch (RejectedExecutionException e) {
+                sending.set(false); // 종료 중
+            }
+        }
+
+        /**
+         * 전송 스레드 - 이 구독자의 전송은 한번에 하나만 돈다.
+         */
+        private void send() {
+            ItemChangeFeed feed = this.feed;
+            try {
+                // cursor 가 피드보다 앞서면 피드가 새로 시작된 것이다. (비어있어 스냅샷 없이 내려갔던 테넌트)
+                if (cursor < feed.oldestSequence() - 1 || cursor > feed.lastSequence()) {
+                    // 버퍼보다 뒤처졌다. 유실 구간을 알리고 현재 시점부터 다시 시작
+                    long resumeFrom = feed.lastSequence();
+                    emitter.send(SseEmitter.event().name("reset").id(String.valueOf(resumeFrom))
+                            .data(Map.of("missedAfter", cursor, "resumeFrom", resumeFrom)));
+                    cursor = resumeFrom;
+                    return;
+                }
+
+                List<ItemChangeEvent> events = feed.readAfter(cursor, batchSize);
+                if (events.isEmpty()) {
+                    return;
+                }
+                long last = events.get(events.size() - 1).getSequence();
+                emitter.send(SseEmitter.event().name("items").id(String.valueOf(last))
+                        .data(events, MediaType.APPLICATION_JSON));
+                cursor = last;
+            } catch (IOException | IllegalStateException e) {
+                log.debug("변경 스트림 구독 종료 cursor={}", cursor, e);
+                close();
+                emitter.completeWithError(e);
+            } finally {
+                sending.set(false);
+            }
+        }
+
+        /**
+         * 구독한 테넌트의 피드 (스케줄러 스레드에는 테넌트가 없으므로 잠깐 설정한다)
+         */
+        private ItemChangeFeed currentFeed() {
+            TenantContext.set(tenantId);
+            try {
+                return itemRepository.changeFeed();
+            } finally {
+                TenantContext.clear();
+            }
+        }
+
+        /**
+         * 전송이 오래 막혀 있으면 더 보내지 않고 끊는다.
+         */
+        private void disconnectSlow() {
+            if (!closed.get()) {
+                log.info("느린 구독자 연결 종료 cursor={}", cursor);
+                disconnect("변경 스트림 전송 시간 초과");
+            }
+        }
+
+        /**
+         * emitter 는 send 중에 잠겨 있으므로 종료도 전송 스레드에서 한다. (막힌 send 가 실패하거나 끝나면 진행)
+         */
+        private void disconnect(String reason) {
+            close();
+            try {
+                sender.execute(() -> emitter.completeWithError(new IOException(reason)));
+            } catch (RejectedExecutionException ignored) {
+                // 종료 중
+            }
+        }
+
+        private void close() {
+            if (closed.compareAndSet(false, true)) {
+                subscribers.decrementAndGet();
+                ScheduledFuture<?> scheduled = task;
+                if (scheduled != null) {
+                    scheduled.cancel(false);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.ItemVersion;
+import hello.itemservice.tenant.TenantContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+
+import javax.servlet.http.HttpServletResponse;
+import java.util.Locale;
+
+/**
+ * 상품 상세/수정 폼 페이지의 조건부 GET (ETag, Last-Modified)
+ * <p>
+ * ETag 는 "기동 id - 테넌트 - 상품 버전 - 언어" 이다. 저장소는 메모리에 있으므로 재시작하면 버전이 처음부터 다시 시작해서
+ * 기동 id 로 구분하고, 버전은 테넌트마다 따로 매겨지므로 테넌트를 넣는다.
+ * 페이지 문구가 언어마다 다르므로 언어를 넣고 Vary: Accept-Language 를 보낸다.
+ * 변경이 없으면 304 로 응답하고 상품 조회와 템플릿 렌더링을 하지 않는다.
+ */
+@Slf4j
+@Component
+public class ItemRevalidation {
+
+    private final ItemRepository itemRepository;
+    private final String bootId = Long.toString(System.currentTimeMillis(), 36);
+
+    public ItemRevalidation(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    /**
+     * 캐시 헤더를 설정하고, 클라이언트가 가진 내용이 최신이면 true (컨트롤러는 null 을 반환하면 된다)
+     */
+    public boolean checkNotModified(long itemId, NativeWebRequest request) {
+        ItemVersion version = itemRepository.findVersion(itemId);
+        if (version == null) {
+            return false; // 없는 상품은 캐시하지 않는다.
+        }
+
+        HttpServletResponse response = request.getNativeResponse(HttpServletResponse.class);
+        if (response != null) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_LANGUAGE);
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        }
+
+        boolean notModified = request.checkNotModified(etag(version, LocaleContextHolder.getLocale()), version.getLastModified());
+        if (notModified) {
+            log.debug("304 itemId={}, version={}", itemId, version.getSequence());
+        }
+        return notModified;
+    }
+
+    private String etag(ItemVersion version, Locale locale) {
+        return "\"" + bootId + "-" + TenantContext.current() + "-" + version.getSequence() + "-" + locale.getLanguage() + "\"";
+    }
+}
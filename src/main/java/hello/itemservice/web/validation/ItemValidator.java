@@ -1,6 +1,8 @@
 package hello.itemservice.web.validation;
 
 import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.TotalPriceMinValidator;
+import hello.itemservice.trace.StageEvent;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.validation.Errors;
@@ -9,6 +11,22 @@ import org.springframework.validation.Validator;
 
 @Component
 public class ItemValidator implements Validator {
+
+    /*
+     검증 결과는 비트 플래그(int) 하나로 표현한다.
+     정상 입력이면 아무것도 할당하지 않고, 오류가 있을 때만 Errors 에 담는다.
+    */
+    public static final int VALID = 0;
+    public static final int ITEM_NAME_REQUIRED = 1;
+    public static final int PRICE_RANGE = 1 << 1;
+    public static final int QUANTITY_MAX = 1 << 2;
+    public static final int TOTAL_PRICE_MIN = 1 << 3;
+
+    private static final int PRICE_MIN = 1000;
+    private static final int PRICE_MAX = 1000000;
+    private static final int QUANTITY_LIMIT = 9999;
+    private static final long TOTAL_PRICE_LIMIT = 10000;
+
     @Override
     public boolean supports(Class<?> clazz) {
         return Item.class.isAssignableFrom(clazz);  // Item클래스타입을 상속받앗던가 그자신인지 확인
@@ -20,26 +38,62 @@ public class ItemValidator implements Validator {
     public void validate(Object target, Errors errors) {    /* Errors는 BindingResult의 부모클래스*/
         Item item = (Item) target;
 
-        //검증 로직
-        if (!StringUtils.hasText(item.getItemName())) {
-            errors.rejectValue("itemName", "required");
+        StageEvent event = StageEvent.start();
+        int result = check(item);
+        if (result != VALID) {
+            reject(item, result, errors);
         }
-        if (item.getPrice() != null && (item.getPrice() < 1000 || item.getPrice() > 1000000)) {
-            errors.rejectValue("price", "range", new Object[]{1000, 1000000}, null);
+        event.finish("itemValidator", null, Integer.bitCount(result));
+    }
+
+    /**
+     * 검증 로직 - 각 값은 한번만 꺼내서 확인하고 결과를 플래그로 반환한다.
+     */
+    public int check(Item item) {
+        Integer price = item.getPrice();
+        Integer quantity = item.getQuantity();
+
+        int result = VALID;
+        if (!StringUtils.hasText(item.getItemName())) {
+            result |= ITEM_NAME_REQUIRED;
         }
-        if (item.getQuantity() == null || item.getQuantity() >= 9999) {
-            errors.rejectValue("quantity", "max", new Object[]{9999}, null);
+
+        int priceValue = price == null ? 0 : price;
+        if (price != null && (priceValue < PRICE_MIN || priceValue > PRICE_MAX)) {
+            result |= PRICE_RANGE;
         }
 
-        // 특정 필드가 아닌 복합 룰 검증
-        // new ObjectError!
-        if (item.getPrice() != null && item.getQuantity() != null) {
-            int resultPrice = item.getPrice() * item.getQuantity();
-            if (resultPrice < 10000) {
-                errors.reject("totalPriceMin", new Object[]{10000, resultPrice}, null);
-            }
+        int quantityValue = quantity == null ? 0 : quantity;
+        if (quantity == null || quantityValue >= QUANTITY_LIMIT) {
+            result |= QUANTITY_MAX;
         }
 
+        // 특정 필드가 아닌 복합 룰 검증 (long 으로 계산해야 큰 값에서 넘치지 않는다)
+        if (price != null && quantity != null
+                && TotalPriceMinValidator.totalPrice(priceValue, quantityValue) < TOTAL_PRICE_LIMIT) {
+            result |= TOTAL_PRICE_MIN;
+        }
+        return result;
+    }
 
+    /**
+     * 검증 결과를 Errors 에 옮긴다. (오류가 있을 때만 호출)
+     * 메세지 인자 배열은 FieldError/ObjectError 가 그대로 들고 밖으로 내주므로 매번 새로 만든다.
+     */
+    public void reject(Item item, int result, Errors errors) {
+        if ((result & ITEM_NAME_REQUIRED) != 0) {
+            errors.rejectValue("itemName", "required");
+        }
+        if ((result & PRICE_RANGE) != 0) {
+            errors.rejectValue("price", "range", new Object[]{PRICE_MIN, PRICE_MAX}, null);
+        }
+        if ((result & QUANTITY_MAX) != 0) {
+            errors.rejectValue("quantity", "max", new Object[]{QUANTITY_LIMIT}, null);
+        }
+        // new ObjectError!
+        if ((result & TOTAL_PRICE_MIN) != 0) {
+            long resultPrice = TotalPriceMinValidator.totalPrice(item.getPrice(), item.getQuantity());
+            errors.reject("totalPriceMin", new Object[]{TOTAL_PRICE_LIMIT, resultPrice}, null);
+        }
     }
 }
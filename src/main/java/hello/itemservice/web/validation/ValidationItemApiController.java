@@ -1,20 +1,51 @@
 package hello.itemservice.web.validation;
 
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.ItemSorter;
+import hello.itemservice.domain.item.ItemStatistics;
+import hello.itemservice.domain.item.ItemTier;
+import hello.itemservice.web.validation.cache.ValidationResultCache;
+import hello.itemservice.web.validation.form.ItemListQuery;
 import hello.itemservice.web.validation.form.ItemSaveForm;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.WebDataBinder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.InitBinder;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
 
 @Slf4j
 @RestController
 @RequestMapping("/validation/api/items")
+@RequiredArgsConstructor
 public class ValidationItemApiController {
 
+    private final ItemRepository itemRepository;
+    private final ValidationResultCache validationResultCache;
+    private final ObjectMapper objectMapper;
+
+    @InitBinder
+    public void init(WebDataBinder dataBinder) {
+        validationResultCache.apply(dataBinder);
+    }
+
     @PostMapping("/add")
     public Object addItem(
             @Validated @RequestBody ItemSaveForm form,
@@ -30,4 +61,79 @@ public class ValidationItemApiController {
         log.info("성공로직 실행");
         return form;
     }
+
+    /**
+     * 상품 목록 - 가격/수량 범위 필터와 정렬 (ex. ?sort=price,desc&minPrice=1000&maxQuantity=100&limit=50)
+     * <p>
+     * 정렬은 ItemSorter 가 정수 키로 하고, 응답은 목록 객체를 만들지 않고 JSON 배열을 한 건씩 써서 내보낸다.
+     * id 순이면 저장소를 읽으면서 바로 쓴다.
+     */
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> items(@Validated @ModelAttribute("query") ItemListQuery query,
+                                                       BindingResult bindingResult) {
+        if (bindingResult.hasErrors()) {
+            log.info("검증 오류 발생 errors={}", bindingResult);
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON)
+                    .body(out -> writeValue(out, bindingResult.getAllErrors()));
+        }
+
+        Iterator<Item> items = ItemSorter.sorted(itemRepository.iterator(), query.toFilter(),
+                query.sortKey(), query.descending(), query.getLimit());
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+                .body(out -> writeItems(out, items));
+    }
+
+    /**
+     * 재고 통계 - 저장소가 변화량으로 유지하므로 상품 수와 상관없이 O(1)
+     */
+    @GetMapping("/stats")
+    public ItemStatistics.Snapshot stats() {
+        return itemRepository.statistics();
+    }
+
+    /**
+     * 저장소 계층 지표 - 메모리 계층 적중률, 파일에서 올린 횟수 (item.repository.tier.hot-max-items)
+     */
+    @GetMapping("/stats/tier")
+    public ItemTier.Snapshot tierStats() {
+        return itemRepository.tierStatistics();
+    }
+
+    private void writeItems(OutputStream out, Iterator<Item> items) throws IOException {
+        try (JsonGenerator generator = generator(out)) {
+            generator.writeStartArray();
+            while (items.hasNext()) {
+                Item item = items.next();
+                generator.writeStartObject();
+                generator.writeNumberField("id", item.getId());
+                generator.writeStringField("itemName", item.getItemName());
+                writeNullableNumber(generator, "price", item.getPrice());
+                writeNullableNumber(generator, "quantity", item.getQuantity());
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    private void writeValue(OutputStream out, Object value) throws IOException {
+        try (JsonGenerator generator = generator(out)) {
+            objectMapper.writeValue(generator, value);
+        }
+    }
+
+    /**
+     * 응답 스트림은 컨테이너가 닫는다.
+     */
+    private JsonGenerator generator(OutputStream out) throws IOException {
+        return objectMapper.getFactory().createGenerator(out).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    private static void writeNullableNumber(JsonGenerator generator, String name, Integer value) throws IOException {
+        generator.writeFieldName(name);
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value);
+        }
+    }
 }
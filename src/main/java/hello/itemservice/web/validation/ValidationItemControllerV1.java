@@ -8,6 +8,7 @@ import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.util.HashMap;
@@ -22,6 +23,7 @@ import java.util.Map;
 public class ValidationItemControllerV1 {
 
     private final ItemRepository itemRepository;
+    private final ItemRevalidation itemRevalidation;
 
     @GetMapping
     public String items(Model model) {
@@ -31,7 +33,11 @@ public class ValidationItemControllerV1 {
     }
 
     @GetMapping("/{itemId}")
-    public String item(@PathVariable long itemId, Model model) {
+    public String item(@PathVariable long itemId, NativeWebRequest request, Model model) {
+        // 변경이 없으면 304 - 조회와 렌더링을 하지 않는다.
+        if (itemRevalidation.checkNotModified(itemId, request)) {
+            return null;
+        }
         Item item = itemRepository.findById(itemId);
         model.addAttribute("item", item);
         return "validation/v1/item";
@@ -65,7 +71,7 @@ public class ValidationItemControllerV1 {
 
         // 특정 필드가 아닌 복합 룰 검증
         if (item.getPrice() != null || item.getQuantity() != null) {
-            int resultPrice = item.getPrice() * item.getQuantity();
+            long resultPrice = (long) item.getPrice() * item.getQuantity();
             if (resultPrice < 10000) {
                 errors.put("globalError", "가격 * 수량의 합은 10,000원 이상이어야 합니다. 현재 값 = " + resultPrice);
             }
@@ -86,7 +92,10 @@ public class ValidationItemControllerV1 {
     }
 
     @GetMapping("/{itemId}/edit")
-    public String editForm(@PathVariable Long itemId, Model model) {
+    public String editForm(@PathVariable Long itemId, NativeWebRequest request, Model model) {
+        if (itemRevalidation.checkNotModified(itemId, request)) {
+            return null;
+        }
         Item item = itemRepository.findById(itemId);
         model.addAttribute("item", item);
         return "validation/v1/editForm";
@@ -14,6 +14,7 @@ import org.springframework.validation.ValidationUtils;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.util.HashMap;
@@ -28,6 +29,7 @@ import java.util.Map;
 public class ValidationItemControllerV2 {
 
     private final ItemRepository itemRepository;
+    private final ItemRevalidation itemRevalidation;
     private final ItemValidator itemValidator;
 
     // 웹에서 전달받은 데이터를 binding하게 해주는 객체
@@ -46,7 +48,11 @@ public class ValidationItemControllerV2 {
     }
 
     @GetMapping("/{itemId}")
-    public String item(@PathVariable long itemId, Model model) {
+    public String item(@PathVariable long itemId, NativeWebRequest request, Model model) {
+        // 변경이 없으면 304 - 조회와 렌더링을 하지 않는다.
+        if (itemRevalidation.checkNotModified(itemId, request)) {
+            return null;
+        }
         Item item = itemRepository.findById(itemId);
         model.addAttribute("item", item);
         return "validation/v2/item";
@@ -87,7 +93,7 @@ public class ValidationItemControllerV2 {
         // 특정 필드가 아닌 복합 룰 검증
         // new ObjectError!
         if (item.getPrice() != null && item.getQuantity() != null) {
-            int resultPrice = item.getPrice() * item.getQuantity();
+            long resultPrice = (long) item.getPrice() * item.getQuantity();
             if (resultPrice < 10000) {
                 bindingResult.addError(new ObjectError("item", "가격 * 수량의 합은 10,000원 이상이어야 합니다. 현재 값 = " + resultPrice));
             }
@@ -131,7 +137,7 @@ public class ValidationItemControllerV2 {
         // 특정 필드가 아닌 복합 룰 검증
         // new ObjectError!
         if (item.getPrice() != null && item.getQuantity() != null) {
-            int resultPrice = item.getPrice() * item.getQuantity();
+            long resultPrice = (long) item.getPrice() * item.getQuantity();
             if (resultPrice < 10000) {
                 bindingResult.addError(new ObjectError("item",null, null, "가격 * 수량의 합은 10,000원 이상이어야 합니다. 현재 값 = " + resultPrice));
             }
@@ -193,7 +199,7 @@ public class ValidationItemControllerV2 {
         // 특정 필드가 아닌 복합 룰 검증
         // new ObjectError!
         if (item.getPrice() != null && item.getQuantity() != null) {
-            int resultPrice = item.getPrice() * item.getQuantity();
+            long resultPrice = (long) item.getPrice() * item.getQuantity();
             if (resultPrice < 10000) {
                 bindingResult.addError(new ObjectError("item",
                         new String[]{"totalPriceMin"},
@@ -250,7 +256,7 @@ public class ValidationItemControllerV2 {
         // 특정 필드가 아닌 복합 룰 검증
         // new ObjectError!
         if (item.getPrice() != null && item.getQuantity() != null) {
-            int resultPrice = item.getPrice() * item.getQuantity();
+            long resultPrice = (long) item.getPrice() * item.getQuantity();
             if (resultPrice < 10000) {
                 bindingResult.reject("totalPriceMin", new Object[]{10000, resultPrice}, null);
             }
@@ -322,7 +328,10 @@ public class ValidationItemControllerV2 {
 
 
     @GetMapping("/{itemId}/edit")
-    public String editForm(@PathVariable Long itemId, Model model) {
+    public String editForm(@PathVariable Long itemId, NativeWebRequest request, Model model) {
+        if (itemRevalidation.checkNotModified(itemId, request)) {
+            return null;
+        }
         Item item = itemRepository.findById(itemId);
         model.addAttribute("item", item);
         return "validation/v2/editForm";
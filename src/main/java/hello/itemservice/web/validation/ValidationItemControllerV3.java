@@ -15,6 +15,7 @@ import org.springframework.validation.ObjectError;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import javax.validation.Valid;
@@ -28,6 +29,7 @@ import java.util.List;
 public class ValidationItemControllerV3 {
 
     private final ItemRepository itemRepository;
+    private final ItemRevalidation itemRevalidation;
 
 
     @GetMapping
@@ -38,7 +40,11 @@ public class ValidationItemControllerV3 {
     }
 
     @GetMapping("/{itemId}")
-    public String item(@PathVariable long itemId, Model model) {
+    public String item(@PathVariable long itemId, NativeWebRequest request, Model model) {
+        // 변경이 없으면 304 - 조회와 렌더링을 하지 않는다.
+        if (itemRevalidation.checkNotModified(itemId, request)) {
+            return null;
+        }
         Item item = itemRepository.findById(itemId);
         model.addAttribute("item", item);
         return "validation/v3/item";
@@ -63,7 +69,7 @@ public class ValidationItemControllerV3 {
           -  new FieldError의 경우 rejectValue()
        */
         if (item.getPrice() != null && item.getQuantity() != null) {
-            int resultPrice = item.getPrice() * item.getQuantity();
+            long resultPrice = (long) item.getPrice() * item.getQuantity();
             if (resultPrice < 10000) {
                 bindingResult.reject("totalPriceMin", new Object[]{10000, resultPrice}, null);
             }
@@ -90,17 +96,7 @@ public class ValidationItemControllerV3 {
                           RedirectAttributes redirectAttributes
     ) {
 
-       /*
-       특정 필드가 아닌 복합 룰 검증은 다음을 쓰는게 낫다!
-          -  new ObjectError! 의 경우, reject() ✨✨
-          -  new FieldError의 경우 rejectValue()
-       */
-        if (item.getPrice() != null && item.getQuantity() != null) {
-            int resultPrice = item.getPrice() * item.getQuantity();
-            if (resultPrice < 10000) {
-                bindingResult.reject("totalPriceMin", new Object[]{10000, resultPrice}, null);
-            }
-        }
+        // 복합 룰 검증(가격 * 수량)은 Item 의 @TotalPriceMin 이 필드 검증과 함께 처리한다.
 
         //검증에 실패하면 다시 입력 폼으로
         if (bindingResult.hasErrors()) {
@@ -118,7 +114,10 @@ public class ValidationItemControllerV3 {
 
 
     @GetMapping("/{itemId}/edit")
-    public String editForm(@PathVariable Long itemId, Model model) {
+    public String editForm(@PathVariable Long itemId, NativeWebRequest request, Model model) {
+        if (itemRevalidation.checkNotModified(itemId, request)) {
+            return null;
+        }
         Item item = itemRepository.findById(itemId);
         model.addAttribute("item", item);
         return "validation/v3/editForm";
@@ -131,7 +130,7 @@ public class ValidationItemControllerV3 {
 
         // 특정 필드 검증이 아닌 복합적 검증
         if (item.getQuantity() != null && item.getPrice() != null) {
-            int total = item.getQuantity() * item.getPrice();
+            long total = (long) item.getQuantity() * item.getPrice();
             if (total < 10000) {
                 bindingResult.reject("totalPriceMin", new Object[]{10000, total}, null);
             }
@@ -152,13 +151,7 @@ public class ValidationItemControllerV3 {
                        @Validated(value = {UpdateCheck.class}) @ModelAttribute Item item,
                        BindingResult bindingResult) {
 
-        // 특정 필드 검증이 아닌 복합적 검증
-        if (item.getQuantity() != null && item.getPrice() != null) {
-            int total = item.getQuantity() * item.getPrice();
-            if (total < 10000) {
-                bindingResult.reject("totalPriceMin", new Object[]{10000, total}, null);
-            }
-        }
+        // 특정 필드 검증이 아닌 복합적 검증은 Item 의 @TotalPriceMin 이 처리한다.
 
         // 이제 validation 과정이 마치고 에러가 있엇는지 없었는지 확인하고 페이지를 다시 원래 수정페이지로 값을 가지고 간다
         if (bindingResult.hasErrors()) {
@@ -4,18 +4,26 @@ import hello.itemservice.domain.item.Item;
 import hello.itemservice.domain.item.ItemRepository;
 import hello.itemservice.domain.item.SaveCheck;
 import hello.itemservice.domain.item.UpdateCheck;
+import hello.itemservice.web.idempotency.IdempotencyIndex;
+import hello.itemservice.web.idempotency.IdempotencyInterceptor;
+import hello.itemservice.web.validation.cache.ValidationResultCache;
 import hello.itemservice.web.validation.form.ItemSaveForm;
 import hello.itemservice.web.validation.form.ItemUpdateForm;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.util.StringUtils;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.UUID;
 
 
 @Slf4j
@@ -24,18 +32,36 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ValidationItemControllerV4 {
 
-    private final ItemRepository itemRepository;
+    private static final int SEARCH_LIMIT = 100;
+    private static final Duration SEARCH_BUDGET = Duration.ofMillis(5);
 
+    private final ItemRepository itemRepository;
+    private final ItemRevalidation itemRevalidation;
+    private final ValidationResultCache validationResultCache;
+    private final IdempotencyIndex idempotencyIndex;
+
+    // 같은 내용의 반복 제출은 검증 결과를 재사용한다. (validation.cache.enabled=true 일 때만)
+    @InitBinder("item")
+    public void init(WebDataBinder dataBinder) {
+        validationResultCache.apply(dataBinder);
+    }
 
     @GetMapping
-    public String items(Model model) {
-        List<Item> items = itemRepository.findAll();
+    public String items(@RequestParam(value = "q", required = false) String query, Model model) {
+        // 상품명 검색
+        List<Item> items = StringUtils.hasText(query)
+                ? itemRepository.searchByName(query, SEARCH_LIMIT, SEARCH_BUDGET)
+                : itemRepository.findAll();
         model.addAttribute("items", items);
         return "validation/v4/items";
     }
 
     @GetMapping("/{itemId}")
-    public String item(@PathVariable long itemId, Model model) {
+    public String item(@PathVariable long itemId, NativeWebRequest request, Model model) {
+        // 변경이 없으면 304 - 조회와 렌더링을 하지 않는다.
+        if (itemRevalidation.checkNotModified(itemId, request)) {
+            return null;
+        }
         Item item = itemRepository.findById(itemId);
         model.addAttribute("item", item);
         return "validation/v4/item";
@@ -44,6 +70,8 @@ public class ValidationItemControllerV4 {
     @GetMapping("/add")
     public String addForm(Model model) {
         model.addAttribute("item", new Item());
+        // 중복 등록 방지 키 - 폼의 hidden 필드로 다시 받는다.
+        model.addAttribute("idempotencyKey", UUID.randomUUID().toString());
         return "validation/v4/addForm";
     }
 
@@ -51,20 +79,18 @@ public class ValidationItemControllerV4 {
                                          /* 기본은 itemSaveForm */
     public String addItem(@Validated @ModelAttribute("item") ItemSaveForm form,
                           BindingResult bindingResult,
-                          RedirectAttributes redirectAttributes
+                          @RequestAttribute(value = IdempotencyInterceptor.KEY_ATTRIBUTE, required = false) String idempotencyKey,
+                          RedirectAttributes redirectAttributes,
+                          Model model
     ) {
 
-        if (form.getPrice() != null && form.getQuantity() != null) {
-            int resultPrice = form.getPrice() * form.getQuantity();
-            if (resultPrice < 10000) {
-                bindingResult.reject("totalPriceMin", new Object[]{10000, resultPrice}, null);
-            }
-        }
+        // 가격 * 수량 검증은 폼의 @TotalPriceMin 이 필드 검증과 함께 처리한다.
 
         //검증에 실패하면 다시 입력 폼으로
         if (bindingResult.hasErrors()) {
             log.info("errors={}", bindingResult);
             /* bindResult는 view 로 알아서 가지고 간다.*/
+            model.addAttribute("idempotencyKey", idempotencyKey);
             return "validation/v4/addForm";
         }
 
@@ -80,15 +106,19 @@ public class ValidationItemControllerV4 {
         item.setPrice(form.getPrice());
         item.setQuantity(form.getQuantity());
 
-        Item savedItem = itemRepository.save(item);
-        redirectAttributes.addAttribute("itemId", savedItem.getId());
+        // 같은 키로 이미 저장했다면 다시 저장하지 않고 처음 저장된 id 를 사용한다.
+        long savedItemId = idempotencyIndex.saveOnce(idempotencyKey, () -> itemRepository.save(item).getId());
+        redirectAttributes.addAttribute("itemId", savedItemId);
         redirectAttributes.addAttribute("status", true);
         return "redirect:/validation/v4/items/{itemId}";
     }
 
 
     @GetMapping("/{itemId}/edit")
-    public String editForm(@PathVariable Long itemId, Model model) {
+    public String editForm(@PathVariable Long itemId, NativeWebRequest request, Model model) {
+        if (itemRevalidation.checkNotModified(itemId, request)) {
+            return null;
+        }
         Item item = itemRepository.findById(itemId);
         model.addAttribute("item", item);
         return "validation/v4/editForm";
@@ -99,14 +129,6 @@ public class ValidationItemControllerV4 {
                        @Validated @ModelAttribute("item") ItemUpdateForm form,
                        BindingResult bindingResult) {
 
-        // 특정 필드 검증이 아닌 복합적 검증
-        if (form.getQuantity() != null && form.getPrice() != null) {
-            int total = form.getQuantity() * form.getPrice();
-            if (total < 10000) {
-                bindingResult.reject("totalPriceMin", new Object[]{10000, total}, null);
-            }
-        }
-
         // 이제 validation 과정이 마치고 에러가 있엇는지 없었는지 확인하고 페이지를 다시 원래 수정페이지로 값을 가지고 간다
         if (bindingResult.hasErrors()) {
             log.info("error={}", bindingResult);
@@ -0,0 +1,62 @@
+package hello.itemservice.web.validation.cache;
+
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.ObjectError;
+import org.springframework.validation.SmartValidator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 원래 validator 앞에서 ValidationResultCache 를 조회한다.
+ * 캐시에 있으면 검증을 다시 하지 않고 저장해둔 오류만 BindingResult 에 담는다.
+ */
+class CachingValidator implements SmartValidator {
+
+    private final SmartValidator delegate;
+    private final ValidationResultCache cache;
+
+    CachingValidator(SmartValidator delegate, ValidationResultCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return cache.supports(clazz) && delegate.supports(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        validate(target, errors, new Object[0]);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors, Object... validationHints) {
+        // 바인딩 오류(typeMismatch 등)가 있으면 검증 결과가 달라지므로 캐시를 쓰지 않는다.
+        if (!(errors instanceof BindingResult) || errors.hasErrors()) {
+            delegate.validate(target, errors, validationHints);
+            return;
+        }
+
+        BindingResult bindingResult = (BindingResult) errors;
+        ValidationResultCache.Key key = cache.keyOf(target, errors.getObjectName(), validationHints);
+        List<ErrorSnapshot> cached = cache.get(key);
+        if (cached != null) {
+            for (ErrorSnapshot snapshot : cached) {
+                bindingResult.addError(snapshot.restore(errors));
+            }
+            return;
+        }
+
+        delegate.validate(target, errors, validationHints);
+
+        List<ObjectError> allErrors = errors.getAllErrors();
+        List<ErrorSnapshot> snapshots = allErrors.isEmpty() ? List.of() : new ArrayList<>(allErrors.size());
+        for (ObjectError error : allErrors) {
+            snapshots.add(ErrorSnapshot.of(error));
+        }
+        cache.put(key, snapshots);
+    }
+}
@@ -0,0 +1,39 @@
+package hello.itemservice.web.validation.cache;
+
+import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
+
+/**
+ * 검증 오류 한 건의 불변 사본 - 코드/인자는 이미 해석된 상태로 보관하고 재생할 때 그대로 다시 담는다.
+ */
+final class ErrorSnapshot {
+
+    private final String field; // null 이면 ObjectError
+    private final String[] codes;
+    private final Object[] arguments;
+    private final String defaultMessage;
+
+    private ErrorSnapshot(String field, String[] codes, Object[] arguments, String defaultMessage) {
+        this.field = field;
+        this.codes = codes;
+        this.arguments = arguments;
+        this.defaultMessage = defaultMessage;
+    }
+
+    static ErrorSnapshot of(ObjectError error) {
+        String field = error instanceof FieldError ? ((FieldError) error).getField() : null;
+        return new ErrorSnapshot(field, error.getCodes(), error.getArguments(), error.getDefaultMessage());
+    }
+
+    /**
+     * FieldError 의 거부된 값은 현재 요청의 값으로 채운다.
+     */
+    ObjectError restore(Errors errors) {
+        if (field == null) {
+            return new ObjectError(errors.getObjectName(), codes, arguments, defaultMessage);
+        }
+        return new FieldError(errors.getObjectName(), field, errors.getFieldValue(field), false,
+                codes, arguments, defaultMessage);
+    }
+}
@@ -0,0 +1,259 @@
+package hello.itemservice.web.validation.cache;
+
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.form.ItemUpdateForm;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.SmartValidator;
+import org.springframework.validation.Validator;
+import org.springframework.web.bind.WebDataBinder;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 같은 내용의 폼이 반복해서 들어올 때(재시도, 더블클릭, 봇) Bean Validation 결과를 재사용한다.
+ * <p>
+ * 키는 정규화한 폼 필드 값 + 검증 그룹 + 객체 이름 + 로케일 + 규칙 버전이다.
+ * 검증 규칙을 바꾸면 validation.cache.rule-version 을 올려서 이전 결과를 무효화한다.
+ * 기본은 꺼져 있다. (validation.cache.enabled=true)
+ * <p>
+ * 키의 해시로 나눈 여러 구역(stripe)이 각자 잠금과 LRU 를 가진다. 요청끼리 한 잠금을 두고 다투지 않도록
+ * 구역마다 maximum-size 를 나눠 가지므로, 한 구역이 차면 전체가 다 차지 않아도 그 구역의 가장 오래된 것부터 버린다.
+ */
+@Slf4j
+@Component
+public class ValidationResultCache {
+
+    private static final int MAX_STRIPES = 64;
+
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final String ruleVersion;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    private final Stripe[] stripes;
+
+    public ValidationResultCache(@Value("${validation.cache.enabled:false}") boolean enabled,
+                                 @Value("${validation.cache.maximum-size:10000}") int maximumSize,
+                                 @Value("${validation.cache.ttl:60s}") Duration ttl,
+                                 @Value("${validation.cache.rule-version:1}") String ruleVersion,
+                                 MeterRegistry meterRegistry) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("validation.cache.maximum-size 는 1 이상이어야 합니다. maximumSize=" + maximumSize);
+        }
+        this.enabled = enabled;
+        this.ttlNanos = ttl.toNanos();
+        this.ruleVersion = ruleVersion;
+        this.stripes = stripes(maximumSize);
+
+        this.hits = Counter.builder("validation.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("validation.cache.requests").tag("result", "miss").register(meterRegistry);
+        meterRegistry.gauge("validation.cache.size", this, ValidationResultCache::size);
+    }
+
+    /**
+     * 구역 수는 코어 수의 4배(2의 거듭제곱, 최대 64), 구역마다 최소 한 개는 담을 수 있게 한다.
+     */
+    private static Stripe[] stripes(int maximumSize) {
+        int target = Math.min(MAX_STRIPES, Runtime.getRuntime().availableProcessors() * 4);
+        int count = 1;
+        while (count < target && count * 2 <= maximumSize) {
+            count <<= 1;
+        }
+        Stripe[] stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe(maximumSize / count + (i < maximumSize % count ? 1 : 0));
+        }
+        return stripes;
+    }
+
+    private Stripe stripeOf(Key key) {
+        int hash = key.hash ^ (key.hash >>> 16);
+        return stripes[hash & (stripes.length - 1)];
+    }
+
+    /**
+     * 캐시 대상 폼이면 binder 의 validator 를 캐시를 거치는 validator 로 감싼다.
+     * 컨트롤러의 @InitBinder 에서 호출한다.
+     */
+    public void apply(WebDataBinder dataBinder) {
+        Object target = dataBinder.getTarget();
+        Validator validator = dataBinder.getValidator();
+        if (!enabled || target == null || !supports(target.getClass()) || !(validator instanceof SmartValidator)) {
+            return;
+        }
+        dataBinder.setValidator(new CachingValidator((SmartValidator) validator, this));
+    }
+
+    public boolean supports(Class<?> clazz) {
+        return ItemSaveForm.class.isAssignableFrom(clazz) || ItemUpdateForm.class.isAssignableFrom(clazz);
+    }
+
+    Key keyOf(Object target, String objectName, Object[] hints) {
+        Locale locale = LocaleContextHolder.getLocale();
+        if (target instanceof ItemSaveForm) {
+            ItemSaveForm form = (ItemSaveForm) target;
+            return new Key(ItemSaveForm.class, objectName, hints, locale, ruleVersion,
+                    false, normalize(form.getItemName()), form.getPrice(), form.getQuantity());
+        }
+        ItemUpdateForm form = (ItemUpdateForm) target;
+        return new Key(ItemUpdateForm.class, objectName, hints, locale, ruleVersion,
+                form.getId() != null, normalize(form.getItemName()), form.getPrice(), form.getQuantity());
+    }
+
+    /**
+     * @NotBlank 결과는 앞뒤 공백과 상관없다. (거부된 값은 재생할 때 현재 요청의 값을 사용한다)
+     */
+    private static String normalize(String itemName) {
+        return itemName == null ? null : itemName.trim();
+    }
+
+    List<ErrorSnapshot> get(Key key) {
+        Entry entry = stripeOf(key).get(key, System.nanoTime());
+
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.errors;
+    }
+
+    void put(Key key, List<ErrorSnapshot> errors) {
+        stripeOf(key).put(key, new Entry(errors, System.nanoTime() + ttlNanos));
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    public double hitRate() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            stripe.clear();
+        }
+    }
+
+    static final class Key {
+
+        private final Class<?> formClass;
+        private final String objectName;
+        private final List<Object> hints;
+        private final Locale locale;
+        private final String ruleVersion;
+        private final boolean hasId;
+        private final String itemName;
+        private final Integer price;
+        private final Integer quantity;
+        private final int hash;
+
+        Key(Class<?> formClass, String objectName, Object[] hints, Locale locale, String ruleVersion,
+            boolean hasId, String itemName, Integer price, Integer quantity) {
+            this.formClass = formClass;
+            this.objectName = objectName;
+            this.hints = hints == null ? List.of() : Arrays.asList(hints);
+            this.locale = locale;
+            this.ruleVersion = ruleVersion;
+            this.hasId = hasId;
+            this.itemName = itemName;
+            this.price = price;
+            this.quantity = quantity;
+            this.hash = Objects.hash(formClass, objectName, this.hints, locale, ruleVersion, hasId, itemName, price, quantity);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return hash == key.hash
+                    && hasId == key.hasId
+                    && formClass == key.formClass
+                    && Objects.equals(itemName, key.itemName)
+                    && Objects.equals(price, key.price)
+                    && Objects.equals(quantity, key.quantity)
+                    && objectName.equals(key.objectName)
+                    && hints.equals(key.hints)
+                    && locale.equals(key.locale)
+                    && ruleVersion.equals(key.ruleVersion);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * 구역 하나 - 접근 순서 LinkedHashMap 을 자기 잠금으로 보호하고, capacity 를 넘으면 가장 오래 안 쓴 것을 버린다.
+     */
+    private static final class Stripe {
+
+        private final Map<Key, Entry> entries;
+
+        private Stripe(int capacity) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Key, ValidationResultCache.Entry> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        synchronized Entry get(Key key, long now) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt - now < 0) {
+                entries.remove(key);
+                return null;
+            }
+            return entry;
+        }
+
+        synchronized void put(Key key, Entry entry) {
+            entries.put(key, entry);
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+
+        synchronized void clear() {
+            entries.clear();
+        }
+    }
+
+    private static final class Entry {
+
+        private final List<ErrorSnapshot> errors;
+        private final long expiresAt;
+
+        private Entry(List<ErrorSnapshot> errors, long expiresAt) {
+            this.errors = errors;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package hello.itemservice.web.validation.form;
+
+import hello.itemservice.domain.item.ItemFilter;
+import hello.itemservice.domain.item.ItemSortKey;
+import lombok.Data;
+import org.hibernate.validator.constraints.Range;
+
+import javax.validation.constraints.AssertTrue;
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.PositiveOrZero;
+
+/**
+ * 상품 목록 API 조건 - 범위는 등록 검증과 같은 경계 (가격 1000 ~ 1000000, 수량 9999 이하)
+ * <p>
+ * sort: id | price | quantity | itemName, 뒤에 ",desc" 를 붙이면 내림차순
+ */
+@Data
+public class ItemListQuery {
+
+    @Pattern(regexp = "(id|price|quantity|itemName)(,(asc|desc))?")
+    private String sort = "id";
+
+    @Range(min = 1000, max = 1000000)
+    private Integer minPrice;
+
+    @Range(min = 1000, max = 1000000)
+    private Integer maxPrice;
+
+    @Range(min = 0, max = 9999)
+    private Integer maxQuantity;
+
+    // 0 이면 전부
+    @PositiveOrZero
+    private int limit;
+
+    @AssertTrue(message = "minPrice 는 maxPrice 보다 클 수 없습니다.")
+    public boolean isPriceRangeValid() {
+        return minPrice == null || maxPrice == null || minPrice <= maxPrice;
+    }
+
+    public ItemFilter toFilter() {
+        return new ItemFilter(minPrice, maxPrice, maxQuantity);
+    }
+
+    public ItemSortKey sortKey() {
+        String field = sort.split(",")[0];
+        switch (field) {
+            case "price":
+                return ItemSortKey.PRICE;
+            case "quantity":
+                return ItemSortKey.QUANTITY;
+            case "itemName":
+                return ItemSortKey.ITEM_NAME;
+            default:
+                return ItemSortKey.ID;
+        }
+    }
+
+    public boolean descending() {
+        return sort.endsWith(",desc");
+    }
+}
@@ -1,24 +1,33 @@
 package hello.itemservice.web.validation.form;
 
+import hello.itemservice.domain.item.PricedItem;
+import hello.itemservice.domain.item.SaveCheck;
+import hello.itemservice.domain.item.TotalPriceMin;
 import lombok.Data;
 import org.hibernate.validator.constraints.Range;
 
+import javax.validation.GroupSequence;
 import javax.validation.constraints.Max;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
+/**
+ * 기본 그룹 순서: 필수값 -> 범위 -> 복합 룰(그룹을 지정하지 않은 @TotalPriceMin)
+ */
 @Data
-public class ItemSaveForm {
+@TotalPriceMin
+@GroupSequence({SaveCheck.Required.class, SaveCheck.Bounds.class, ItemSaveForm.class})
+public class ItemSaveForm implements PricedItem {
 
 
-    @NotBlank
+    @NotBlank(groups = SaveCheck.Required.class)
     private String itemName;
 
-    @NotNull
-    @Range(min = 1000, max = 1000000)
+    @NotNull(groups = SaveCheck.Required.class)
+    @Range(min = 1000, max = 1000000, groups = SaveCheck.Bounds.class)
     private Integer price;
 
-    @NotNull
-    @Max(value = 9999)
+    @NotNull(groups = SaveCheck.Required.class)
+    @Max(value = 9999, groups = SaveCheck.Bounds.class)
     private Integer quantity;
 }
@@ -1,23 +1,31 @@
 package hello.itemservice.web.validation.form;
 
+import hello.itemservice.domain.item.PricedItem;
+import hello.itemservice.domain.item.TotalPriceMin;
+import hello.itemservice.domain.item.UpdateCheck;
 import lombok.Data;
 import org.hibernate.validator.constraints.Range;
 
-import javax.validation.constraints.Max;
+import javax.validation.GroupSequence;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
+/**
+ * 기본 그룹 순서: 필수값 -> 범위 -> 복합 룰(그룹을 지정하지 않은 @TotalPriceMin)
+ */
 @Data
-public class ItemUpdateForm {
+@TotalPriceMin
+@GroupSequence({UpdateCheck.Required.class, UpdateCheck.Bounds.class, ItemUpdateForm.class})
+public class ItemUpdateForm implements PricedItem {
 
-    @NotNull // 수정사항 요구 추가
+    @NotNull(groups = UpdateCheck.Required.class) // 수정사항 요구 추가
     private Long id;
 
-    @NotBlank
+    @NotBlank(groups = UpdateCheck.Required.class)
     private String itemName;
 
-    @NotNull
-    @Range(min = 1000, max = 1000000)
+    @NotNull(groups = UpdateCheck.Required.class)
+    @Range(min = 1000, max = 1000000, groups = UpdateCheck.Bounds.class)
     private Integer price;
 
     // 수정에서는 수량은 자유롭게 변경할 수 있다.
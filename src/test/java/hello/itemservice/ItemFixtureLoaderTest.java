@@ -0,0 +1,61 @@
+package hello.itemservice;
+
+import hello.itemservice.domain.item.Item;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ItemFixtureLoaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void parse() throws IOException {
+        //given
+        Path fixture = tempDir.resolve("items.csv");
+        Files.write(fixture, ("itemName,price,quantity\r\n" +
+                "itemA,10000,10\r\n" +
+                "상품B,20000,20\n" +
+                "  ,10000,10\n" +       // 상품명 공백
+                "itemC,100,10\n" +      // 가격 범위
+                "itemD,1000,10000\n" +  // 수량 최대
+                "itemE,1000,1\n" +      // 가격 * 수량 < 10000
+                "itemF,abc,10\n" +
+                "itemG,1000000,9999").getBytes(StandardCharsets.UTF_8));
+
+        //when
+        List<Item> items = ItemFixtureLoader.parse(fixture);
+
+        //then
+        assertThat(items).extracting(Item::getItemName).containsExactly("itemA", "상품B", "itemG");
+        assertThat(items.get(1).getPrice()).isEqualTo(20000);
+        assertThat(items.get(2).getQuantity()).isEqualTo(9999);
+    }
+
+    @Test
+    void parseKeepsFileOrder() throws IOException {
+        //given
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 50000; i++) {
+            csv.append("item").append(i).append(",10000,10\n");
+        }
+        Path fixture = tempDir.resolve("large.csv");
+        Files.write(fixture, csv.toString().getBytes(StandardCharsets.UTF_8));
+
+        //when
+        List<Item> items = ItemFixtureLoader.parse(fixture);
+
+        //then
+        assertThat(items).hasSize(50000);
+        assertThat(items.get(0).getItemName()).isEqualTo("item0");
+        assertThat(items.get(49999).getItemName()).isEqualTo("item49999");
+    }
+}
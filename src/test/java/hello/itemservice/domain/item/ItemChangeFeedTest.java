@@ -0,0 +1,89 @@
+package hello.itemservice.domain.item;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ItemChangeFeedTest {
+
+    ItemRepository itemRepository = new ItemRepository();
+
+    @AfterEach
+    void afterEach() {
+        itemRepository.clearStore();
+    }
+
+    @Test
+    void publishOnWrite() {
+        //given
+        ItemChangeFeed feed = itemRepository.changeFeed();
+        long start = feed.lastSequence();
+
+        //when
+        Item item = itemRepository.save(new Item("itemA", 10000, 10));
+        itemRepository.update(item.getId(), new Item("itemB", 20000, 20));
+        itemRepository.clearStore();
+
+        //then
+        List<ItemChangeEvent> events = feed.readAfter(start, 10);
+        assertThat(events).extracting(ItemChangeEvent::getType).containsExactly(
+                ItemChangeEvent.Type.SAVED, ItemChangeEvent.Type.UPDATED, ItemChangeEvent.Type.CLEARED);
+        assertThat(events).extracting(ItemChangeEvent::getSequence).containsExactly(start + 1, start + 2, start + 3);
+        assertThat(events.get(1).getItemName()).isEqualTo("itemB");
+        assertThat(events.get(2).getItemId()).isNull();
+    }
+
+    @Test
+    void resumeFromSequence() {
+        ItemChangeFeed feed = new ItemChangeFeed(16);
+        for (int i = 0; i < 10; i++) {
+            feed.publish(ItemChangeEvent.Type.SAVED, new Item("item" + i, 10000, 10));
+        }
+
+        assertThat(feed.readAfter(7, 100)).extracting(ItemChangeEvent::getSequence).containsExactly(8L, 9L, 10L);
+        assertThat(feed.readAfter(0, 3)).extracting(ItemChangeEvent::getSequence).containsExactly(1L, 2L, 3L);
+        assertThat(feed.readAfter(10, 100)).isEmpty();
+    }
+
+    @Test
+    void overwriteOldEvents() {
+        ItemChangeFeed feed = new ItemChangeFeed(16);
+        for (int i = 0; i < 40; i++) {
+            feed.publish(ItemChangeEvent.Type.SAVED, new Item("item" + i, 10000, 10));
+        }
+
+        assertThat(feed.oldestSequence()).isEqualTo(25);
+        List<ItemChangeEvent> events = feed.readAfter(0, 100);
+        assertThat(events).hasSize(16);
+        assertThat(events.get(0).getSequence()).isEqualTo(25);
+    }
+
+    @Test
+    void concurrentPublishKeepsNewestEvents() throws InterruptedException {
+        //given
+        ItemChangeFeed feed = new ItemChangeFeed(4);
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            writers.add(new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    feed.publish(ItemChangeEvent.Type.SAVED, new Item("item", 10000, 10));
+                }
+            }));
+        }
+
+        //when
+        writers.forEach(Thread::start);
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        //then - 늦게 기록한 오래된 이벤트가 최신 슬롯을 덮어쓰지 않았다.
+        long last = feed.lastSequence();
+        assertThat(feed.readAfter(last - feed.capacity(), 100)).extracting(ItemChangeEvent::getSequence)
+                .containsExactly(last - 3, last - 2, last - 1, last);
+    }
+}
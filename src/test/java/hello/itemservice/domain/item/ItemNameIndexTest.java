@@ -0,0 +1,80 @@
+package hello.itemservice.domain.item;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ItemNameIndexTest {
+
+    ItemRepository itemRepository = new ItemRepository();
+    Duration budget = Duration.ofSeconds(1);
+
+    @Test
+    void searchHangulAndEnglish() {
+        //given
+        Item apple = itemRepository.save(new Item("사과 주스", 10000, 10));
+        Item appleJam = itemRepository.save(new Item("사과잼", 10000, 10));
+        Item itemA = itemRepository.save(new Item("itemA", 10000, 10));
+
+        //then
+        assertThat(itemRepository.searchByName("사과", 10, budget)).containsExactly(appleJam, apple);
+        assertThat(itemRepository.searchByName("과주", 10, budget)).containsExactly(apple); // 공백 무시
+        assertThat(itemRepository.searchByName("ITEM", 10, budget)).containsExactly(itemA);
+        assertThat(itemRepository.searchByName("잼", 10, budget)).containsExactly(appleJam);
+        assertThat(itemRepository.searchByName("포도", 10, budget)).isEmpty();
+    }
+
+    @Test
+    void relevanceOrder() {
+        Item contains = itemRepository.save(new Item("new itemA", 10000, 10));
+        Item prefixLong = itemRepository.save(new Item("itemA plus", 10000, 10));
+        Item prefixShort = itemRepository.save(new Item("itemA2", 10000, 10));
+        Item exact = itemRepository.save(new Item("itemA", 10000, 10));
+
+        List<Item> result = itemRepository.searchByName("itemA", 10, budget);
+
+        assertThat(result).containsExactly(exact, prefixShort, prefixLong, contains);
+        assertThat(itemRepository.searchByName("itemA", 2, budget)).containsExactly(exact, prefixShort);
+    }
+
+    @Test
+    void followUpdateAndClear() {
+        Item item = itemRepository.save(new Item("itemA", 10000, 10));
+
+        itemRepository.update(item.getId(), new Item("상품B", 10000, 10));
+
+        assertThat(itemRepository.searchByName("itemA", 10, budget)).isEmpty();
+        assertThat(itemRepository.searchByName("상품", 10, budget)).containsExactly(item);
+
+        itemRepository.update(item.getId(), new Item("itemA", 10000, 10));
+        assertThat(itemRepository.searchByName("item", 10, budget)).containsExactly(item);
+
+        itemRepository.clearStore();
+        assertThat(itemRepository.searchByName("item", 10, budget)).isEmpty();
+    }
+
+    @Test
+    void updateRemovesOldPostings() {
+        //given
+        ItemNameIndex index = new ItemNameIndex();
+        index.add(1L, "itemA");
+        index.add(2L, "itemB");
+
+        //when
+        for (int i = 0; i < 100; i++) {
+            index.update(1L, "itemA", "상품");
+            index.update(1L, "상품", "itemA");
+        }
+        index.update(1L, "itemA", "상품");
+
+        //then
+        assertThat(index.postingCount("it")).isEqualTo(1);
+        assertThat(index.postingCount("ma")).isZero();
+        assertThat(index.postingCount("상품")).isEqualTo(1);
+        assertThat(index.search("item", 10, budget.toNanos())).containsExactly(2L);
+        assertThat(index.search("상품", 10, budget.toNanos())).containsExactly(1L);
+    }
+}
@@ -0,0 +1,78 @@
+package hello.itemservice.domain.item;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ItemNamePoolTest {
+
+    ItemNamePool pool = new ItemNamePool();
+
+    @Test
+    void sameInstanceForEqualNames() {
+        //given
+        String first = new String("itemA");
+        String second = new String("itemA");
+
+        //when
+        String pooledFirst = pool.intern(first);
+        String pooledSecond = pool.intern(second);
+
+        //then
+        assertThat(pooledFirst).isSameAs(first);
+        assertThat(pooledSecond).isSameAs(first);
+        assertThat(pool.intern(null)).isNull();
+        assertThat(pool.size()).isEqualTo(1);
+    }
+
+    @Test
+    void unusedNamesAreReclaimed() throws InterruptedException {
+        //given
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            names.add(pool.intern("item" + i));
+        }
+        assertThat(pool.size()).isEqualTo(1000);
+
+        //when
+        names = null;
+        for (int i = 0; i < 20 && pool.size() > 0; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+
+        //then
+        assertThat(pool.size()).isZero();
+    }
+
+    @Test
+    void repositorySharesNames() {
+        //given
+        ItemRepository itemRepository = new ItemRepository(2, ItemQuota.unlimited(), pool);
+        Item saved = itemRepository.save(new Item(new String("itemA"), 10000, 10));
+        Item other = itemRepository.save(new Item(new String("itemB"), 10000, 10));
+
+        //when
+        itemRepository.update(other.getId(), new Item(new String("itemA"), 20000, 20));
+
+        //then
+        assertThat(itemRepository.findById(other.getId()).getItemName()).isSameAs(saved.getItemName());
+        assertThat(itemRepository.searchByName("itema", 10, Duration.ofSeconds(1)))
+                .extracting(Item::getId).containsExactlyInAnyOrder(saved.getId(), other.getId());
+    }
+
+    @Test
+    void disabledPoolKeepsInstances() {
+        //given
+        ItemNamePool disabled = ItemNamePool.disabled();
+        String name = new String("itemA");
+
+        //when, then
+        assertThat(disabled.intern(name)).isSameAs(name);
+        assertThat(disabled.intern(new String("itemA"))).isNotSameAs(name);
+    }
+}
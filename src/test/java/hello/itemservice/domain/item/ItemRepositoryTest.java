@@ -3,6 +3,11 @@ package hello.itemservice.domain.item;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.*;
@@ -46,6 +51,21 @@ class ItemRepositoryTest {
         assertThat(result).contains(item1, item2);
     }
 
+    @Test
+    void saveAll() {
+        //given
+        Item item1 = new Item("item1", 10000, 10);
+        Item item2 = new Item("item2", 20000, 20);
+
+        //when
+        itemRepository.saveAll(List.of(item1, item2));
+
+        //then
+        assertThat(item2.getId()).isGreaterThan(item1.getId());
+        assertThat(itemRepository.findById(item1.getId())).isEqualTo(item1);
+        assertThat(itemRepository.findById(item2.getId())).isEqualTo(item2);
+    }
+
     @Test
     void updateItem() {
         //given
@@ -65,4 +85,98 @@ class ItemRepositoryTest {
         assertThat(findItem.getPrice()).isEqualTo(updateParam.getPrice());
         assertThat(findItem.getQuantity()).isEqualTo(updateParam.getQuantity());
     }
+
+    @Test
+    void findAllInIdOrderAcrossShards() throws InterruptedException {
+        //given
+        ItemRepository shardedRepository = new ItemRepository(4);
+        Thread[] writers = new Thread[8];
+        for (int t = 0; t < writers.length; t++) {
+            writers[t] = new Thread(() -> {
+                for (int i = 0; i < 100; i++) {
+                    shardedRepository.save(new Item("item" + i, 10000, 10));
+                }
+            });
+            writers[t].start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        //when
+        List<Item> result = shardedRepository.findAll();
+
+        //then
+        assertThat(result).hasSize(800);
+        assertThat(result).extracting(Item::getId).isSorted().doesNotHaveDuplicates();
+        assertThat(shardedRepository.findPage(result.get(99).getId(), 10))
+                .containsExactlyElementsOf(result.subList(100, 110));
+    }
+
+    @Test
+    void versionChangesOnUpdate() {
+        //given
+        Item item = itemRepository.save(new Item("itemA", 10000, 10));
+        ItemVersion saved = itemRepository.findVersion(item.getId());
+
+        //when
+        itemRepository.update(item.getId(), new Item("itemB", 20000, 20));
+
+        //then
+        ItemVersion updated = itemRepository.findVersion(item.getId());
+        assertThat(updated.getSequence()).isGreaterThan(saved.getSequence());
+        assertThat(updated.getLastModified()).isGreaterThanOrEqualTo(saved.getLastModified());
+        assertThat(itemRepository.findVersion(item.getId() + 1000)).isNull();
+    }
+
+    @Test
+    void versionsSurviveSnapshot() throws IOException {
+        //given - item1 저장(1), item2 저장(2), item1 수정(3)
+        Item item1 = itemRepository.save(new Item("item1", 10000, 10));
+        itemRepository.save(new Item("item2", 10000, 10));
+        itemRepository.update(item1.getId(), new Item("item1-2", 20000, 20));
+        ItemVersion updated = itemRepository.findVersion(item1.getId());
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        itemRepository.writeSnapshot(new DataOutputStream(bytes));
+
+        //when
+        ItemRepository restored = new ItemRepository();
+        restored.readSnapshot(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        Item item3 = restored.save(new Item("item3", 10000, 10));
+
+        //then
+        assertThat(restored.findVersion(item1.getId())).isEqualTo(updated);
+        assertThat(restored.findVersion(item3.getId()).getSequence()).isGreaterThan(updated.getSequence());
+        assertThat(restored.changeFeed().readAfter(0, 10)).extracting(ItemChangeEvent::getSequence)
+                .containsExactly(updated.getSequence() + 1);
+    }
+
+    @Test
+    void quotaOnSave() {
+        //given
+        ItemRepository limited = new ItemRepository(2, new ItemQuota(2, 0));
+        limited.save(new Item("item1", 10000, 10));
+        limited.save(new Item("item2", 10000, 10));
+
+        //when, then
+        assertThatThrownBy(() -> limited.save(new Item("item3", 10000, 10)))
+                .isInstanceOf(ItemQuotaExceededException.class);
+        assertThat(limited.findAll()).hasSize(2);
+        assertThat(limited.quota().itemCount()).isEqualTo(2);
+
+        limited.clearStore();
+        assertThat(limited.save(new Item("item3", 10000, 10)).getId()).isNotNull();
+    }
+
+    @Test
+    void byteQuotaOnSaveAll() {
+        long oneItem = ItemQuota.estimateBytes(new Item("item1", 10000, 10));
+        ItemRepository limited = new ItemRepository(2, new ItemQuota(0, oneItem * 2));
+
+        assertThatThrownBy(() -> limited.saveAll(List.of(
+                new Item("item1", 10000, 10), new Item("item2", 10000, 10), new Item("item3", 10000, 10))))
+                .isInstanceOf(ItemQuotaExceededException.class);
+        assertThat(limited.findAll()).isEmpty();
+        assertThat(limited.quota().estimatedBytes()).isZero();
+    }
 }
@@ -0,0 +1,116 @@
+package hello.itemservice.domain.item;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ItemSorterTest {
+
+    @Test
+    void sortByPriceDescending() {
+        //given
+        List<Item> items = items(new Item("a", 2000, 1), new Item("b", null, 1), new Item("c", 3000, 1), new Item("d", 2000, 1));
+
+        //when
+        List<Item> result = ItemSorter.select(items, ItemFilter.NONE, ItemSortKey.PRICE, true, 0);
+
+        //then - 같은 가격은 id 순, 가격이 없으면 맨 뒤
+        assertThat(result).extracting(Item::getItemName).containsExactly("c", "a", "d", "b");
+    }
+
+    @Test
+    void filterAndLimit() {
+        List<Item> items = items(new Item("a", 500, 1), new Item("b", 5000, 100), new Item("c", 2000, 10), new Item("d", 3000, 1));
+
+        List<Item> result = ItemSorter.select(items, new ItemFilter(1000, 4000, 50), ItemSortKey.QUANTITY, false, 1);
+
+        assertThat(result).extracting(Item::getItemName).containsExactly("d");
+    }
+
+    @Test
+    void sameAsComparator() {
+        // 좁은 범위(계수 정렬), 넓은 범위(radix), 앞 4글자가 같은 한글/영문 이름
+        Random random = new Random(1);
+        for (int trial = 0; trial < 50; trial++) {
+            boolean wide = trial % 2 == 0;
+            List<Item> items = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                String name = random.nextInt(20) == 0 ? null : name(random);
+                Integer price = random.nextInt(20) == 0 ? null : wide ? random.nextInt() : 1000 + random.nextInt(50);
+                Integer quantity = random.nextInt(20) == 0 ? null : random.nextInt(10000);
+                items.add(new Item(name, price, quantity));
+            }
+            items = items(items.toArray(new Item[0]));
+
+            for (boolean descending : new boolean[]{false, true}) {
+                assertSorted(items, ItemSortKey.PRICE, Item::getPrice, descending);
+                assertSorted(items, ItemSortKey.QUANTITY, Item::getQuantity, descending);
+                assertSorted(items, ItemSortKey.ITEM_NAME, Item::getItemName, descending);
+            }
+        }
+    }
+
+    @Test
+    void longSharedPrefix() {
+        // 앞 4글자 이상이 같은 이름 - 다음 4글자씩 radix 로 이어서 정렬한다.
+        Random random = new Random(2);
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            String name = "item-" + random.nextInt(500) + (random.nextBoolean() ? "-상품" : "");
+            items.add(new Item(name, 1000, 1));
+        }
+        items = items(items.toArray(new Item[0]));
+
+        assertSorted(items, ItemSortKey.ITEM_NAME, Item::getItemName, false);
+        assertSorted(items, ItemSortKey.ITEM_NAME, Item::getItemName, true);
+    }
+
+    @Test
+    void idOrderStreamsWithoutReadingAll() {
+        //given
+        List<Item> items = items(new Item("a", 500, 1), new Item("b", 2000, 1), new Item("c", 3000, 1), new Item("d", 4000, 1));
+        Iterator<Item> source = items.iterator();
+
+        //when
+        Iterator<Item> result = ItemSorter.sorted(source, new ItemFilter(1000, null, null), ItemSortKey.ID, false, 1);
+
+        //then
+        assertThat(result.next().getItemName()).isEqualTo("b");
+        assertThat(result.hasNext()).isFalse();
+        assertThat(source.next().getItemName()).isEqualTo("c"); // 한도까지만 읽었다.
+    }
+
+    private static <T extends Comparable<T>> void assertSorted(List<Item> items, ItemSortKey sortKey,
+                                                               Function<Item, T> key, boolean descending) {
+        Comparator<T> order = descending ? Comparator.reverseOrder() : Comparator.naturalOrder();
+        List<Item> expected = new ArrayList<>(items);
+        expected.sort(Comparator.comparing(key, Comparator.nullsLast(order)).thenComparing(Item::getId));
+
+        assertThat(ItemSorter.select(items, ItemFilter.NONE, sortKey, descending, 0)).containsExactlyElementsOf(expected);
+    }
+
+    private static String name(Random random) {
+        StringBuilder name = new StringBuilder();
+        int length = random.nextInt(7);
+        for (int i = 0; i < length; i++) {
+            name.append(random.nextBoolean() ? (char) ('a' + random.nextInt(3)) : (char) ('가' + random.nextInt(3)));
+        }
+        return name.toString();
+    }
+
+    private static List<Item> items(Item... items) {
+        List<Item> result = new ArrayList<>();
+        for (int i = 0; i < items.length; i++) {
+            items[i].setId((long) i + 1);
+            result.add(items[i]);
+        }
+        return result;
+    }
+}
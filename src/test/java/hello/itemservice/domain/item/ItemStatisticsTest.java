@@ -0,0 +1,78 @@
+package hello.itemservice.domain.item;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ItemStatisticsTest {
+
+    ItemRepository itemRepository = new ItemRepository(4);
+
+    @Test
+    void saveAndUpdate() {
+        //given
+        Item item = itemRepository.save(new Item("itemA", 10000, 10));
+        itemRepository.save(new Item("itemB", 1000000, 9999));
+
+        //when
+        itemRepository.update(item.getId(), new Item("itemA", 20000, 20));
+
+        //then
+        ItemStatistics.Snapshot stats = itemRepository.statistics();
+        assertThat(stats.getCount()).isEqualTo(2);
+        assertThat(stats.getTotalInventoryValue()).isEqualTo(20000L * 20 + 1000000L * 9999); // int 범위를 넘는다
+        assertThat(stats.getPriceHistogram()).extracting(ItemStatistics.Bucket::getCount)
+                .containsExactly(0L, 0L, 0L, 1L, 0L, 0L, 1L, 0L);
+        assertThat(stats.getQuantityHistogram()).extracting(ItemStatistics.Bucket::getCount)
+                .containsExactly(0L, 1L, 0L, 1L, 0L);
+    }
+
+    @Test
+    void clear() {
+        itemRepository.save(new Item("itemA", 10000, 10));
+
+        itemRepository.clearStore();
+
+        assertThat(itemRepository.statistics().getCount()).isZero();
+        assertThat(itemRepository.statistics().getTotalInventoryValue()).isZero();
+    }
+
+    @Test
+    void exactUnderConcurrentWrites() throws InterruptedException {
+        //given
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < 2000; i++) {
+                    Item saved = itemRepository.save(new Item("item", random.nextInt(1000, 1000001), random.nextInt(0, 10000)));
+                    List<Item> all = itemRepository.findPage(Math.max(0, saved.getId() - 50), 10);
+                    Item target = all.isEmpty() ? saved : all.get(random.nextInt(all.size()));
+                    itemRepository.update(target.getId(),
+                            new Item("item", random.nextInt(1000, 1000001), random.nextInt(0, 10000)));
+                }
+            });
+        }
+
+        //when
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        //then - findAll 로 다시 계산한 값과 같아야 한다.
+        List<Item> items = itemRepository.findAll();
+        ItemStatistics.Snapshot stats = itemRepository.statistics();
+        assertThat(stats.getCount()).isEqualTo(items.size()).isEqualTo(16000);
+        assertThat(stats.getTotalInventoryValue())
+                .isEqualTo(items.stream().mapToLong(item -> (long) item.getPrice() * item.getQuantity()).sum());
+        assertThat(stats.getTotalQuantity())
+                .isEqualTo(items.stream().mapToLong(Item::getQuantity).sum());
+        assertThat(stats.getPriceHistogram().stream().mapToLong(ItemStatistics.Bucket::getCount).sum())
+                .isEqualTo(16000);
+    }
+}
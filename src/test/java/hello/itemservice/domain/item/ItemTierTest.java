@@ -0,0 +1,205 @@
+package hello.itemservice.domain.item;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ItemTierTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void promoteOnFindById() {
+        //given
+        ItemRepository itemRepository = tieredRepository(10);
+        List<Item> saved = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            saved.add(itemRepository.save(new Item("item" + i, 1000 + i, i)));
+        }
+
+        //when
+        Item cold = itemRepository.findById(saved.get(0).getId());
+        Item hot = itemRepository.findById(saved.get(0).getId());
+
+        //then
+        assertThat(cold).isEqualTo(saved.get(0));
+        assertThat(hot).isSameAs(cold);
+        ItemTier.Snapshot statistics = itemRepository.tierStatistics();
+        assertThat(statistics.getHotItems()).isEqualTo(10);
+        assertThat(statistics.getColdItems()).isEqualTo(90);
+        assertThat(statistics.getPromotions()).isEqualTo(1);
+        assertThat(statistics.getHits()).isEqualTo(1);
+        assertThat(statistics.getHitRatio()).isEqualTo(0.5);
+    }
+
+    @Test
+    void findAllReadsBothTiers() {
+        //given
+        ItemRepository itemRepository = tieredRepository(4);
+        for (int i = 0; i < 50; i++) {
+            itemRepository.save(new Item(i % 3 == 0 ? null : "item" + i, i % 5 == 0 ? null : 1000 + i, i));
+        }
+
+        //when
+        List<Item> items = itemRepository.findAll();
+
+        //then
+        assertThat(items).hasSize(50);
+        assertThat(items).extracting(Item::getId).isSorted().doesNotHaveDuplicates();
+        assertThat(items.get(0).getItemName()).isNull();
+        assertThat(items.get(1).getItemName()).isEqualTo("item1");
+        assertThat(items.get(0).getPrice()).isNull();
+        assertThat(items.get(49).getQuantity()).isEqualTo(49);
+        assertThat(itemRepository.tierStatistics().getPromotions()).isZero();
+    }
+
+    @Test
+    void updateSurvivesEviction() {
+        //given
+        ItemRepository itemRepository = tieredRepository(2);
+        Item item = itemRepository.save(new Item("itemA", 10000, 10));
+        for (int i = 0; i < 20; i++) {
+            itemRepository.save(new Item("item" + i, 10000, 10));
+        }
+
+        //when
+        itemRepository.update(item.getId(), new Item("itemB", 20000, 20));
+        for (Item other : itemRepository.findAll()) {
+            itemRepository.findById(other.getId());
+        }
+
+        //then
+        Item found = itemRepository.findById(item.getId());
+        assertThat(found.getItemName()).isEqualTo("itemB");
+        assertThat(found.getPrice()).isEqualTo(20000);
+        assertThat(itemRepository.searchByName("itemb", 10, Duration.ofSeconds(1))).containsExactly(found);
+    }
+
+    @Test
+    void snapshotAndClear() throws Exception {
+        //given
+        ItemRepository itemRepository = tieredRepository(3);
+        List<Item> saved = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            saved.add(itemRepository.save(new Item("item" + i, 1000 + i, i)));
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        itemRepository.writeSnapshot(new DataOutputStream(bytes));
+
+        //when
+        ItemRepository restored = tieredRepository(3);
+        restored.readSnapshot(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        itemRepository.clearStore();
+
+        //then
+        assertThat(restored.findAll()).containsExactlyElementsOf(saved);
+        assertThat(restored.tierStatistics().getHotItems()).isEqualTo(3);
+        assertThat(itemRepository.findAll()).isEmpty();
+        assertThat(itemRepository.tierStatistics().getColdFileBytes()).isZero();
+    }
+
+    @Test
+    void compactAfterUpdates() {
+        //given - 버려진 레코드가 1KB 를 넘고 파일의 절반 이상이면 압축
+        ItemRepository itemRepository = new ItemRepository(1, ItemQuota.unlimited(), new ItemNamePool(),
+                new ItemTier(2, directory, 1024));
+        List<Item> saved = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            saved.add(itemRepository.save(new Item("item" + i, 1000 + i, i)));
+        }
+        Iterator<Item> listing = itemRepository.iterator();
+        listing.next();
+
+        //when - 파일로 나간 상품을 고치고 다시 내보내기를 반복한다.
+        for (int round = 0; round < 20; round++) {
+            for (Item item : saved) {
+                itemRepository.update(item.getId(), new Item("updated" + round, 2000, round));
+            }
+        }
+
+        //then
+        ItemTier.Snapshot statistics = itemRepository.tierStatistics();
+        assertThat(statistics.getCompactions()).isPositive();
+        assertThat(statistics.getColdFileBytes()).isLessThan(40L * 40 * 2);
+        assertThat(itemRepository.findAll()).hasSize(40)
+                .allSatisfy(item -> assertThat(item.getItemName()).isEqualTo("updated19"));
+        // 압축 전에 시작한 목록 조회도 새 위치에서 읽는다.
+        List<Item> rest = new ArrayList<>();
+        listing.forEachRemaining(rest::add);
+        assertThat(rest).extracting(Item::getId).isSorted().doesNotHaveDuplicates().doesNotContainNull();
+    }
+
+    @Test
+    void coldWriteFailureLeavesNothingBehind() throws Exception {
+        //given - 파일 계층 디렉토리 자리에 파일이 있어서 처음 내보낼 때 실패한다.
+        Path notDirectory = Files.createFile(directory.resolve("not-a-directory"));
+        ItemRepository itemRepository = new ItemRepository(1, new ItemQuota(10, 0), new ItemNamePool(),
+                new ItemTier(2, notDirectory));
+        Item first = itemRepository.save(new Item("item1", 1000, 1));
+        Item second = itemRepository.save(new Item("item2", 2000, 2));
+        Item third = new Item("item3", 3000, 3);
+        List<Item> batch = List.of(new Item("item4", 4000, 4), new Item("item5", 5000, 5));
+
+        //when
+        assertThatThrownBy(() -> itemRepository.save(third)).isInstanceOf(UncheckedIOException.class);
+        assertThatThrownBy(() -> itemRepository.saveAll(batch)).isInstanceOf(UncheckedIOException.class);
+
+        //then
+        assertThat(third.getId()).isNull();
+        assertThat(batch).extracting(Item::getId).containsOnlyNulls();
+        assertThat(itemRepository.findAll()).containsExactly(first, second);
+        assertThat(itemRepository.statistics().getCount()).isEqualTo(2);
+        assertThat(itemRepository.quota().itemCount()).isEqualTo(2);
+        assertThat(itemRepository.quota().estimatedBytes())
+                .isEqualTo(ItemQuota.estimateBytes(first) + ItemQuota.estimateBytes(second));
+        assertThat(itemRepository.tierStatistics().getHotItems()).isEqualTo(2);
+    }
+
+    @Test
+    void coldWriteFailureDuringRestoreEmptiesRepository() throws Exception {
+        //given
+        ItemRepository itemRepository = tieredRepository(3);
+        for (int i = 0; i < 10; i++) {
+            itemRepository.save(new Item("item" + i, 1000 + i, i));
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        itemRepository.writeSnapshot(new DataOutputStream(bytes));
+        Path notDirectory = Files.createFile(directory.resolve("not-a-directory"));
+        ItemRepository restored = new ItemRepository(1, new ItemQuota(10, 0), new ItemNamePool(),
+                new ItemTier(3, notDirectory));
+
+        //when
+        assertThatThrownBy(() -> restored.readSnapshot(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))))
+                .isInstanceOf(UncheckedIOException.class);
+
+        //then
+        assertThat(restored.findAll()).isEmpty();
+        assertThat(restored.isEmpty()).isTrue();
+        assertThat(restored.quota().itemCount()).isZero();
+        assertThat(restored.quota().estimatedBytes()).isZero();
+    }
+
+    @Test
+    void hotMaxItemsBelowShardCount() {
+        assertThatThrownBy(() -> new ItemRepository(4, ItemQuota.unlimited(), new ItemNamePool(), new ItemTier(3, directory)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private ItemRepository tieredRepository(int hotMaxItems) {
+        return new ItemRepository(1, ItemQuota.unlimited(), new ItemNamePool(), new ItemTier(hotMaxItems, directory));
+    }
+}
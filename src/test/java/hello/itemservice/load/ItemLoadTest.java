@@ -0,0 +1,348 @@
+package hello.itemservice.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.load.LoadMix.Operation;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.web.servlet.resource.ResourceUrlProvider;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * v1 ~ v4, api 엔드포인트 부하 테스트 (open model)
+ * <p>
+ * 응답을 기다리지 않고 정해진 도착률로 요청을 보내고, 지연 시간은 "보냈어야 할 시각" 부터 측정한다.
+ * (coordinated omission 방지)
+ * <pre>
+ * ./gradlew loadTest -Dload.rate=500 -Dload.duration=60 \
+ *     -Dload.mix=list=30,detail=40,add-valid=10,add-invalid=15,edit=5 \
+ *     -Dload.versions=v1,v2,v3,v4,api
+ * </pre>
+ * 결과는 엔드포인트별 HDR 히스토그램 요약으로 build/reports/load/load-report.json 에 남긴다.
+ * <p>
+ * 조건부 GET 으로 아끼는 CPU 는 같은 도착률에서 detail=100 과 revalidate=100 의 cpuMicrosPerRequest 를 비교한다.
+ * (부하 발생기도 같은 JVM 이므로 절대값이 아니라 차이를 본다)
+ * 페이지 한번 로드의 전송량은 detail 과 asset 의 bytesPerRequest 를 더해서 본다.
+ * <p>
+ * 쓰기 폭주 중 읽기 지연은 등록/수정 제한(-Dload.throttle=true)을 켜고 끈 두 번의 결과에서 list/detail 의 p99 를 비교한다.
+ * <pre>
+ * ./gradlew loadTest -Dload.throttle=true -Dload.rate=2000 -Dload.mix=list=10,detail=10,add-invalid=80
+ * </pre>
+ * 제한에 걸린 429 는 오류가 아니라 shed 로 센다.
+ * <p>
+ * 기동 직후 지연은 기동 예열(StartupWarmup)을 켜고 끈 두 번의 결과에서 firstRequestMicros 와 p99 를 비교한다.
+ * (부하 테스트 자체의 예열은 끈다)
+ * <pre>
+ * ./gradlew loadTest -Dload.startupWarmup=false -Dload.warmup=0
+ * ./gradlew loadTest -Dload.startupWarmup=true -Dload.warmup=0
+ * </pre>
+ */
+@Slf4j
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"throttle.enabled=${load.throttle:false}", "warmup.enabled=${load.startupWarmup:true}"})
+class ItemLoadTest {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    ResourceUrlProvider resourceUrlProvider;
+
+    final int rate = Integer.getInteger("load.rate", 200);
+    final int durationSeconds = Integer.getInteger("load.duration", 30);
+    final int warmupSeconds = Integer.getInteger("load.warmup", 5);
+    final int seedItems = Integer.getInteger("load.seedItems", 1000);
+    final double maxErrorRate = Double.parseDouble(System.getProperty("load.maxErrorRate", "0.01"));
+    final String mixSpec = System.getProperty("load.mix", "list=30,detail=40,add-valid=10,add-invalid=15,edit=5");
+    final List<String> versions = Arrays.asList(System.getProperty("load.versions", "v1,v2,v3,v4,api").split(","));
+    final String acceptEncoding = System.getProperty("load.acceptEncoding", "br, gzip");
+    final Path reportPath = Paths.get(System.getProperty("load.report", "build/reports/load/load-report.json"));
+
+    final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    final Map<String, LongAdder> notModified = new ConcurrentHashMap<>();
+    final Map<String, LongAdder> shed = new ConcurrentHashMap<>(); // 429
+    final Map<String, LongAdder> bytes = new ConcurrentHashMap<>(); // 응답 본문 (압축된 그대로)
+    final Map<String, String> etags = new ConcurrentHashMap<>(); // url -> 마지막으로 받은 ETag
+    final Map<String, Long> firstRequestMicros = new TreeMap<>(); // 기동 후 엔드포인트별 첫 요청
+
+    HttpClient client;
+    long[] seedIds; // 샤드마다 id 를 건너뛰며 발급하므로 연속이 아니다.
+    String assetPath;
+
+    @Test
+    void openModelLoad() throws Exception {
+        seed();
+        assetPath = resourceUrlProvider.getForLookupPath("/css/bootstrap.min.css");
+        client = HttpClient.newBuilder()
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2))
+                .build();
+        measureFirstRequests();
+
+        LoadMix mix = new LoadMix(mixSpec);
+
+        log.info("warmup {}s", warmupSeconds);
+        run(mix, warmupSeconds, false);
+
+        log.info("load rate={}/s, duration={}s, mix={}, versions={}", rate, durationSeconds, mixSpec, versions);
+        long cpuStart = processCpuNanos();
+        run(mix, durationSeconds, true);
+        long cpuNanos = processCpuNanos() - cpuStart;
+
+        long total = histograms.values().stream().mapToLong(Histogram::getTotalCount).sum();
+        long failed = errors.values().stream().mapToLong(LongAdder::sum).sum();
+        writeReport(total, failed, cpuNanos);
+
+        assertThat(total).isPositive();
+        assertThat((double) failed / total).isLessThanOrEqualTo(maxErrorRate);
+    }
+
+    private void seed() {
+        List<Item> items = new ArrayList<>(seedItems);
+        for (int i = 0; i < seedItems; i++) {
+            items.add(new Item("load" + i, 10000, 10));
+        }
+        itemRepository.saveAll(items);
+        seedIds = items.stream().mapToLong(Item::getId).toArray();
+    }
+
+    /**
+     * 화면 버전마다 목록과 상세를 한번씩 - 아무 요청도 받지 않은 상태의 첫 응답 시간
+     */
+    private void measureFirstRequests() throws IOException, InterruptedException {
+        for (String version : versions) {
+            if ("api".equals(version)) {
+                continue;
+            }
+            String base = "http://localhost:" + port + "/validation/" + version + "/items";
+            for (String url : List.of(base, base + "/" + seedIds[0])) {
+                long start = System.nanoTime();
+                client.send(get(url), HttpResponse.BodyHandlers.discarding());
+                firstRequestMicros.put(version + " " + url.substring(base.length()),
+                        TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+            }
+        }
+    }
+
+    private void run(LoadMix mix, int seconds, boolean record) throws InterruptedException {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        long count = (long) rate * seconds;
+        List<CompletableFuture<?>> inFlight = new ArrayList<>();
+
+        for (long i = 0; i < count; i++) {
+            long intendedStart = start + i * intervalNanos;
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            Operation operation = mix.next();
+            String version = pickVersion(operation);
+            String key = version + " " + operation.key;
+            HttpRequest request = request(version, operation);
+            inFlight.add(client.sendAsync(request, ItemLoadTest::countBytes)
+                    .handle((response, ex) -> {
+                        if (response != null && (operation == Operation.DETAIL || operation == Operation.REVALIDATE)) {
+                            response.headers().firstValue("ETag")
+                                    .ifPresent(etag -> etags.put(request.uri().toString(), etag));
+                        }
+                        if (record) {
+                            record(key, intendedStart, response, ex);
+                        }
+                        return null;
+                    }));
+            if (inFlight.size() >= 10_000) {
+                inFlight.removeIf(CompletableFuture::isDone);
+            }
+        }
+
+        try {
+            CompletableFuture.allOf(inFlight.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            log.warn("완료되지 않은 요청이 있습니다.", e);
+        }
+    }
+
+    /**
+     * 본문은 버리고 크기만 센다.
+     */
+    private static HttpResponse.BodySubscriber<Long> countBytes(HttpResponse.ResponseInfo responseInfo) {
+        return HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.ofByteArray(), body -> (long) body.length);
+    }
+
+    private void record(String key, long intendedStart, HttpResponse<Long> response, Throwable ex) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStart);
+        histograms.computeIfAbsent(key, k -> new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3))
+                .recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+        if (response != null && response.statusCode() == 429) {
+            shed.computeIfAbsent(key, k -> new LongAdder()).increment();
+        } else if (ex != null || response.statusCode() >= 400) {
+            errors.computeIfAbsent(key, k -> new LongAdder()).increment();
+        } else if (response.statusCode() == 304) {
+            notModified.computeIfAbsent(key, k -> new LongAdder()).increment();
+        }
+        if (response != null) {
+            bytes.computeIfAbsent(key, k -> new LongAdder()).add(response.body());
+        }
+    }
+
+    /**
+     * api 는 등록(add)만 제공한다.
+     */
+    private String pickVersion(Operation operation) {
+        boolean apiSupported = operation == Operation.ADD_VALID || operation == Operation.ADD_INVALID;
+        List<String> candidates = new ArrayList<>(versions);
+        if (!apiSupported && candidates.size() > 1) {
+            candidates.remove("api");
+        }
+        return candidates.get(ThreadLocalRandom.current().nextInt(candidates.size()));
+    }
+
+    private HttpRequest request(String version, Operation operation) {
+        String base = "http://localhost:" + port + ("api".equals(version) ? "/validation/api/items" : "/validation/" + version + "/items");
+        long itemId = seedIds[ThreadLocalRandom.current().nextInt(seedIds.length)];
+
+        switch (operation) {
+            case LIST:
+                return get(base);
+            case DETAIL:
+                return get(base + "/" + itemId);
+            case ADD_VALID:
+                return "api".equals(version)
+                        ? postJson(base + "/add", "{\"itemName\":\"load\",\"price\":10000,\"quantity\":10}")
+                        : postForm(base + "/add", form(null, "load", "10000", "10"));
+            case ADD_INVALID:
+                return "api".equals(version)
+                        ? postJson(base + "/add", "{\"itemName\":\" \",\"price\":10,\"quantity\":99999}")
+                        : postForm(base + "/add", form(null, "", "10", "99999"));
+            case REVALIDATE:
+                return revalidate(base + "/" + itemId);
+            case ASSET:
+                return HttpRequest.newBuilder(URI.create("http://localhost:" + port + assetPath))
+                        .header("Accept-Encoding", acceptEncoding)
+                        .GET()
+                        .build();
+            case EDIT:
+                return postForm(base + "/" + itemId + "/edit", form(itemId, "load" + itemId, "20000", "20"));
+            default:
+                throw new IllegalArgumentException("operation=" + operation);
+        }
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).GET().build();
+    }
+
+    private HttpRequest revalidate(String url) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url)).GET();
+        String etag = etags.get(url);
+        if (etag != null) {
+            builder.header("If-None-Match", etag);
+        }
+        return builder.build();
+    }
+
+    private static HttpRequest postForm(String url, String body) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static HttpRequest postJson(String url, String body) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static String form(Long id, String itemName, String price, String quantity) {
+        StringBuilder body = new StringBuilder();
+        if (id != null) {
+            body.append("id=").append(id).append('&');
+        }
+        return body.append("itemName=").append(URLEncoder.encode(itemName, StandardCharsets.UTF_8))
+                .append("&price=").append(price)
+                .append("&quantity=").append(quantity)
+                .toString();
+    }
+
+    private static long processCpuNanos() {
+        return ((com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean()).getProcessCpuTime();
+    }
+
+    private void writeReport(long total, long failed, long cpuNanos) throws IOException {
+        Map<String, Object> endpoints = new TreeMap<>();
+        histograms.forEach((key, histogram) -> {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("count", histogram.getTotalCount());
+            summary.put("errors", errors.getOrDefault(key, new LongAdder()).sum());
+            summary.put("notModified", notModified.getOrDefault(key, new LongAdder()).sum());
+            summary.put("shed", shed.getOrDefault(key, new LongAdder()).sum());
+            summary.put("bytesPerRequest", histogram.getTotalCount() == 0 ? 0
+                    : (double) bytes.getOrDefault(key, new LongAdder()).sum() / histogram.getTotalCount());
+            summary.put("throughputPerSec", (double) histogram.getTotalCount() / durationSeconds);
+            summary.put("meanMicros", histogram.getMean());
+            summary.put("p50Micros", histogram.getValueAtPercentile(50));
+            summary.put("p90Micros", histogram.getValueAtPercentile(90));
+            summary.put("p99Micros", histogram.getValueAtPercentile(99));
+            summary.put("p999Micros", histogram.getValueAtPercentile(99.9));
+            summary.put("maxMicros", histogram.getMaxValue());
+            endpoints.put(key, summary);
+        });
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("rate", rate);
+        report.put("durationSeconds", durationSeconds);
+        report.put("mix", mixSpec);
+        report.put("acceptEncoding", acceptEncoding);
+        report.put("throttle", Boolean.getBoolean("load.throttle"));
+        report.put("startupWarmup", Boolean.parseBoolean(System.getProperty("load.startupWarmup", "true")));
+        report.put("firstRequestMicros", firstRequestMicros);
+        report.put("versions", versions);
+        report.put("total", total);
+        report.put("errors", failed);
+        report.put("cpuMillis", TimeUnit.NANOSECONDS.toMillis(cpuNanos));
+        report.put("cpuMicrosPerRequest", total == 0 ? 0 : (double) TimeUnit.NANOSECONDS.toMicros(cpuNanos) / total);
+        report.put("endpoints", endpoints);
+
+        Files.createDirectories(reportPath.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(reportPath.toFile(), report);
+        log.info("load report={}", reportPath.toAbsolutePath());
+    }
+}
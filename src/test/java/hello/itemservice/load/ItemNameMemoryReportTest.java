@@ -0,0 +1,133 @@
+package hello.itemservice.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemNamePool;
+import hello.itemservice.domain.item.ItemQuota;
+import hello.itemservice.domain.item.ItemRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 상품명 intern 메모리 리포트 - 100만 건 카탈로그를 intern 을 켜고 끈 저장소에 각각 넣고 힙 사용량을 비교한다.
+ * <p>
+ * 카탈로그는 브랜드/분류/색상/사이즈 조합의 이름을 인기 순으로 치우치게 뽑아서 만든다. (같은 이름이 여러 번 나온다)
+ * 상품은 여러 테넌트에 나눠 넣는다. 풀은 테넌트끼리 공유하므로 같은 이름을 파는 스토어가 많을수록 아낀다.
+ * 이름은 폼 바인딩처럼 상품마다 새 String 으로 만든다.
+ * <pre>
+ * ./gradlew loadTest --tests '*ItemNameMemoryReportTest' -Dload.memory.items=1000000 -Dload.memory.tenants=4
+ * </pre>
+ * 결과는 build/reports/load/name-memory-report.json 에 남긴다. (색인, 변경 스트림까지 포함한 저장소 전체 크기)
+ */
+@Slf4j
+@Tag("load")
+class ItemNameMemoryReportTest {
+
+    private static final String[] CATEGORIES = {
+            "반팔 티셔츠", "긴팔 티셔츠", "셔츠", "후드티", "맨투맨", "니트", "가디건", "청바지", "슬랙스", "반바지",
+            "트레이닝 팬츠", "원피스", "스커트", "패딩", "코트", "자켓", "운동화", "슬리퍼", "백팩", "토트백",
+            "모자", "양말", "벨트", "머플러", "장갑", "Basic Tee", "Oxford Shirt", "Denim Jacket", "Running Shoes", "Cap"};
+    private static final String[] COLORS = {
+            "블랙", "화이트", "그레이", "네이비", "베이지", "카키", "브라운", "레드", "블루", "그린", "아이보리", "차콜"};
+    private static final String[] SIZES = {"XS", "S", "M", "L", "XL", "FREE"};
+    private static final int BRANDS = 400;
+
+    final int itemCount = Integer.getInteger("load.memory.items", 1_000_000);
+    final int tenants = Integer.getInteger("load.memory.tenants", 4);
+    final Path reportPath = Paths.get(System.getProperty("load.memory.report",
+            "build/reports/load/name-memory-report.json"));
+
+    @Test
+    void report() throws Exception {
+        Map<String, Object> plain = measure(ItemNamePool.disabled());
+        Map<String, Object> interned = measure(new ItemNamePool());
+
+        long plainBytes = (long) plain.get("heapBytes");
+        long internedBytes = (long) interned.get("heapBytes");
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("items", itemCount);
+        report.put("tenants", tenants);
+        report.put("distinctNames", interned.get("distinctNames"));
+        report.put("plain", plain);
+        report.put("interned", interned);
+        report.put("savedBytes", plainBytes - internedBytes);
+        report.put("savedRatio", plainBytes == 0 ? 0 : (double) (plainBytes - internedBytes) / plainBytes);
+
+        Files.createDirectories(reportPath.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(reportPath.toFile(), report);
+        log.info("name memory report={} plain={} interned={}", reportPath.toAbsolutePath(), plainBytes, internedBytes);
+
+        assertThat(internedBytes).isLessThan(plainBytes);
+    }
+
+    private Map<String, Object> measure(ItemNamePool pool) {
+        long before = usedHeapAfterGc();
+
+        Random random = new Random(42);
+        List<ItemRepository> repositories = new ArrayList<>(tenants);
+        for (int t = 0; t < tenants; t++) {
+            repositories.add(new ItemRepository(1, ItemQuota.unlimited(), pool));
+        }
+        Set<String> distinct = new HashSet<>();
+        for (int i = 0; i < itemCount; i++) {
+            String itemName = catalogName(random);
+            distinct.add(itemName);
+            repositories.get(i % tenants).save(new Item(itemName, 1000 + random.nextInt(999_001), random.nextInt(10_000)));
+        }
+        int distinctNames = distinct.size();
+        distinct = null;
+
+        long heapBytes = usedHeapAfterGc() - before;
+        long stored = 0;
+        for (ItemRepository repository : repositories) {
+            stored += repository.statistics().getCount();
+        }
+        assertThat(stored).isEqualTo(itemCount);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("distinctNames", distinctNames);
+        result.put("heapBytes", heapBytes);
+        result.put("bytesPerItem", (double) heapBytes / itemCount);
+        result.put("poolSize", pool.size());
+        return result;
+    }
+
+    /**
+     * 인기 있는 조합일수록 자주 나온다. (0..n 에서 작은 값 쪽으로 치우친 분포)
+     */
+    private static String catalogName(Random random) {
+        return new StringBuilder(32)
+                .append("브랜드").append(skewed(random, BRANDS)).append(' ')
+                .append(CATEGORIES[skewed(random, CATEGORIES.length)]).append(' ')
+                .append(COLORS[skewed(random, COLORS.length)]).append(' ')
+                .append(SIZES[random.nextInt(SIZES.length)])
+                .toString();
+    }
+
+    private static int skewed(Random random, int n) {
+        double u = random.nextDouble();
+        return (int) (u * u * n);
+    }
+
+    private static long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
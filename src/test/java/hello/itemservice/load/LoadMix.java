@@ -0,0 +1,69 @@
+package hello.itemservice.load;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 부하 시나리오 구성 - "list=30,detail=40,add-valid=10,add-invalid=15,edit=5" 형태의 가중치
+ */
+class LoadMix {
+
+    enum Operation {
+        LIST("list"),
+        DETAIL("detail"),
+        ADD_VALID("add-valid"),
+        ADD_INVALID("add-invalid"),
+        EDIT("edit"),
+        REVALIDATE("revalidate"), // 받은 ETag 로 상세 페이지 조건부 GET
+        ASSET("asset"); // 페이지가 참조하는 css (버전이 붙은 경로, load.acceptEncoding)
+
+        final String key;
+
+        Operation(String key) {
+            this.key = key;
+        }
+
+        static Operation of(String key) {
+            for (Operation operation : values()) {
+                if (operation.key.equals(key)) {
+                    return operation;
+                }
+            }
+            throw new IllegalArgumentException("알 수 없는 operation=" + key);
+        }
+    }
+
+    private final List<Operation> operations = new ArrayList<>();
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+
+    LoadMix(String spec) {
+        Map<Operation, Integer> weights = new LinkedHashMap<>();
+        for (String entry : spec.split(",")) {
+            String[] pair = entry.trim().split("=");
+            weights.put(Operation.of(pair[0].trim()), Integer.parseInt(pair[1].trim()));
+        }
+
+        cumulativeWeights = new int[weights.size()];
+        int sum = 0;
+        for (Map.Entry<Operation, Integer> entry : weights.entrySet()) {
+            sum += entry.getValue();
+            cumulativeWeights[operations.size()] = sum;
+            operations.add(entry.getKey());
+        }
+        totalWeight = sum;
+    }
+
+    Operation next() {
+        int pick = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return operations.get(i);
+            }
+        }
+        return operations.get(operations.size() - 1);
+    }
+}
@@ -0,0 +1,138 @@
+package hello.itemservice.tenant;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TenantScopeTest {
+
+    static final String BEAN = "itemRepository";
+
+    @TempDir
+    Path snapshotDirectory;
+
+    AtomicLong now = new AtomicLong();
+    TenantScope scope;
+
+    @AfterEach
+    void afterEach() {
+        TenantContext.clear();
+        if (scope != null) {
+            scope.destroy();
+        }
+    }
+
+    @Test
+    void isolated() {
+        //given
+        scope = new TenantScope(snapshotDirectory, Duration.ofMinutes(1), now::get);
+
+        //when
+        TenantContext.set("storeA");
+        ItemRepository storeA = repository();
+        storeA.save(new Item("itemA", 10000, 10));
+        TenantContext.set("storeB");
+        ItemRepository storeB = repository();
+
+        //then
+        assertThat(storeB).isNotSameAs(storeA);
+        assertThat(storeB.findAll()).isEmpty();
+        TenantContext.set("storeA");
+        assertThat(repository()).isSameAs(storeA);
+    }
+
+    @Test
+    void evictIdleToSnapshot() {
+        //given
+        scope = new TenantScope(snapshotDirectory, Duration.ofMinutes(1), now::get);
+        TenantContext.set("storeA");
+        Item saved = repository().save(new Item("itemA", 10000, 10));
+
+        //when
+        now.addAndGet(Duration.ofMinutes(2).toNanos());
+        scope.evictIdle();
+
+        //then
+        assertThat(scope.tenantCount()).isZero();
+        assertThat(snapshotDirectory.resolve("storeA").resolve(BEAN + ".snapshot")).exists();
+
+        ItemRepository restored = repository();
+        assertThat(restored.findById(saved.getId())).isEqualTo(saved);
+        assertThat(restored.save(new Item("itemB", 10000, 10)).getId()).isGreaterThan(saved.getId());
+        assertThat(snapshotDirectory.resolve("storeA").resolve(BEAN + ".snapshot")).doesNotExist();
+    }
+
+    @Test
+    void recentlyUsedAndDefaultTenantStay() {
+        scope = new TenantScope(snapshotDirectory, Duration.ofMinutes(1), now::get);
+        repository(); // default
+        TenantContext.set("storeA");
+        repository();
+
+        now.addAndGet(Duration.ofSeconds(59).toNanos());
+        repository(); // storeA 사용
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+        scope.evictIdle();
+
+        assertThat(scope.tenantCount()).isEqualTo(2);
+    }
+
+    @Test
+    void emptyRepositoryLeavesNoSnapshot() {
+        //given
+        scope = new TenantScope(snapshotDirectory, Duration.ofMinutes(1), now::get);
+        TenantContext.set("storeA");
+        repository();
+
+        //when
+        now.addAndGet(Duration.ofMinutes(2).toNanos());
+        scope.evictIdle();
+
+        //then
+        assertThat(scope.tenantCount()).isZero();
+        assertThat(snapshotDirectory.resolve("storeA")).doesNotExist();
+    }
+
+    @Test
+    void maxTenants() {
+        //given
+        scope = new TenantScope(snapshotDirectory, Duration.ofMinutes(1), 1, Set.of(), now::get);
+        repository(); // default 는 세지 않는다.
+        TenantContext.set("storeA");
+        repository();
+
+        //when
+        TenantContext.set("storeB");
+
+        //then
+        assertThat(scope.hasRoomFor("storeA")).isTrue();
+        assertThat(scope.hasRoomFor("storeB")).isFalse();
+        assertThatThrownBy(this::repository).isInstanceOf(TenantLimitExceededException.class);
+
+        scope.discard("storeA");
+        assertThat(scope.hasRoomFor("storeB")).isTrue();
+        assertThat(repository()).isNotNull();
+    }
+
+    @Test
+    void allowedTenants() {
+        scope = new TenantScope(snapshotDirectory, Duration.ofMinutes(1), 10, Set.of("storeA"), now::get);
+
+        assertThat(scope.isAllowed("storeA")).isTrue();
+        assertThat(scope.isAllowed(TenantContext.DEFAULT_TENANT)).isTrue();
+        assertThat(scope.isAllowed("storeB")).isFalse();
+    }
+
+    private ItemRepository repository() {
+        return (ItemRepository) scope.get(BEAN, () -> new ItemRepository(2));
+    }
+}
@@ -0,0 +1,49 @@
+package hello.itemservice.trace;
+
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StageReportTest {
+
+    @Test
+    void disabledByDefault() {
+        StageEvent event = StageEvent.start();
+        assertThat(event.stop()).isFalse();
+    }
+
+    @Test
+    void summarize(@TempDir Path dir) throws Exception {
+        //given
+        Path file = dir.resolve("stage.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(StageEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+            for (int i = 0; i < 10; i++) {
+                StageEvent event = StageEvent.start();
+                event.finish("bind", "Item", i % 2);
+            }
+            StageEvent event = StageEvent.start();
+            event.finish("render", "validation/v4/addForm", 0);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        //when
+        List<StageReport.Summary> summaries = StageReport.summarize(file);
+
+        //then
+        assertThat(summaries).extracting(summary -> summary.stage).containsExactly("bind", "render");
+        StageReport.Summary bind = summaries.get(0);
+        assertThat(bind.endpoint).isEqualTo("-");
+        assertThat(bind.count).isEqualTo(10);
+        assertThat(bind.errorCount).isEqualTo(5);
+        assertThat(bind.p50Nanos).isLessThanOrEqualTo(bind.p99Nanos).isLessThanOrEqualTo(bind.maxNanos);
+    }
+}
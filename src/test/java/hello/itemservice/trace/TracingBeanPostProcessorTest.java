@@ -0,0 +1,44 @@
+package hello.itemservice.trace;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TracingBeanPostProcessorTest {
+
+    @Test
+    void repositoryStagesFromProxy(@TempDir Path dir) throws Exception {
+        //given
+        ItemRepository itemRepository = (ItemRepository) new TracingBeanPostProcessor()
+                .postProcessAfterInitialization(new ItemRepository(), "scopedTarget.itemRepository");
+        Path file = dir.resolve("stage.jfr");
+
+        //when
+        try (Recording recording = new Recording()) {
+            recording.enable(StageEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+            Item item = itemRepository.save(new Item("itemA", 10000, 10));
+            itemRepository.findById(item.getId());
+            itemRepository.isEmpty();
+            recording.stop();
+            recording.dump(file);
+        }
+
+        //then
+        List<String> stages = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> StageEvent.NAME.equals(event.getEventType().getName()))
+                .map(event -> event.getString("stage"))
+                .collect(Collectors.toList());
+        assertThat(stages).containsExactlyInAnyOrder("repository.save", "repository.findById");
+    }
+}
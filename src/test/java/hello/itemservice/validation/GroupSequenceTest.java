@@ -0,0 +1,80 @@
+package hello.itemservice.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.SaveCheck;
+import hello.itemservice.domain.item.UpdateCheck;
+import hello.itemservice.web.validation.form.ItemUpdateForm;
+import org.junit.jupiter.api.Test;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+class GroupSequenceTest {
+
+    Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Test
+    void requiredPhaseStopsSequence() {
+        //given - 이름 공백, 가격 범위 밖, 합계 미달
+        Item item = new Item(" ", 10, 10);
+
+        //when
+        Set<String> codes = codes(validator.validate(item, SaveCheck.class));
+
+        //then
+        assertThat(codes).containsExactly("NotBlank");
+    }
+
+    @Test
+    void boundsPhaseStopsSequence() {
+        Item item = new Item("itemA", 10, 10000);
+
+        Set<String> codes = codes(validator.validate(item, SaveCheck.class));
+
+        assertThat(codes).containsExactlyInAnyOrder("Range", "Max");
+    }
+
+    @Test
+    void crossFieldRunsLast() {
+        Item item = new Item("itemA", 1000, 2);
+
+        Set<String> codes = codes(validator.validate(item, SaveCheck.class));
+
+        assertThat(codes).containsExactly("TotalPriceMin");
+    }
+
+    @Test
+    void updateCheck() {
+        // 수정은 id 가 필수이고 수량 상한이 없다.
+        Item item = new Item("itemA", 1000, 10000);
+
+        assertThat(codes(validator.validate(item, UpdateCheck.class))).containsExactly("NotNull");
+
+        item.setId(1L);
+        assertThat(validator.validate(item, UpdateCheck.class)).isEmpty();
+    }
+
+    @Test
+    void formDefaultSequence() {
+        ItemUpdateForm form = new ItemUpdateForm();
+        form.setItemName("itemA");
+        form.setPrice(10);
+        form.setQuantity(1);
+
+        assertThat(codes(validator.validate(form))).containsExactly("NotNull"); // id
+
+        form.setId(1L);
+        assertThat(codes(validator.validate(form))).containsExactly("Range");
+    }
+
+    private static <T> Set<String> codes(Set<ConstraintViolation<T>> violations) {
+        return violations.stream()
+                .map(violation -> violation.getConstraintDescriptor().getAnnotation().annotationType().getSimpleName())
+                .collect(Collectors.toSet());
+    }
+}
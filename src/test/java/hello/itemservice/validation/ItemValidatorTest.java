@@ -0,0 +1,80 @@
+package hello.itemservice.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.web.validation.ItemValidator;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+
+import static hello.itemservice.web.validation.ItemValidator.*;
+import static org.assertj.core.api.Assertions.*;
+
+public class ItemValidatorTest {
+
+    ItemValidator itemValidator = new ItemValidator();
+
+    @Test
+    void validItem() {
+        Item item = new Item("itemA", 10000, 10);
+        BindingResult bindingResult = new BeanPropertyBindingResult(item, "item");
+
+        assertThat(itemValidator.check(item)).isEqualTo(VALID);
+
+        itemValidator.validate(item, bindingResult);
+        assertThat(bindingResult.hasErrors()).isFalse();
+    }
+
+    @Test
+    void fieldErrors() {
+        Item item = new Item(" ", 10, 99999);
+        BindingResult bindingResult = new BeanPropertyBindingResult(item, "item");
+
+        assertThat(itemValidator.check(item)).isEqualTo(ITEM_NAME_REQUIRED | PRICE_RANGE | QUANTITY_MAX);
+
+        itemValidator.validate(item, bindingResult);
+        assertThat(bindingResult.getFieldError("itemName").getCodes()).contains("required.item.itemName");
+        assertThat(bindingResult.getFieldError("price").getArguments()).containsExactly(1000, 1000000);
+        assertThat(bindingResult.getFieldError("quantity").getArguments()).containsExactly(9999);
+        assertThat(bindingResult.hasGlobalErrors()).isFalse();
+    }
+
+    @Test
+    void argumentsNotShared() {
+        Item item = new Item("itemA", 10, 10);
+        BindingResult first = new BeanPropertyBindingResult(item, "item");
+        BindingResult second = new BeanPropertyBindingResult(item, "item");
+
+        itemValidator.validate(item, first);
+        first.getFieldError("price").getArguments()[0] = 0;
+        itemValidator.validate(item, second);
+
+        assertThat(second.getFieldError("price").getArguments()).containsExactly(1000, 1000000);
+    }
+
+    @Test
+    void totalPriceMin() {
+        Item item = new Item("itemA", 1000, 2);
+        BindingResult bindingResult = new BeanPropertyBindingResult(item, "item");
+
+        assertThat(itemValidator.check(item)).isEqualTo(TOTAL_PRICE_MIN);
+
+        itemValidator.validate(item, bindingResult);
+        assertThat(bindingResult.getGlobalError().getCodes()).contains("totalPriceMin");
+        assertThat(bindingResult.getGlobalError().getArguments()).containsExactly(10000L, 2000L);
+    }
+
+    @Test
+    void totalPriceNotOverflow() {
+        // int 로 계산하면 음수가 되는 값
+        Item item = new Item("itemA", 1000000, 2200);
+
+        assertThat(itemValidator.check(item)).isEqualTo(VALID);
+    }
+
+    @Test
+    void quantityRequired() {
+        Item item = new Item("itemA", 10000, null);
+
+        assertThat(itemValidator.check(item)).isEqualTo(QUANTITY_MAX);
+    }
+}
@@ -0,0 +1,78 @@
+package hello.itemservice.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.SaveCheck;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import javax.validation.Validation;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TotalPriceMinTest {
+
+    SpringValidatorAdapter validator = new SpringValidatorAdapter(Validation.buildDefaultValidatorFactory().getValidator());
+
+    @Test
+    void totalPriceMin() {
+        //given
+        ItemSaveForm form = form(1000, 2);
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+
+        //when
+        validator.validate(form, bindingResult);
+
+        //then
+        assertThat(bindingResult.getFieldErrorCount()).isZero();
+        assertThat(bindingResult.getGlobalError().getCodes()).containsExactly("TotalPriceMin.item", "TotalPriceMin");
+        assertThat(bindingResult.getGlobalError().getArguments()[1]).isEqualTo(10000L);
+        assertThat(bindingResult.getGlobalError().getDefaultMessage())
+                .isEqualTo("가격 * 수량의 합은 10000원 이상이어야 합니다. 현재 값 = 2000");
+    }
+
+    @Test
+    void notOverflow() {
+        // int 로 계산하면 1000000 * 2200 은 음수가 되어 오류였다.
+        ItemSaveForm form = form(1000000, 2200);
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+
+        validator.validate(form, bindingResult);
+
+        assertThat(bindingResult.hasErrors()).isFalse();
+    }
+
+    @Test
+    void skippedWhenFieldsFail() {
+        // 필수값 단계에서 실패하면 범위, 복합 룰은 검증하지 않는다.
+        ItemSaveForm form = form(10, 10);
+        form.setItemName(" ");
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+
+        validator.validate(form, bindingResult);
+
+        assertThat(bindingResult.getFieldErrorCount()).isEqualTo(1);
+        assertThat(bindingResult.getFieldError().getField()).isEqualTo("itemName");
+        assertThat(bindingResult.getGlobalErrorCount()).isZero();
+    }
+
+    @Test
+    void itemGroups() {
+        Item item = new Item("itemA", 1000, 2);
+        BindingResult bindingResult = new BeanPropertyBindingResult(item, "item");
+
+        validator.validate(item, bindingResult, SaveCheck.class);
+
+        assertThat(bindingResult.getGlobalError().getCode()).isEqualTo("TotalPriceMin");
+    }
+
+    private ItemSaveForm form(Integer price, Integer quantity) {
+        ItemSaveForm form = new ItemSaveForm();
+        form.setItemName("itemA");
+        form.setPrice(price);
+        form.setQuantity(quantity);
+        return form;
+    }
+}
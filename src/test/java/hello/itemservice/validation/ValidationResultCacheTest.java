@@ -0,0 +1,88 @@
+package hello.itemservice.validation;
+
+import hello.itemservice.web.validation.cache.ValidationResultCache;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import org.springframework.web.bind.WebDataBinder;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class ValidationResultCacheTest {
+
+    LocalValidatorFactoryBean validator = new LocalValidatorFactoryBean();
+    ValidationResultCache cache = new ValidationResultCache(true, 100, Duration.ofMinutes(1), "1", new SimpleMeterRegistry());
+
+    ValidationResultCacheTest() {
+        validator.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void afterEach() {
+        validator.close();
+    }
+
+    @Test
+    void replayCachedErrors() {
+        //given
+        BindingResult first = validate(form(" ", 10, 99999));
+
+        //when
+        BindingResult second = validate(form("", 10, 99999));
+
+        //then
+        assertThat(cache.hitRate()).isEqualTo(0.5);
+        assertThat(second.getErrorCount()).isEqualTo(first.getErrorCount()).isEqualTo(3);
+        assertThat(second.getFieldError("price").getCodes()).isEqualTo(first.getFieldError("price").getCodes());
+        assertThat(second.getFieldError("itemName").getRejectedValue()).isEqualTo(""); // 현재 요청의 값
+    }
+
+    @Test
+    void cacheValidResult() {
+        validate(form("itemA", 10000, 10));
+        BindingResult second = validate(form("itemA ", 10000, 10));
+
+        assertThat(second.hasErrors()).isFalse();
+        assertThat(cache.hitRate()).isEqualTo(0.5);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void differentValuesMiss() {
+        validate(form("itemA", 10000, 10));
+        BindingResult second = validate(form("itemA", 100, 10));
+
+        assertThat(second.getFieldError("price")).isNotNull();
+        assertThat(cache.hitRate()).isEqualTo(0);
+    }
+
+    @Test
+    void boundedBySize() {
+        for (int price = 1000; price < 1300; price++) {
+            validate(form("itemA", price, 10));
+        }
+
+        assertThat(cache.size()).isLessThanOrEqualTo(100).isGreaterThan(0);
+    }
+
+    private BindingResult validate(ItemSaveForm form) {
+        WebDataBinder binder = new WebDataBinder(form, "item");
+        binder.setValidator(validator);
+        cache.apply(binder);
+        binder.validate();
+        return binder.getBindingResult();
+    }
+
+    private static ItemSaveForm form(String itemName, Integer price, Integer quantity) {
+        ItemSaveForm form = new ItemSaveForm();
+        form.setItemName(itemName);
+        form.setPrice(price);
+        form.setQuantity(quantity);
+        return form;
+    }
+}
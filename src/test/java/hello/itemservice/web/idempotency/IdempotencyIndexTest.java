@@ -0,0 +1,150 @@
+package hello.itemservice.web.idempotency;
+
+import hello.itemservice.tenant.TenantContext;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class IdempotencyIndexTest {
+
+    AtomicLong sequence = new AtomicLong();
+
+    @Test
+    void sameKeySavesOnce() {
+        IdempotencyIndex index = new IdempotencyIndex(100, Duration.ofMinutes(1));
+
+        long first = index.saveOnce("key-1", sequence::incrementAndGet);
+        long second = index.saveOnce("key-1", sequence::incrementAndGet);
+
+        assertThat(second).isEqualTo(first);
+        assertThat(sequence.get()).isEqualTo(1);
+        assertThat(index.find("key-1")).isEqualTo(first);
+        assertThat(index.find("key-2")).isNull();
+    }
+
+    @Test
+    void nullKeyAlwaysSaves() {
+        IdempotencyIndex index = new IdempotencyIndex(100, Duration.ofMinutes(1));
+
+        index.saveOnce(null, sequence::incrementAndGet);
+        index.saveOnce(null, sequence::incrementAndGet);
+
+        assertThat(sequence.get()).isEqualTo(2);
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void expiredKeySavesAgain() {
+        IdempotencyIndex index = new IdempotencyIndex(100, Duration.ZERO);
+
+        index.saveOnce("key-1", sequence::incrementAndGet);
+
+        assertThat(index.find("key-1")).isNull();
+        assertThat(index.saveOnce("key-1", sequence::incrementAndGet)).isEqualTo(2);
+    }
+
+    @Test
+    void boundedByMaxKeys() {
+        IdempotencyIndex index = new IdempotencyIndex(10, Duration.ofMinutes(1));
+
+        for (int i = 0; i < 100; i++) {
+            index.saveOnce("key-" + i, sequence::incrementAndGet);
+        }
+
+        assertThat(index.size()).isEqualTo(10);
+        assertThat(index.find("key-0")).isNull();
+        assertThat(index.find("key-99")).isEqualTo(100);
+    }
+
+    @Test
+    void concurrentSameKey() throws Exception {
+        IdempotencyIndex index = new IdempotencyIndex(100, Duration.ofMinutes(1));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        List<Future<Long>> results = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            results.add(executor.submit(() -> index.saveOnce("key", sequence::incrementAndGet)));
+        }
+        for (Future<Long> result : results) {
+            assertThat(result.get()).isEqualTo(1);
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(sequence.get()).isEqualTo(1);
+    }
+
+    @Test
+    void keysAreSeparatedByTenant() {
+        IdempotencyIndex index = new IdempotencyIndex(100, Duration.ofMinutes(1));
+
+        long storeA = index.saveOnce("key-1", sequence::incrementAndGet);
+        TenantContext.set("storeB");
+        try {
+            assertThat(index.find("key-1")).isNull();
+            long storeB = index.saveOnce("key-1", sequence::incrementAndGet);
+
+            assertThat(storeB).isNotEqualTo(storeA);
+            assertThat(sequence.get()).isEqualTo(2);
+        } finally {
+            TenantContext.clear();
+        }
+        assertThat(index.find("key-1")).isEqualTo(storeA);
+    }
+
+    @Test
+    void failedSaveReleasesKey() {
+        IdempotencyIndex index = new IdempotencyIndex(100, Duration.ofMinutes(1));
+
+        assertThatThrownBy(() -> index.saveOnce("key-1", () -> {
+            throw new IllegalStateException("저장 실패");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(index.find("key-1")).isNull();
+        assertThat(index.size()).isZero();
+        assertThat(index.saveOnce("key-1", sequence::incrementAndGet)).isEqualTo(1);
+    }
+
+    @Test
+    void saveRunsOutsideLock() throws Exception {
+        //given
+        IdempotencyIndex index = new IdempotencyIndex(100, Duration.ofMinutes(1));
+        CountDownLatch saving = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<Long> slow = executor.submit(() -> index.saveOnce("slow", () -> {
+            saving.countDown();
+            await(release);
+            return 100L;
+        }));
+        saving.await();
+
+        //when
+        long other = index.saveOnce("other", sequence::incrementAndGet);
+
+        //then
+        assertThat(other).isEqualTo(1);
+        assertThat(index.find("slow")).isNull(); // 아직 저장 중
+        release.countDown();
+        assertThat(slow.get(5, TimeUnit.SECONDS)).isEqualTo(100L);
+        assertThat(index.find("slow")).isEqualTo(100L);
+        executor.shutdown();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package hello.itemservice.web.template;
+
+import hello.itemservice.domain.item.Item;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.StaticMessageSource;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+
+import java.util.Locale;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ErrorFormSkeletonTest {
+
+    static final String FORM = "<form action=\"item.html\" th:action th:object=\"${item}\" method=\"post\">"
+            + "<input type=\"hidden\" name=\"idempotencyKey\" th:value=\"${idempotencyKey}\">"
+            + "<div th:if=\"${#fields.hasGlobalErrors()}\">"
+            + "<p class=\"field-error\" th:each=\"err : ${#fields.globalErrors()}\" th:text=\"${err}\">전체 오류</p>"
+            + "</div>"
+            + "<input type=\"text\" id=\"itemName\" th:field=\"*{itemName}\" th:errorclass=\"field-error\" class=\"form-control\">"
+            + "<div class=\"field-error\" th:errors=\"*{itemName}\">상품명 오류</div>"
+            + "<input type=\"text\" id=\"price\" th:field=\"*{price}\" th:errorclass=\"field-error\" class=\"form-control\">"
+            + "<div class=\"field-error\" th:errors=\"*{price}\">가격 오류</div>"
+            + "<button th:onclick=\"|location.href='@{/items/{itemId}(itemId=${item.id})}'|\" type=\"button\">취소</button>"
+            + "</form>";
+
+    @Test
+    void fillErrorSlots() {
+        //given
+        ErrorFormSkeleton skeleton = ErrorFormSkeleton.compile(FORM, "/app");
+        Item item = new Item("<itemA>", 100, 10);
+        item.setId(7L);
+        BindingResult bindingResult = new BeanPropertyBindingResult(item, "item");
+        bindingResult.rejectValue("price", "range", "가격 범위");
+        bindingResult.reject("totalPriceMin", "총합 오류");
+
+        //when
+        String html = skeleton.render(FormErrors.of(bindingResult, new StaticMessageSource(), Locale.KOREAN),
+                Map.of("idempotencyKey", "key-1"));
+
+        //then
+        assertThat(skeleton.getObjectName()).isEqualTo("item");
+        assertThat(html).isEqualTo("<form method=\"post\" action=\"\">"
+                + "<input type=\"hidden\" name=\"idempotencyKey\" value=\"key-1\">"
+                + "<div><p class=\"field-error\">총합 오류</p></div>"
+                + "<input type=\"text\" id=\"itemName\" name=\"itemName\" value=\"&lt;itemA&gt;\" class=\"form-control\">"
+                + "<input type=\"text\" id=\"price\" name=\"price\" value=\"100\" class=\"form-control field-error\">"
+                + "<div class=\"field-error\">가격 범위</div>"
+                + "<button type=\"button\" onclick=\"location.href=&#39;/app/items/7&#39;\">취소</button>"
+                + "</form>");
+    }
+
+    @Test
+    void unsupportedTemplate() {
+        assertThat(ErrorFormSkeleton.compile("<form th:object=\"${item}\"><p th:text=\"${item.itemName}\"></p></form>", ""))
+                .isNull();
+        assertThat(ErrorFormSkeleton.compile("<form th:action=\"@{/items}\" th:object=\"${item}\"></form>", ""))
+                .isNull();
+    }
+}
@@ -0,0 +1,199 @@
+package hello.itemservice.web.template;
+
+import hello.itemservice.domain.item.Item;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.context.support.StaticWebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.i18n.FixedLocaleResolver;
+import org.springframework.web.util.HtmlUtils;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.thymeleaf.spring5.view.ThymeleafView;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 실제 v2 ~ v4 입력 폼 템플릿 - 뼈대가 만들어지고, 같은 BindingResult 로 Thymeleaf 와 같은 화면을 그리는지
+ * <p>
+ * 속성 순서, 공백, 주석, 엔티티 표기(&amp;#39; / &amp;apos; 등)는 비교하지 않는다.
+ */
+class ErrorFormTemplateTest {
+
+    static final String[] VIEWS = {
+            "validation/v2/addForm", "validation/v2/editForm",
+            "validation/v3/addForm", "validation/v3/editForm",
+            "validation/v4/addForm", "validation/v4/editForm"};
+    static final Locale[] LOCALES = {Locale.KOREAN, Locale.ENGLISH};
+    static final String ITEM_NAME = "<b>\"itemA\" & 'B'</b>";
+
+    static final Pattern TOKEN = Pattern.compile("<!--.*?-->|<!.*?>|</\\s*(\\w+)\\s*>|<(\\w+)([^>]*?)\\s*/?>|([^<]+)",
+            Pattern.DOTALL);
+    static final Pattern ATTRIBUTE = Pattern.compile("([^\\s=/]+)(?:\\s*=\\s*\"([^\"]*)\")?");
+
+    ResourceBundleMessageSource messageSource;
+    MockServletContext servletContext;
+    StaticWebApplicationContext applicationContext;
+    PrecompiledTemplateResolver templateResolver;
+    SpringTemplateEngine templateEngine;
+
+    @BeforeEach
+    void beforeEach() {
+        messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasenames("messages", "errors");
+        messageSource.setDefaultEncoding(StandardCharsets.UTF_8.name());
+        messageSource.setFallbackToSystemLocale(false);
+
+        servletContext = new MockServletContext();
+        applicationContext = new StaticWebApplicationContext();
+        applicationContext.setServletContext(servletContext);
+        applicationContext.getBeanFactory().registerSingleton("messageSource", messageSource);
+        applicationContext.refresh();
+
+        templateResolver = new PrecompiledTemplateResolver(new DefaultResourceLoader(), "classpath:/templates/", ".html",
+                StandardCharsets.UTF_8, new TemplatePrecompiler(messageSource, ""), true);
+        templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateEngineMessageSource(messageSource);
+        templateEngine.setTemplateResolver(templateResolver);
+    }
+
+    @Test
+    void compileRealTemplates() {
+        for (String view : VIEWS) {
+            for (Locale locale : LOCALES) {
+                ErrorFormSkeleton skeleton = ErrorFormSkeleton.compile(templateResolver.precompile(view, locale), "");
+
+                assertThat(skeleton).as(view + " " + locale).isNotNull();
+                assertThat(skeleton.getObjectName()).isEqualTo("item");
+            }
+        }
+    }
+
+    @Test
+    void sameAsThymeleaf() throws Exception {
+        for (String view : VIEWS) {
+            for (Locale locale : LOCALES) {
+                //given
+                BindingResult bindingResult = bindingResult();
+                Map<String, Object> model = new HashMap<>(bindingResult.getModel());
+                model.put("idempotencyKey", "key-<1>");
+
+                //when
+                String thymeleaf = renderThymeleaf(view, locale, model);
+                String skeleton = renderSkeleton(view, locale, model, bindingResult);
+
+                //then
+                assertThat(normalize(skeleton)).as(view + " " + locale).isEqualTo(normalize(thymeleaf));
+                assertThat(skeleton).doesNotContain("<b>").contains("&lt;b&gt;");
+            }
+        }
+    }
+
+    @Test
+    void sameAsThymeleafWithoutFieldErrors() throws Exception {
+        for (String view : VIEWS) {
+            for (Locale locale : LOCALES) {
+                Item item = new Item("itemA", 100, 10);
+                item.setId(3L);
+                BindingResult bindingResult = new BeanPropertyBindingResult(item, "item");
+                bindingResult.reject("totalPriceMin", new Object[]{10000, 1000}, null);
+                Map<String, Object> model = new HashMap<>(bindingResult.getModel());
+                model.put("idempotencyKey", "key-1");
+
+                String thymeleaf = renderThymeleaf(view, locale, model);
+                String skeleton = renderSkeleton(view, locale, model, bindingResult);
+
+                assertThat(normalize(skeleton)).as(view + " " + locale).isEqualTo(normalize(thymeleaf));
+            }
+        }
+    }
+
+    /**
+     * 상품명 필수 + 길이(메세지 2개), 가격 범위, 수량 타입 오류(거절된 값), 전체 오류
+     */
+    private static BindingResult bindingResult() {
+        Item item = new Item(ITEM_NAME, 100, null);
+        item.setId(7L);
+        BindingResult bindingResult = new BeanPropertyBindingResult(item, "item");
+        bindingResult.rejectValue("itemName", "required");
+        bindingResult.rejectValue("itemName", "max", new Object[]{10}, null);
+        bindingResult.rejectValue("price", "range", new Object[]{1000, 1000000}, null);
+        bindingResult.addError(new FieldError("item", "quantity", "12<3", true,
+                new String[]{"typeMismatch.item.quantity", "typeMismatch"}, null, "수량 타입 오류"));
+        bindingResult.reject("totalPriceMin", new Object[]{10000, 100}, null);
+        return bindingResult;
+    }
+
+    private String renderThymeleaf(String view, Locale locale, Map<String, Object> model) throws Exception {
+        ThymeleafView thymeleafView = new ThymeleafView(PrecompiledTemplateResolver.templateName(view, locale));
+        thymeleafView.setTemplateEngine(templateEngine);
+        thymeleafView.setApplicationContext(applicationContext);
+        thymeleafView.setServletContext(servletContext);
+        thymeleafView.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        thymeleafView.setLocale(locale);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        thymeleafView.render(model, request(locale), response);
+        return response.getContentAsString();
+    }
+
+    private String renderSkeleton(String view, Locale locale, Map<String, Object> model,
+                                  BindingResult bindingResult) throws Exception {
+        ErrorFormSkeleton skeleton = ErrorFormSkeleton.compile(templateResolver.precompile(view, locale), "");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new ErrorFormView(skeleton, FormErrors.of(bindingResult, messageSource, locale))
+                .render(model, request(locale), response);
+        return response.getContentAsString();
+    }
+
+    private MockHttpServletRequest request(Locale locale) {
+        MockHttpServletRequest request = new MockHttpServletRequest(servletContext, "POST", "/validation/v4/items/add");
+        request.setAttribute(DispatcherServlet.WEB_APPLICATION_CONTEXT_ATTRIBUTE, applicationContext);
+        request.setAttribute(DispatcherServlet.LOCALE_RESOLVER_ATTRIBUTE, new FixedLocaleResolver(locale));
+        return request;
+    }
+
+    /**
+     * 태그(속성은 이름순, 값은 엔티티를 푼 것)와 공백을 줄인 텍스트의 목록
+     */
+    private static List<String> normalize(String html) {
+        List<String> tokens = new ArrayList<>();
+        Matcher token = TOKEN.matcher(html);
+        while (token.find()) {
+            if (token.group(1) != null) {
+                tokens.add("</" + token.group(1) + ">");
+            } else if (token.group(2) != null) {
+                Map<String, String> attributes = new TreeMap<>();
+                Matcher attribute = ATTRIBUTE.matcher(token.group(3));
+                while (attribute.find()) {
+                    String value = attribute.group(2);
+                    attributes.put(attribute.group(1), value == null ? "" : HtmlUtils.htmlUnescape(value));
+                }
+                tokens.add("<" + token.group(2) + " " + attributes + ">");
+            } else if (token.group(4) != null) {
+                String text = HtmlUtils.htmlUnescape(token.group(4)).replaceAll("\\s+", " ").trim();
+                if (!text.isEmpty()) {
+                    tokens.add(text);
+                }
+            }
+        }
+        return tokens;
+    }
+}
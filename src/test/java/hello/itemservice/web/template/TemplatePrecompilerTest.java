@@ -0,0 +1,54 @@
+package hello.itemservice.web.template;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.StaticMessageSource;
+
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TemplatePrecompilerTest {
+
+    TemplatePrecompiler precompiler = new TemplatePrecompiler(messageSource(), "/app");
+
+    @Test
+    void inlineMessages() {
+        String html = "<h2 th:text=\"#{page.items}\">상품 목록</h2>"
+                + "<input type=\"text\" th:value=\"${param.q}\" th:placeholder=\"#{label.item.itemName}\" placeholder=\"상품명\">";
+
+        assertThat(precompiler.precompile(html, Locale.ENGLISH))
+                .isEqualTo("<h2>Item &lt;List&gt;</h2>"
+                        + "<input type=\"text\" th:value=\"${param.q}\" placeholder=\"Item Name\">");
+        assertThat(precompiler.precompile(html, Locale.KOREAN))
+                .startsWith("<h2>상품 목록</h2>");
+    }
+
+    @Test
+    void inlineStaticLinks() {
+        String html = "<link th:href=\"@{/css/bootstrap.min.css}\" href=\"../css/bootstrap.min.css\" rel=\"stylesheet\">"
+                + "<button th:onclick=\"|location.href='@{/validation/v4/items/add}'|\" type=\"button\"></button>"
+                + "<tbody th:with=\"itemsPath=@{/validation/v4/items}\"></tbody>";
+
+        assertThat(precompiler.precompile(html, Locale.KOREAN))
+                .isEqualTo("<link href=\"/app/css/bootstrap.min.css\" rel=\"stylesheet\">"
+                        + "<button onclick=\"location.href='/app/validation/v4/items/add'\" type=\"button\"></button>"
+                        + "<tbody th:with=\"itemsPath='/app/validation/v4/items'\"></tbody>");
+    }
+
+    @Test
+    void keepDynamicExpressions() {
+        String html = "<button th:onclick=\"|location.href='@{/items/{itemId}/edit(itemId=${item.id})}'|\" th:text=\"#{unknown}\">수정</button>"
+                + "<p th:text=\"#{page.items}\"><span>child</span></p>";
+
+        assertThat(precompiler.precompile(html, Locale.ENGLISH)).isEqualTo(html);
+    }
+
+    private static StaticMessageSource messageSource() {
+        StaticMessageSource messageSource = new StaticMessageSource();
+        messageSource.addMessage("page.items", Locale.KOREAN, "상품 목록");
+        messageSource.addMessage("page.items", Locale.ENGLISH, "Item <List>");
+        messageSource.addMessage("label.item.itemName", Locale.KOREAN, "상품명");
+        messageSource.addMessage("label.item.itemName", Locale.ENGLISH, "Item Name");
+        return messageSource;
+    }
+}
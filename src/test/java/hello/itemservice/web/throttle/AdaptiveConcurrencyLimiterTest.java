@@ -0,0 +1,73 @@
+package hello.itemservice.web.throttle;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    static final long THRESHOLD = TimeUnit.MILLISECONDS.toNanos(100);
+
+    AtomicLong now = new AtomicLong();
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 2, 8, THRESHOLD, 0.5, now::get);
+
+    @Test
+    void rejectOverLimit() {
+        for (int i = 0; i < 4; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(limiter.inFlight()).isEqualTo(4);
+    }
+
+    @Test
+    void additiveIncreaseWhenBusyAndFast() {
+        //given
+        limiter.tryAcquire();
+        limiter.tryAcquire();
+
+        //when
+        limiter.release(TimeUnit.MILLISECONDS.toNanos(10), false);
+
+        //then
+        assertThat(limiter.limit()).isEqualTo(5);
+        assertThat(limiter.inFlight()).isEqualTo(1);
+    }
+
+    @Test
+    void multiplicativeDecreaseWhenSlowOrFailed() {
+        limiter.tryAcquire();
+        limiter.release(THRESHOLD + 1, false);
+        assertThat(limiter.limit()).isEqualTo(2);
+
+        now.addAndGet(THRESHOLD);
+        limiter.tryAcquire();
+        limiter.release(0, true);
+        assertThat(limiter.limit()).isEqualTo(2); // 최소값
+    }
+
+    @Test
+    void decreaseOncePerLatencyWindow() {
+        //given
+        limiter = new AdaptiveConcurrencyLimiter(8, 1, 8, THRESHOLD, 0.5, now::get);
+        for (int i = 0; i < 4; i++) {
+            limiter.tryAcquire();
+        }
+
+        //when - 같은 구간에 느린 요청 4개
+        for (int i = 0; i < 4; i++) {
+            limiter.release(THRESHOLD + 1, false);
+        }
+
+        //then
+        assertThat(limiter.limit()).isEqualTo(4);
+
+        now.addAndGet(THRESHOLD);
+        limiter.tryAcquire();
+        limiter.release(THRESHOLD + 1, false);
+        assertThat(limiter.limit()).isEqualTo(2);
+    }
+}
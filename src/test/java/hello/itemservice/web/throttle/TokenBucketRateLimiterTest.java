@@ -0,0 +1,73 @@
+package hello.itemservice.web.throttle;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TokenBucketRateLimiterTest {
+
+    AtomicLong now = new AtomicLong(1_000_000_000L);
+    TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(10, 5, 100, now::get); // 100ms 마다 1개, 최대 5개
+
+    @Test
+    void burstThenRate() {
+        //given - 처음에는 burst 만큼 통과
+        for (int i = 0; i < 5; i++) {
+            assertThat(rateLimiter.tryAcquire("a")).isTrue();
+        }
+
+        //when
+        long waitNanos = rateLimiter.acquire("a");
+
+        //then
+        assertThat(waitNanos).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(rateLimiter.tryAcquire("b")).isTrue(); // 클라이언트별
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(rateLimiter.tryAcquire("a")).isTrue();
+        assertThat(rateLimiter.tryAcquire("a")).isFalse();
+    }
+
+    @Test
+    void overflowClientsShareBucket() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 1, 2, now::get);
+        assertThat(limiter.tryAcquire("a")).isTrue();
+        assertThat(limiter.tryAcquire("b")).isTrue();
+
+        // 가득 차면 새 클라이언트는 공용 버킷
+        assertThat(limiter.tryAcquire("c")).isTrue();
+        assertThat(limiter.tryAcquire("d")).isFalse();
+        assertThat(limiter.acquire("d")).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100)); // 공용 버킷 기준 Retry-After
+
+        // 1초 뒤에는 다 쉰 버킷을 정리하고 다시 받는다.
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertThat(limiter.tryAcquire("e")).isTrue();
+        assertThat(limiter.clientCount()).isEqualTo(1);
+    }
+
+    @Test
+    void exactUnderContention() throws InterruptedException {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 1000, 100, now::get);
+        AtomicInteger acquired = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 500; i++) {
+                    if (limiter.tryAcquire("a")) {
+                        acquired.incrementAndGet();
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(acquired.get()).isEqualTo(1000);
+    }
+}